@@ -22,6 +22,27 @@ public class AttributeVector {
 		this.attributeVector = Arrays.copyOf(attributeVector, attributeVector.length);
 	}
 
+	/**
+	 * 入力された配列の指定された範囲を属性値の配列として持つインスタンスを生成する
+	 * @param values 属性値を含む配列
+	 * @param from 範囲の先頭位置
+	 * @param to 範囲の末尾位置(この位置を含まない)
+	 */
+	public AttributeVector(double[] values, int from, int to) {
+		if(Objects.isNull(values)) {
+			throw new IllegalArgumentException("argument [values] is null @" + this.getClass().getSimpleName());}
+		this.attributeVector = Arrays.copyOfRange(values, from, to);
+	}
+
+	/**
+	 * 属性値配列を持たないビュー用のコンストラクタ．<br>
+	 * サブクラスは属性値を参照する全てのメソッドをオーバーライドすること．
+	 * @see ColumnarDataSet
+	 */
+	protected AttributeVector() {
+		this.attributeVector = null;
+	}
+
 	/**
 	 * このインスタンスが持つ属性値配列を返します。<br>
 	 * Returns Attribute array that this instance has.
@@ -45,6 +66,17 @@ public class AttributeVector {
 		return this.attributeVector[index];
 	}
 
+	/**
+	 * 指定された位置にある属性値をfloatで返します。メンバシップ関数はfloatで評価されるため，評価にはこの値を用いる．<br>
+	 * Returns Attribute value at the specified position as float, the precision used by membership functions.
+	 * @param index 返される属性値のインデックス．index of Attribute value to return
+	 * @return 指定された位置にある属性値．Attribute value at the specified position in the list
+	 * @see FloatAttributeVector
+	 */
+	public float getAttributeValueAsFloat(int index) {
+		return (float)this.getAttributeValue(index);
+	}
+
 	/** 次元数を返す．
 	 * @return 属性値の個数．次元数
 	 */
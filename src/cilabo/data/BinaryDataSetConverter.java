@@ -0,0 +1,125 @@
+package cilabo.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 単一クラスラベルのCSV形式データセットをMappedDataSetのバイナリ形式に変換するクラス．<br>
+ * CSVを1行ずつ読み，出力ファイルをマップした列の該当位置に書き込むため，データセット全体をヒープに保持しない．<br>
+ * converts single-label CSV data set into binary format read by MappedDataSet.
+ * <pre>
+ * java -cp ... cilabo.data.BinaryDataSetConverter input.dat output.bin [double|float]
+ * </pre>
+ * @author Takigawa Hiroki
+ * @see MappedDataSet
+ */
+public class BinaryDataSetConverter {
+
+	/**
+	 * 変換を実行する．
+	 * @param args 入力CSVファイル，出力バイナリファイル，属性値の型(double[既定]またはfloat)
+	 * @throws IOException ファイルの読み書きに失敗した場合
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2 || args.length > 3) {
+			System.err.println("usage: BinaryDataSetConverter <input csv> <output binary> [double|float]");
+			return;
+		}
+		boolean singlePrecision = args.length == 3 && parseValueType(args[2]);
+		long start = System.currentTimeMillis();
+		convert(Paths.get(args[0]), Paths.get(args[1]), singlePrecision);
+		System.out.println("converted " + args[0] + " -> " + args[1] + " (" + (System.currentTimeMillis() - start) + " ms)");
+	}
+
+	/**
+	 * CSV形式のデータセットをバイナリ形式に変換します．1行目はパターン数，次元数，クラス数，2行目以降は属性値とクラスラベルとする．<br>
+	 * floatで保持する場合，属性値は最も近いfloat値に丸められる．<br>
+	 * Converts CSV data set into binary format.
+	 * @param csvFile 入力するCSVファイル
+	 * @param binaryFile 出力するバイナリファイル．存在する場合は上書きする
+	 * @param singlePrecision 属性値をfloatで保持する場合true，doubleで保持する場合false
+	 * @throws IOException ファイルの読み書きに失敗した場合
+	 */
+	public static void convert(Path csvFile, Path binaryFile, boolean singlePrecision) throws IOException {
+		try(BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+				RandomAccessFile output = new RandomAccessFile(binaryFile.toFile(), "rw")) {
+			String line = reader.readLine();
+			if(line == null) {
+				throw new IllegalArgumentException("empty data set file: " + csvFile + " @BinaryDataSetConverter");}
+			double[] info = parseLine(line, 3, csvFile, 1);
+			MappedDataSet.Header header = new MappedDataSet.Header((int) info[0], (int) info[1], (int) info[2],
+					singlePrecision ? Float.BYTES : Double.BYTES);
+
+			long columnBytes = (long) header.dataSize * header.valueBytes;
+			output.setLength(0);
+			output.setLength(MappedDataSet.HEADER_BYTES + columnBytes * header.ndim + (long) header.dataSize * Integer.BYTES);
+			FileChannel channel = output.getChannel();
+			ByteBuffer headerBuffer = ByteBuffer.allocate(MappedDataSet.HEADER_BYTES);
+			header.write(headerBuffer);
+			headerBuffer.flip();
+			while(headerBuffer.hasRemaining()) { channel.write(headerBuffer, headerBuffer.position()); }
+
+			ByteBuffer[] columns = new ByteBuffer[header.ndim];
+			long position = MappedDataSet.HEADER_BYTES;
+			for(int dim = 0; dim < header.ndim; dim++) {
+				columns[dim] = channel.map(FileChannel.MapMode.READ_WRITE, position, columnBytes).order(MappedDataSet.BYTE_ORDER);
+				position += columnBytes;
+			}
+			ByteBuffer classLabels = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) header.dataSize * Integer.BYTES).order(MappedDataSet.BYTE_ORDER);
+
+			for(int row = 0; row < header.dataSize; row++) {
+				line = reader.readLine();
+				if(line == null) {
+					throw new IllegalArgumentException("number of patterns is less than " + header.dataSize + ": " + csvFile + " @BinaryDataSetConverter");}
+				double[] values = parseLine(line, header.ndim + 1, csvFile, row + 2);
+				for(int dim = 0; dim < header.ndim; dim++) {
+					if(singlePrecision) { columns[dim].putFloat(row * Float.BYTES, (float) values[dim]); }
+					else { columns[dim].putDouble(row * Double.BYTES, values[dim]); }
+				}
+				classLabels.putInt(row * Integer.BYTES, (int) values[header.ndim]);
+			}
+		}
+	}
+
+	/**
+	 * CSVの1行を数値配列に変換する．
+	 * @param line CSVの行
+	 * @param length 必要な値の個数
+	 * @param csvFile エラー表示用のファイル
+	 * @param lineNumber エラー表示用の行番号
+	 * @return 数値配列
+	 */
+	private static double[] parseLine(String line, int length, Path csvFile, int lineNumber) {
+		String[] numbers = line.split(",");
+		if(numbers.length < length) {
+			throw new IllegalArgumentException("line " + lineNumber + " has " + numbers.length + " values, expected " + length + ": " + csvFile + " @BinaryDataSetConverter");}
+		double[] values = new double[length];
+		for(int i = 0; i < length; i++) {
+			values[i] = Double.parseDouble(numbers[i]);
+		}
+		return values;
+	}
+
+	/**
+	 * 属性値の型の指定を解釈する．
+	 * @param valueType doubleまたはfloat
+	 * @return floatの場合true
+	 */
+	private static boolean parseValueType(String valueType) {
+		switch(valueType) {
+			case "float":
+				return true;
+			case "double":
+				return false;
+			default:
+				throw new IllegalArgumentException("value type must be double or float: " + valueType + " @BinaryDataSetConverter");
+		}
+	}
+}
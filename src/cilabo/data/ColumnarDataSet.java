@@ -0,0 +1,212 @@
+package cilabo.data;
+
+import java.util.Objects;
+
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+
+/**単一クラスラベル用の列指向データセットクラス．<br>
+ * 属性値を次元毎のプリミティブ配列，クラスラベルをint配列として保持する．
+ * 保持するPattern_Basicは列を参照するビューであり，属性値配列を個別に持たない．
+ * 属性値をfloatで保持することもでき，メンバシップ関数はfloatで評価されるため，メンバシップ値は変わらず属性値のメモリは半分となる．<br>
+ * column-oriented data set. Attribute values are stored as one primitive array per attribute,
+ * and patterns are thin views over those columns.
+ * @author Takigawa Hiroki
+ */
+public class ColumnarDataSet extends DataSet<Pattern_Basic> {
+
+	/** 属性値の列配列．[dimension][patternIndex]．floatで保持する場合はnull */
+	private final double[][] columns;
+	/** floatで保持する属性値の列配列．[dimension][patternIndex]．doubleで保持する場合はnull */
+	private final float[][] floatColumns;
+	/** クラスラベル配列 */
+	private final int[] classLabels;
+	/** 格納済みパターン数 */
+	private int size = 0;
+
+	/** コンストラクタ
+	 * @param dataSize データセットのパターン数
+	 * @param ndim 属性数．次元数
+	 * @param cnum 結論部クラスのラベル種類数
+	 */
+	public ColumnarDataSet(int dataSize, int ndim, int cnum) {
+		this(dataSize, ndim, cnum, false);
+	}
+
+	/** コンストラクタ
+	 * @param dataSize データセットのパターン数
+	 * @param ndim 属性数．次元数
+	 * @param cnum 結論部クラスのラベル種類数
+	 * @param singlePrecision 属性値をfloatで保持する場合true
+	 */
+	public ColumnarDataSet(int dataSize, int ndim, int cnum, boolean singlePrecision) {
+		super(dataSize, ndim, cnum);
+		this.columns = singlePrecision ? null : new double[ndim][dataSize];
+		this.floatColumns = singlePrecision ? new float[ndim][dataSize] : null;
+		this.classLabels = new int[dataSize];
+	}
+
+	/** 属性値配列とクラスラベルを列に追加し，それを参照するパターンをリストの最後に追加します。<br>
+	 * Appends attribute values and class label to columns, and appends pattern view to the list.
+	 * @param vector 追加する属性値配列．attribute values to be appended
+	 * @param classLabel 追加するクラスラベル．class label to be appended
+	 * @return 追加されたパターン．appended pattern view
+	 */
+	public Pattern_Basic addPattern(double[] vector, int classLabel) {
+		if(Objects.isNull(vector) || vector.length != this.getNdim()) {
+			throw new IllegalArgumentException("argument [vector] must have " + this.getNdim() + " attributes @" + this.getClass().getSimpleName());}
+		if(this.size >= this.classLabels.length) {
+			throw new IllegalArgumentException("number of patterns exceeds dataSize @" + this.getClass().getSimpleName());}
+
+		int row = this.size;
+		for(int dim = 0; dim < this.getNdim(); dim++) {
+			this.setValue(dim, row, vector[dim]);
+		}
+		this.classLabels[row] = classLabel;
+		this.size++;
+
+		Pattern_Basic pattern = new Pattern_Basic(row, new ColumnView(row), new ClassLabel_Basic(classLabel));
+		super.addPattern(pattern);
+		return pattern;
+	}
+
+	/** 指定された行に属性値とクラスラベルを書き込みます。並列読込み用であり，異なる行には同時に書き込んでよい．
+	 * 全ての行を書き込んだ後にcommitRowsを呼ぶこと．
+	 * @param row 書き込む行
+	 * @param values 先頭からndim個が属性値である配列
+	 * @param classLabel クラスラベル
+	 * @see CsvDataSetReader */
+	void setRow(int row, double[] values, int classLabel) {
+		for(int dim = 0; dim < this.getNdim(); dim++) {
+			this.setValue(dim, row, values[dim]);
+		}
+		this.classLabels[row] = classLabel;
+	}
+
+	/** setRowで書き込んだ全ての行を参照するパターンをリストの最後に追加します。 */
+	void commitRows() {
+		if(this.size != 0) {
+			throw new IllegalArgumentException("rows must be committed to empty data set @" + this.getClass().getSimpleName());}
+		for(int row = 0; row < this.classLabels.length; row++) {
+			super.addPattern(new Pattern_Basic(row, new ColumnView(row), new ClassLabel_Basic(this.classLabels[row])));
+		}
+		this.size = this.classLabels.length;
+	}
+
+	/** 入力されたパターンの属性値とクラスラベルを列にコピーし，それを参照するパターンをリストの最後に追加します。<br>
+	 * 追加されるのは入力されたパターンではなく列を参照するビューであり，IDは格納位置となる．
+	 * @param pattern 列にコピーされるパターン．pattern to be copied into columns */
+	@Override
+	public void addPattern(Pattern_Basic pattern) {
+		this.addPattern(pattern.getAttributeArray(), pattern.getTargetClass().getClassLabelValue());
+	}
+
+	/** 指定された次元の属性値の列を返します。返される配列は内部配列であり，変更してはならない．
+	 * floatで保持している場合はdoubleに変換した配列を生成して返す．<br>
+	 * Returns column of attribute values. The returned array must not be modified.
+	 * @param dimension 次元
+	 * @return 属性値の列
+	 */
+	public double[] getColumn(int dimension) {
+		if(this.columns != null) {
+			return this.columns[dimension];
+		}
+		double[] column = new double[this.floatColumns[dimension].length];
+		for(int row = 0; row < column.length; row++) {
+			column[row] = this.floatColumns[dimension][row];
+		}
+		return column;
+	}
+
+	/** 指定された次元の属性値の列をfloatで返します。floatで保持している場合は内部配列であり，変更してはならない．
+	 * doubleで保持している場合はfloatに丸めた配列を生成して返す．<br>
+	 * Returns column of attribute values as float. The returned array must not be modified.
+	 * @param dimension 次元
+	 * @return 属性値の列
+	 */
+	public float[] getFloatColumn(int dimension) {
+		if(this.floatColumns != null) {
+			return this.floatColumns[dimension];
+		}
+		float[] column = new float[this.columns[dimension].length];
+		for(int row = 0; row < column.length; row++) {
+			column[row] = (float)this.columns[dimension][row];
+		}
+		return column;
+	}
+
+	/** 属性値をfloatで保持しているかを返します．
+	 * @return floatで保持している場合true */
+	public boolean isSinglePrecision() {
+		return this.floatColumns != null;
+	}
+
+	/** 指定された次元・行の属性値を返す */
+	private double getValue(int dimension, int row) {
+		return this.columns != null ? this.columns[dimension][row] : this.floatColumns[dimension][row];
+	}
+
+	/** 指定された次元・行に属性値を書き込む．floatで保持する場合は丸める */
+	private void setValue(int dimension, int row, double value) {
+		if(this.columns != null) { this.columns[dimension][row] = value; }
+		else { this.floatColumns[dimension][row] = (float)value; }
+	}
+
+	/** クラスラベルの列を返します。返される配列は内部配列であり，変更してはならない．<br>
+	 * Returns column of class labels. The returned array must not be modified.
+	 * @return クラスラベルの列
+	 */
+	public int[] getClassLabels() {
+		return this.classLabels;
+	}
+
+	/** 列を参照する属性値クラス．属性値配列を個別に持たない */
+	private final class ColumnView extends AttributeVector {
+
+		/** 参照する行 */
+		private final int row;
+
+		private ColumnView(int row) {
+			super();
+			this.row = row;
+		}
+
+		/** 列から属性値配列を組み立てて返します。呼出し毎に配列を生成するため，繰返し処理ではgetAttributeValueを用いること */
+		@Override
+		public double[] getAttributeArray() {
+			double[] attributeArray = new double[getNdim()];
+			for(int dim = 0; dim < attributeArray.length; dim++) {
+				attributeArray[dim] = getValue(dim, this.row);
+			}
+			return attributeArray;
+		}
+
+		@Override
+		public double getAttributeValue(int index) {
+			if(getNdim() <= index) {
+				throw new ArrayIndexOutOfBoundsException("attributeVector out of index @" + this.getClass().getSimpleName());}
+			return getValue(index, this.row);
+		}
+
+		@Override
+		public float getAttributeValueAsFloat(int index) {
+			if(getNdim() <= index) {
+				throw new ArrayIndexOutOfBoundsException("attributeVector out of index @" + this.getClass().getSimpleName());}
+			return floatColumns != null ? floatColumns[index][this.row] : (float)columns[index][this.row];
+		}
+
+		@Override
+		public int getNumberOfDimension() {
+			return getNdim();
+		}
+
+		@Override
+		public String toString() {
+			String str = String.format("%.4f..", getValue(0, this.row));
+			for(int i = 1; i < getNdim(); i++) {
+				str += String.format(", %.4f..", getValue(i, this.row));
+			}
+			return str;
+		}
+	}
+}
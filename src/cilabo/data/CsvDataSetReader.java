@@ -0,0 +1,355 @@
+package cilabo.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import cilabo.utility.Parallel;
+
+/**
+ * CSV形式のデータセットを並列に読み込むクラス．<br>
+ * 1行目はパターン数，次元数，クラス数，2行目以降は属性値とクラスラベルとする．
+ * ファイルを行の境界で固定長のチャンクに分割し，チャンク毎の行数を数えた後，各チャンクを学習用ForkJoinPool上で並列に解析する．
+ * 各行の値は行番号と共にRowHandlerに渡されるため，呼出し側は中間のリストを介さず最終的な格納先に直接書き込める．<br>
+ * 数値は文字列を生成せずにバイト列から直接解析する．仮数部が2^53以下かつ10の指数の絶対値が22以下の場合は
+ * 1回の乗除算で正しく丸められた値が得られるため，Double.parseDoubleと同じ値となる．それ以外の場合はDouble.parseDoubleで解析する．<br>
+ * parallel, allocation-light reader for CSV data set files.
+ * @author Takigawa Hiroki
+ */
+public class CsvDataSetReader implements AutoCloseable {
+
+	/** 既定のチャンクのバイト数．これ以下のファイルは分割せずに読み込む */
+	static final int CHUNK_BYTES = 1 << 24;
+	/** 正確に表せる10の累乗 */
+	private static final double[] POW10 = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+	/** 1回の乗除算で正しく丸められる仮数部の上限(2^53) */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	/** 読み込むファイル */
+	private final Path file;
+	/** 読み込むファイルのチャネル */
+	private final FileChannel channel;
+	/** パターン数 */
+	private final int dataSize;
+	/** 次元数 */
+	private final int ndim;
+	/** クラス数 */
+	private final int cnum;
+	/** チャンクの先頭位置．最後の要素はファイルの末尾 */
+	private final long[] chunkStart;
+
+	/**
+	 * ファイルを開き，1行目を読み込んで行の境界でチャンクに分割する．
+	 * @param file 読み込むファイル
+	 * @throws IOException ファイルの読込みに失敗した場合
+	 */
+	public CsvDataSetReader(Path file) throws IOException {
+		this(file, CHUNK_BYTES);
+	}
+
+	/**
+	 * チャンクのバイト数を指定してファイルを開く．
+	 * @param file 読み込むファイル
+	 * @param chunkBytes チャンクのバイト数
+	 * @throws IOException ファイルの読込みに失敗した場合
+	 */
+	CsvDataSetReader(Path file, int chunkBytes) throws IOException {
+		if(chunkBytes <= 0) {
+			throw new IllegalArgumentException("chunkBytes must be positive @" + this.getClass().getSimpleName());}
+		this.file = file;
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			long size = this.channel.size();
+			long headerEnd = this.findLineEnd(0);
+			byte[] header = this.read(0, (int) Math.min(headerEnd, size));
+			double[] info = new double[3];
+			parseLine(header, 0, header.length, info, file, 1);
+			this.dataSize = (int) info[0];
+			this.ndim = (int) info[1];
+			this.cnum = (int) info[2];
+
+			List<Long> starts = new ArrayList<>();
+			long start = Math.min(headerEnd + 1, size);
+			while(start < size) {
+				starts.add(start);
+				start = (size - start <= chunkBytes) ? size : Math.min(this.findLineEnd(start + chunkBytes - 1) + 1, size);
+			}
+			starts.add(size);
+			this.chunkStart = starts.stream().mapToLong(Long::longValue).toArray();
+		} catch (IOException | RuntimeException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * 2行目以降の各行を解析し，行番号と値をhandlerに渡します．チャンク毎に並列に呼び出されるため，
+	 * handlerは異なる行について同時に呼び出されてもよいこと．パターン数を超える行は無視する．<br>
+	 * Parses pattern lines in parallel and passes each row to handler.
+	 * @param width 各行から読み込む値の個数
+	 * @param handler 行の値を受け取る処理．渡される配列はチャンク内で再利用される
+	 */
+	public void forEachRow(int width, RowHandler handler) {
+		int numberOfChunks = this.chunkStart.length - 1;
+		// チャンク毎の行数から各チャンクの先頭の行番号を求める
+		int[] numberOfLines = new int[numberOfChunks];
+		this.runParallel(numberOfChunks, k -> numberOfLines[k] = countLines(this.readChunk(k)));
+		long[] firstRow = new long[numberOfChunks + 1];
+		for(int k = 0; k < numberOfChunks; k++) {
+			firstRow[k + 1] = firstRow[k] + numberOfLines[k];
+		}
+		if(firstRow[numberOfChunks] < this.dataSize) {
+			throw new IllegalArgumentException("number of patterns is less than " + this.dataSize + ": " + this.file + " @" + this.getClass().getSimpleName());}
+
+		this.runParallel(numberOfChunks, k -> {
+			if(firstRow[k] >= this.dataSize) { return; }
+			byte[] chunk = this.readChunk(k);
+			double[] values = new double[width];
+			int row = (int) firstRow[k];
+			int from = 0;
+			while(from < chunk.length && row < this.dataSize) {
+				int to = from;
+				while(to < chunk.length && chunk[to] != '\n') { to++; }
+				// 行番号はヘッダを含め1から数える
+				parseLine(chunk, from, to, values, this.file, row + 2);
+				handler.accept(row, values);
+				row++;
+				from = to + 1;
+			}
+		});
+	}
+
+	/**
+	 * チャンク毎の処理を学習用ForkJoinPool上で並列に実行する．チャンクが1つの場合は呼出し元のスレッドで実行する．
+	 * @param numberOfChunks チャンク数
+	 * @param task チャンク毎の処理
+	 */
+	private void runParallel(int numberOfChunks, IntConsumer task) {
+		if(numberOfChunks <= 1) {
+			IntStream.range(0, numberOfChunks).forEach(task);
+			return;
+		}
+		try {
+			Parallel.getInstance().getLearningForkJoinPool().submit( () ->
+				IntStream.range(0, numberOfChunks).parallel().forEach(task)
+			).get();
+		}catch (InterruptedException | ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalArgumentException(e + " @" + this.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * チャンクの内容を読み込む
+	 * @param k チャンクの番号
+	 * @return チャンクのバイト列
+	 */
+	private byte[] readChunk(int k) {
+		try {
+			return this.read(this.chunkStart[k], (int) (this.chunkStart[k + 1] - this.chunkStart[k]));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("failed to read " + this.file + ": " + e + " @" + this.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * ファイルの指定された範囲を読み込む．位置を指定して読み込むため，複数のスレッドから同時に呼び出してよい．
+	 * @param position 先頭位置
+	 * @param length バイト数
+	 * @return 読み込んだバイト列
+	 * @throws IOException 読込みに失敗した場合
+	 */
+	private byte[] read(long position, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while(buffer.hasRemaining()) {
+			if(this.channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("unexpected end of file: " + this.file);}
+		}
+		return bytes;
+	}
+
+	/**
+	 * 指定された位置以降で最初の改行の位置を返す
+	 * @param position 探索を始める位置
+	 * @return 改行の位置．改行が無い場合はファイルのサイズ
+	 * @throws IOException 読込みに失敗した場合
+	 */
+	private long findLineEnd(long position) throws IOException {
+		long size = this.channel.size();
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		while(position < size) {
+			buffer.clear();
+			int length = this.channel.read(buffer, position);
+			for(int i = 0; i < length; i++) {
+				if(buffer.get(i) == '\n') { return position + i; }
+			}
+			position += length;
+		}
+		return size;
+	}
+
+	/**
+	 * チャンク内の行数を数える．最後の行が改行で終わらない場合もその行を数える
+	 * @param chunk チャンクのバイト列
+	 * @return 行数
+	 */
+	static int countLines(byte[] chunk) {
+		int lines = 0;
+		for(byte b : chunk) {
+			if(b == '\n') { lines++; }
+		}
+		if(chunk.length > 0 && chunk[chunk.length - 1] != '\n') { lines++; }
+		return lines;
+	}
+
+	/**
+	 * 1行をカンマで区切り，先頭からvalues.length個の値を解析する．残りの値は無視する．
+	 * @param bytes バイト列
+	 * @param from 行の先頭位置
+	 * @param to 行の末尾位置(この位置を含まない)
+	 * @param values 解析した値を格納する配列
+	 * @param file エラー表示用のファイル
+	 * @param lineNumber エラー表示用の行番号
+	 */
+	static void parseLine(byte[] bytes, int from, int to, double[] values, Path file, long lineNumber) {
+		int start = from;
+		for(int i = 0; i < values.length; i++) {
+			if(start > to) {
+				throw new IllegalArgumentException("line " + lineNumber + " has " + i + " values, expected " + values.length + ": " + file + " @CsvDataSetReader");}
+			int end = start;
+			while(end < to && bytes[end] != ',') { end++; }
+			values[i] = parseDouble(bytes, start, end);
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * バイト列の範囲を10進数の実数として解析する．前後の空白は無視する．
+	 * 正しく丸められることが保証できない表記はDouble.parseDoubleで解析する．<br>
+	 * Parses decimal number in bytes. Returns the same value as Double.parseDouble.
+	 * @param bytes バイト列
+	 * @param from 先頭位置
+	 * @param to 末尾位置(この位置を含まない)
+	 * @return 解析した値
+	 */
+	static double parseDouble(byte[] bytes, int from, int to) {
+		int start = from, end = to;
+		while(start < end && bytes[start] <= ' ') { start++; }
+		while(end > start && bytes[end - 1] <= ' ') { end--; }
+
+		int i = start;
+		boolean negative = false;
+		if(i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+			negative = bytes[i] == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean hasDigit = false;
+		for(; i < end && '0' <= bytes[i] && bytes[i] <= '9'; i++) {
+			hasDigit = true;
+			if(mantissa != 0 || bytes[i] != '0') {
+				mantissa = mantissa * 10 + (bytes[i] - '0');
+				digits++;
+			}
+			if(digits > 18) { return parseDoubleSlow(bytes, start, end); }
+		}
+		if(i < end && bytes[i] == '.') {
+			for(i++; i < end && '0' <= bytes[i] && bytes[i] <= '9'; i++) {
+				hasDigit = true;
+				if(mantissa != 0 || bytes[i] != '0') {
+					mantissa = mantissa * 10 + (bytes[i] - '0');
+					digits++;
+				}
+				scale--;
+				if(digits > 18) { return parseDoubleSlow(bytes, start, end); }
+			}
+		}
+		if(hasDigit && i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if(i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+				negativeExponent = bytes[i] == '-';
+				i++;
+			}
+			int exponent = 0;
+			int exponentStart = i;
+			for(; i < end && '0' <= bytes[i] && bytes[i] <= '9' && exponent < 1000; i++) {
+				exponent = exponent * 10 + (bytes[i] - '0');
+			}
+			if(i == exponentStart) { return parseDoubleSlow(bytes, start, end); }
+			scale += negativeExponent ? -exponent : exponent;
+		}
+		if(!hasDigit || i != end || mantissa > MAX_EXACT_MANTISSA || scale < -22 || scale > 22) {
+			return parseDoubleSlow(bytes, start, end);
+		}
+
+		double value = (scale < 0) ? mantissa / POW10[-scale] : mantissa * POW10[scale];
+		return negative ? -value : value;
+	}
+
+	/**
+	 * バイト列の範囲を文字列に変換してDouble.parseDoubleで解析する
+	 * @param bytes バイト列
+	 * @param from 先頭位置
+	 * @param to 末尾位置(この位置を含まない)
+	 * @return 解析した値
+	 */
+	private static double parseDoubleSlow(byte[] bytes, int from, int to) {
+		return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * パターン数を返します．
+	 * @return パターン数
+	 */
+	public int getDataSize() {
+		return this.dataSize;
+	}
+
+	/**
+	 * 次元数を返します．
+	 * @return 次元数
+	 */
+	public int getNdim() {
+		return this.ndim;
+	}
+
+	/**
+	 * クラス数を返します．
+	 * @return クラス数
+	 */
+	public int getCnum() {
+		return this.cnum;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/** 解析した行を受け取る処理 */
+	@FunctionalInterface
+	public interface RowHandler {
+		/**
+		 * 解析した行を受け取る
+		 * @param row 行番号．0始まりのパターンの位置
+		 * @param values 行の値．呼出し後に再利用されるため，保持する場合は複製すること
+		 */
+		void accept(int row, double[] values);
+	}
+}
@@ -0,0 +1,366 @@
+package cilabo.data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import random.MersenneTwisterFast;
+
+/**
+ * 生のデータセットを正規化し，層化したk分割交差検証用のファイルをr回分作成するクラス．<br>
+ * 入力はカンマ区切りのテキストで，最後の列をクラスラベル，それ以外の列を属性とする．
+ * 空行と"@"または"%"で始まる行(KEELやARFFのヘッダ)は読み飛ばす．<br>
+ * ファイルを2回だけ順に読み，パターンをメモリに保持しない．
+ * 1回目に列毎の最小値・最大値とカテゴリ値，クラス毎のパターン数から各分割のパターン数を求め，
+ * 2回目に各行を変換して該当する分割のファイルに書き込む．<br>
+ * 数値属性は[0,1]に正規化し，数値として解析できない値を含む属性はカテゴリ属性として値の昇順に-1, -2, ...と符号化する(Antecedent_Basicの規約)．
+ * 欠損値("?"または空の値)は数値属性をカテゴリ属性に変えてしまうため，欠損値を含む場合は行と列を示して例外を投げる．
+ * クラスラベルは値の昇順に0, 1, ...と符号化する．<br>
+ * 分割は同じクラスのパターンをk個ずつの組に分け，組毎に乱数で並べ替えた分割番号を順に割り当てるため，
+ * 各分割のクラス毎のパターン数の差は1以下となり，必要なメモリはクラス数とkにのみ依存する．<br>
+ * 出力ファイル名は a{rep}_{cv}_{dataName}-{k}tra.dat / a{rep}_{cv}_{dataName}-{k}tst.dat である．<br>
+ * streaming preprocessing (min-max normalization, categorical encoding) and stratified k-fold x r generation.
+ * <pre>
+ * java -cp ... cilabo.data.DataSetPreprocessor raw.csv dataset/iris iris [folds=10] [repeats=3] [seed=2022] [hasHeader=false]
+ * </pre>
+ * @author Takigawa Hiroki
+ */
+public class DataSetPreprocessor {
+
+	/** カテゴリ属性・クラスラベルの値の種類数の上限 */
+	static final int MAX_CATEGORIES = 1024;
+
+	/**
+	 * 前処理を実行する．
+	 * @param args 入力ファイル，出力ディレクトリ，データセット名，分割数，繰返し数，乱数シード，先頭行が見出しかどうか
+	 * @throws IOException ファイルの読み書きに失敗した場合
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length < 3 || args.length > 7) {
+			System.err.println("usage: DataSetPreprocessor <raw file> <output dir> <data name> [folds=10] [repeats=3] [seed=2022] [hasHeader=false]");
+			return;
+		}
+		int folds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+		int repeats = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+		long seed = args.length > 5 ? Long.parseLong(args[5]) : 2022;
+		boolean hasHeader = args.length > 6 && Boolean.parseBoolean(args[6]);
+		long start = System.currentTimeMillis();
+		preprocess(Paths.get(args[0]), Paths.get(args[1]), args[2], folds, repeats, seed, hasHeader);
+		System.out.println("preprocessed " + args[0] + " -> " + args[1] + " (" + (System.currentTimeMillis() - start) + " ms)");
+	}
+
+	/**
+	 * 生のデータセットを前処理し，交差検証用のファイルを出力ディレクトリに作成します．<br>
+	 * Normalizes raw data set and writes stratified folds.
+	 * @param rawFile 入力ファイル
+	 * @param outputDirectory 出力ディレクトリ．存在しない場合は作成する
+	 * @param dataName ファイル名に用いるデータセット名
+	 * @param folds 分割数k
+	 * @param repeats 繰返し数r
+	 * @param seed 分割に用いる乱数シード．繰返し毎にシードと繰返しの番号から乱数生成器を初期化する
+	 * @param hasHeader 最初のデータ行が列名の見出しである場合true
+	 * @throws IOException ファイルの読み書きに失敗した場合
+	 */
+	public static void preprocess(Path rawFile, Path outputDirectory, String dataName, int folds, int repeats, long seed, boolean hasHeader) throws IOException {
+		if(folds < 2 || repeats < 1) {
+			throw new IllegalArgumentException("folds must be at least 2 and repeats must be positive @DataSetPreprocessor");}
+
+		/* 1回目: 列毎の統計量と分割毎のパターン数 */
+		ColumnStatistics[] columns = null;
+		StratifiedFoldAssigner[] assigners = createAssigners(folds, repeats, seed);
+		int[][] foldSize = new int[repeats][folds];
+		int dataSize = 0;
+		try(RowReader reader = new RowReader(rawFile, hasHeader)) {
+			for(String[] row = reader.next(); row != null; row = reader.next()) {
+				if(columns == null) {
+					if(row.length < 2) {
+						throw new IllegalArgumentException("data set needs at least one attribute and class label: " + rawFile + " @DataSetPreprocessor");}
+					columns = new ColumnStatistics[row.length];
+					for(int j = 0; j < row.length; j++) { columns[j] = new ColumnStatistics(j == row.length - 1); }
+				}
+				reader.checkLength(row, columns.length);
+				reader.checkMissingValue(row);
+				for(int j = 0; j < row.length; j++) {
+					columns[j].add(row[j], rawFile);
+				}
+				for(int rep = 0; rep < repeats; rep++) {
+					foldSize[rep][assigners[rep].next(row[row.length - 1])]++;
+				}
+				dataSize++;
+			}
+		}
+		if(dataSize < folds) {
+			throw new IllegalArgumentException("number of patterns " + dataSize + " is less than folds " + folds + " @DataSetPreprocessor");}
+
+		int ndim = columns.length - 1;
+		Map<String, Integer> classIndex = columns[ndim].encode(0, 1);
+		List<Map<String, Integer>> categoryCode = new ArrayList<>();
+		for(int j = 0; j < ndim; j++) {
+			categoryCode.add(columns[j].isNumeric() ? null : columns[j].encode(-1, -1));
+		}
+
+		/* 2回目: 変換して該当する分割のファイルに書き込む */
+		Files.createDirectories(outputDirectory);
+		assigners = createAssigners(folds, repeats, seed);
+		BufferedWriter[][] tra = new BufferedWriter[repeats][folds];
+		BufferedWriter[][] tst = new BufferedWriter[repeats][folds];
+		try(RowReader reader = new RowReader(rawFile, hasHeader)) {
+			String ln = System.lineSeparator();
+			for(int rep = 0; rep < repeats; rep++) {
+				for(int cv = 0; cv < folds; cv++) {
+					tra[rep][cv] = Files.newBufferedWriter(outputDirectory.resolve(makeFileName(dataName, rep, cv, folds, true)), StandardCharsets.UTF_8);
+					tra[rep][cv].write((dataSize - foldSize[rep][cv]) + "," + ndim + "," + classIndex.size() + ln);
+					tst[rep][cv] = Files.newBufferedWriter(outputDirectory.resolve(makeFileName(dataName, rep, cv, folds, false)), StandardCharsets.UTF_8);
+					tst[rep][cv].write(foldSize[rep][cv] + "," + ndim + "," + classIndex.size() + ln);
+				}
+			}
+
+			StringBuilder line = new StringBuilder();
+			for(String[] row = reader.next(); row != null; row = reader.next()) {
+				reader.checkLength(row, columns.length);
+				line.setLength(0);
+				for(int j = 0; j < ndim; j++) {
+					if(categoryCode.get(j) == null) { line.append(columns[j].normalize(Double.parseDouble(row[j]))); }
+					else { line.append(categoryCode.get(j).get(row[j])); }
+					line.append(',');
+				}
+				line.append(classIndex.get(row[ndim])).append(ln);
+				String text = line.toString();
+
+				for(int rep = 0; rep < repeats; rep++) {
+					int fold = assigners[rep].next(row[ndim]);
+					for(int cv = 0; cv < folds; cv++) {
+						(cv == fold ? tst : tra)[rep][cv].write(text);
+					}
+				}
+			}
+		} finally {
+			IOException exception = null;
+			for(BufferedWriter[][] writers : new BufferedWriter[][][] {tra, tst}) {
+				for(BufferedWriter[] writer : writers) {
+					for(BufferedWriter w : writer) {
+						if(w == null) { continue; }
+						try { w.close(); }
+						catch (IOException e) { exception = e; }
+					}
+				}
+			}
+			if(exception != null) { throw exception; }
+		}
+	}
+
+	/**
+	 * 交差検証用のファイル名を返す．
+	 * @param dataName データセット名
+	 * @param rep 繰返しの番号
+	 * @param cv 分割の番号
+	 * @param folds 分割数
+	 * @param isTra 学習用データの場合true，評価用データの場合false
+	 * @return a{rep}_{cv}_{dataName}-{folds}tra.dat または a{rep}_{cv}_{dataName}-{folds}tst.dat
+	 */
+	public static String makeFileName(String dataName, int rep, int cv, int folds, boolean isTra) {
+		return "a" + rep + "_" + cv + "_" + dataName + "-" + folds + (isTra ? "tra" : "tst") + ".dat";
+	}
+
+	/** 繰返し毎の分割の割当てを生成する．乱数生成器はRandom.createStreamと同様にint配列のシードで初期化する */
+	private static StratifiedFoldAssigner[] createAssigners(int folds, int repeats, long seed) {
+		StratifiedFoldAssigner[] assigners = new StratifiedFoldAssigner[repeats];
+		for(int rep = 0; rep < repeats; rep++) {
+			assigners[rep] = new StratifiedFoldAssigner(folds, new MersenneTwisterFast(new int[] {(int)(seed >>> 32), (int)seed, rep}));
+		}
+		return assigners;
+	}
+
+	/** 数値として解析できる値は数値の昇順，それ以外は文字列の昇順に並べる比較 */
+	private static final Comparator<String> VALUE_ORDER = (a, b) -> {
+		Double x = parseOrNull(a), y = parseOrNull(b);
+		if(x != null && y != null) { return x.compareTo(y) != 0 ? x.compareTo(y) : a.compareTo(b); }
+		if(x != null || y != null) { return x != null ? -1 : 1; }
+		return a.compareTo(b);
+	};
+
+	/** 数値として解析できる場合はその値，できない場合はnullを返す */
+	private static Double parseOrNull(String value) {
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * クラス毎に，同じクラスのパターンk個の組に乱数で並べ替えた分割番号を順に割り当てるクラス．
+	 * 各分割のクラス毎のパターン数の差は1以下となる．乱数の消費は行の順序とクラスのみに依存するため，
+	 * 同じシードで同じファイルを読めば同じ割当てが得られる．
+	 */
+	static final class StratifiedFoldAssigner {
+		/** 分割数 */
+		private final int folds;
+		/** 乱数生成器 */
+		private final MersenneTwisterFast random;
+		/** クラス毎の現在の組の分割番号 */
+		private final Map<String, int[]> blocks = new HashMap<>();
+		/** クラス毎の現在の組で次に割り当てる位置 */
+		private final Map<String, Integer> positions = new HashMap<>();
+
+		StratifiedFoldAssigner(int folds, MersenneTwisterFast random) {
+			this.folds = folds;
+			this.random = random;
+		}
+
+		/**
+		 * 次のパターンの分割番号を返す
+		 * @param classLabel パターンのクラスラベル
+		 * @return 分割番号
+		 */
+		int next(String classLabel) {
+			int[] block = this.blocks.get(classLabel);
+			if(block == null) {
+				block = new int[this.folds];
+				for(int i = 0; i < this.folds; i++) { block[i] = i; }
+				this.blocks.put(classLabel, block);
+			}
+			int position = this.positions.getOrDefault(classLabel, this.folds);
+			if(position == this.folds) {
+				// Fisher-Yates
+				for(int i = this.folds - 1; i > 0; i--) {
+					int j = this.random.nextInt(i + 1);
+					int tmp = block[i]; block[i] = block[j]; block[j] = tmp;
+				}
+				position = 0;
+			}
+			this.positions.put(classLabel, position + 1);
+			return block[position];
+		}
+	}
+
+	/** 列毎の最小値・最大値と値の種類 */
+	private static final class ColumnStatistics {
+		/** クラスラベルの列の場合true */
+		private final boolean isClass;
+		/** 全ての値が数値として解析できる場合true */
+		private boolean numeric = true;
+		/** 最小値 */
+		private double min = Double.POSITIVE_INFINITY;
+		/** 最大値 */
+		private double max = Double.NEGATIVE_INFINITY;
+		/** 値の種類．MAX_CATEGORIESを超えた場合はnull */
+		private Set<String> values = new LinkedHashSet<>();
+
+		private ColumnStatistics(boolean isClass) {
+			this.isClass = isClass;
+		}
+
+		/** 値を集計する */
+		private void add(String value, Path rawFile) {
+			if(this.numeric && !this.isClass) {
+				Double x = parseOrNull(value);
+				if(x == null || x.isNaN() || x.isInfinite()) { this.numeric = false; }
+				else {
+					this.min = Math.min(this.min, x);
+					this.max = Math.max(this.max, x);
+				}
+			}
+			if(this.values != null && this.values.add(value) && this.values.size() > MAX_CATEGORIES) {
+				this.values = null;
+			}
+			if(this.values == null && (this.isClass || !this.numeric)) {
+				throw new IllegalArgumentException((this.isClass ? "class labels" : "categorical values") + " exceed " + MAX_CATEGORIES
+						+ " kinds: " + rawFile + " @DataSetPreprocessor");}
+		}
+
+		/** 数値属性かどうか */
+		private boolean isNumeric() {
+			return this.numeric && !this.isClass;
+		}
+
+		/** [0,1]に正規化する．最大値と最小値が等しい場合は0とする */
+		private double normalize(double x) {
+			return this.max > this.min ? (x - this.min) / (this.max - this.min) : 0;
+		}
+
+		/**
+		 * 値の昇順に符号を割り当てる
+		 * @param first 最初の値の符号
+		 * @param step 符号の増分
+		 * @return 値から符号への写像
+		 */
+		private Map<String, Integer> encode(int first, int step) {
+			List<String> sorted = new ArrayList<>(this.values);
+			sorted.sort(VALUE_ORDER);
+			Map<String, Integer> code = new HashMap<>();
+			for(int i = 0; i < sorted.size(); i++) {
+				code.put(sorted.get(i), first + i * step);
+			}
+			return code;
+		}
+	}
+
+	/** 入力ファイルを1行ずつ読み，カンマで区切った値を返すクラス */
+	private static final class RowReader implements AutoCloseable {
+		/** 入力ファイル */
+		private final Path rawFile;
+		/** 入力 */
+		private final BufferedReader reader;
+		/** 見出し行を読み飛ばす必要がある場合true */
+		private boolean skipHeader;
+		/** 行番号 */
+		private long lineNumber = 0;
+
+		private RowReader(Path rawFile, boolean hasHeader) throws IOException {
+			this.rawFile = rawFile;
+			this.reader = Files.newBufferedReader(rawFile, StandardCharsets.UTF_8);
+			this.skipHeader = hasHeader;
+		}
+
+		/** 次のデータ行の値を返す．ファイルの末尾に達した場合はnull */
+		private String[] next() throws IOException {
+			String line;
+			while((line = this.reader.readLine()) != null) {
+				this.lineNumber++;
+				String trimmed = line.trim();
+				if(trimmed.isEmpty() || trimmed.startsWith("@") || trimmed.startsWith("%")) { continue; }
+				if(this.skipHeader) {
+					this.skipHeader = false;
+					continue;
+				}
+				String[] values = trimmed.split(",", -1);
+				for(int j = 0; j < values.length; j++) { values[j] = values[j].trim(); }
+				return values;
+			}
+			return null;
+		}
+
+		/** 列数を検証する */
+		private void checkLength(String[] row, int length) {
+			if(row.length != length) {
+				throw new IllegalArgumentException("line " + this.lineNumber + " has " + row.length + " values, expected " + length
+						+ ": " + this.rawFile + " @DataSetPreprocessor");}
+		}
+
+		/** 欠損値を含まないことを検証する */
+		private void checkMissingValue(String[] row) {
+			for(int j = 0; j < row.length; j++) {
+				if(row[j].isEmpty() || row[j].equals("?")) {
+					throw new IllegalArgumentException("line " + this.lineNumber + " has missing value \"" + row[j] + "\" at column " + j
+							+ ", remove or impute missing values before preprocessing: " + this.rawFile + " @DataSetPreprocessor");}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.reader.close();
+		}
+	}
+}
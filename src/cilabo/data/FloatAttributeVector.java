@@ -0,0 +1,74 @@
+package cilabo.data;
+
+import java.util.Objects;
+
+/** 属性値をfloatの配列として保持する属性値クラス．<br>
+ * メンバシップ関数はfloatで評価されるため，メンバシップ値はdoubleで保持した場合と変わらず，属性値のメモリは半分となる．<br>
+ * attribute vector which stores values as float, the precision used by membership functions.
+ * @author Takigawa Hiroki
+ */
+public class FloatAttributeVector extends AttributeVector {
+
+	/** 属性値の配列 */
+	private final float[] attributeVector;
+
+	/**
+	 * 入力された配列の指定された範囲をfloatに丸めて属性値の配列として持つインスタンスを生成する
+	 * @param values 属性値を含む配列
+	 * @param from 範囲の先頭位置
+	 * @param to 範囲の末尾位置(この位置を含まない)
+	 */
+	public FloatAttributeVector(double[] values, int from, int to) {
+		super();
+		if(Objects.isNull(values)) {
+			throw new IllegalArgumentException("argument [values] is null @" + this.getClass().getSimpleName());}
+		this.attributeVector = new float[to - from];
+		for(int i = 0; i < this.attributeVector.length; i++) {
+			this.attributeVector[i] = (float)values[from + i];
+		}
+	}
+
+	/**
+	 * 入力された属性値の配列をfloatに丸めて持つインスタンスを生成する
+	 * @param attributeVector 属性値の配列
+	 */
+	public FloatAttributeVector(double[] attributeVector) {
+		this(attributeVector, 0, Objects.isNull(attributeVector) ? 0 : attributeVector.length);
+	}
+
+	/** 属性値配列をdoubleに変換して返します。呼出し毎に配列を生成するため，繰返し処理ではgetAttributeValueを用いること */
+	@Override
+	public double[] getAttributeArray() {
+		double[] attributeArray = new double[this.attributeVector.length];
+		for(int i = 0; i < attributeArray.length; i++) {
+			attributeArray[i] = this.attributeVector[i];
+		}
+		return attributeArray;
+	}
+
+	@Override
+	public double getAttributeValue(int index) {
+		return this.getAttributeValueAsFloat(index);
+	}
+
+	@Override
+	public float getAttributeValueAsFloat(int index) {
+		if(this.attributeVector.length <= index) {
+			throw new ArrayIndexOutOfBoundsException("attributeVector out of index @" + this.getClass().getSimpleName());}
+		return this.attributeVector[index];
+	}
+
+	@Override
+	public int getNumberOfDimension() {
+		return this.attributeVector.length;
+	}
+
+	@Override
+	public String toString() {
+		String str = String.format("%.4f..", this.attributeVector[0]);
+		for(int i = 1; i < this.attributeVector.length; i++) {
+			str += String.format(", %.4f..", this.attributeVector[i]);
+		}
+		return str;
+	}
+}
@@ -43,37 +43,95 @@ public class Input {
 	 * @return 入力済みDataSet
 	 */
 	public static DataSet<Pattern_Basic> inputDataSet_Basic(String fileName) {
-		List<double[]> lines = inputDataAsList(fileName);
-
-		// The first row is parameters of dataset
-		DataSet<Pattern_Basic> data = new DataSet<Pattern_Basic>(
-				(int)lines.get(0)[0],
-				(int)lines.get(0)[1],
-				(int)lines.get(0)[2]);
-		lines.remove(0);
-
-		// Later second row are patterns
-		for(int n = 0; n < data.getDataSize(); n++) {
-			double[] line = lines.get(n);
-
-			int id = n;
-			double[] vector = new double[data.getNdim()];
-			Integer C;
-			for(int i = 0; i < vector.length; i++) {
-				vector[i] = line[i];
+		try(CsvDataSetReader reader = new CsvDataSetReader(Paths.get(fileName))) {
+			DataSet<Pattern_Basic> data = new DataSet<Pattern_Basic>(
+					reader.getDataSize(),
+					reader.getNdim(),
+					reader.getCnum());
+
+			// The first row is parameters of dataset, later second row are patterns
+			int Ndim = data.getNdim();
+			Pattern_Basic[] patterns = new Pattern_Basic[data.getDataSize()];
+			reader.forEachRow(Ndim + 1, (n, line) -> {
+				AttributeVector inputVector = Input.newAttributeVector(line, Ndim);
+				ClassLabel_Basic classLabel = new ClassLabel_Basic((int)line[Ndim]);
+				patterns[n] = new Pattern_Basic(n, inputVector, classLabel);
+			});
+			for(Pattern_Basic pattern : patterns) {
+				data.addPattern(pattern);
 			}
-			C = (int)line[data.getNdim()];
+			return data;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("failed to read data set file: " + fileName + " @Input", e);
+		}
+	}
 
-			AttributeVector inputVector = new AttributeVector(vector);
-			ClassLabel_Basic classLabel = new ClassLabel_Basic(C);
+	/**
+	 * 行の先頭からNdim個の属性値を持つ属性値クラスを生成する．Consts.FLOAT_DATASETの場合はfloatで保持する
+	 * @param line 読み込んだ行
+	 * @param Ndim 次元数
+	 * @return 属性値クラス
+	 */
+	private static AttributeVector newAttributeVector(double[] line, int Ndim) {
+		return Consts.FLOAT_DATASET ? new FloatAttributeVector(line, 0, Ndim) : new AttributeVector(line, 0, Ndim);
+	}
+
+	/**
+	 * <h1>Input File for Single-Label Classification Dataset (column-oriented)</h1>
+	 * @param fileName : String
+	 * @return 入力済みColumnarDataSet
+	 * @see ColumnarDataSet
+	 */
+	public static ColumnarDataSet inputColumnarDataSet(String fileName) {
+		try(CsvDataSetReader reader = new CsvDataSetReader(Paths.get(fileName))) {
+			ColumnarDataSet data = new ColumnarDataSet(
+					reader.getDataSize(),
+					reader.getNdim(),
+					reader.getCnum(),
+					Consts.FLOAT_DATASET);
+
+			// The first row is parameters of dataset, later second row are patterns
+			int Ndim = data.getNdim();
+			reader.forEachRow(Ndim + 1, (n, line) -> data.setRow(n, line, (int)line[Ndim]));
+			data.commitRows();
+			return data;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("failed to read data set file: " + fileName + " @Input", e);
+		}
+	}
+
+	/**
+	 * <h1>Input File for Single-Label Classification Dataset (memory-mapped binary)</h1>
+	 * BinaryDataSetConverterで変換したバイナリ形式のファイルをメモリマップして読み込む．
+	 * @param fileName : String
+	 * @return 入力済みMappedDataSet
+	 * @see MappedDataSet
+	 */
+	public static MappedDataSet inputMappedDataSet(String fileName) {
+		try {
+			return MappedDataSet.map(Paths.get(fileName));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("failed to map data set file: " + fileName + " @Input", e);
+		}
+	}
 
-			Pattern_Basic pattern = new Pattern_Basic(
-					id,
-					inputVector,
-					classLabel);
-			data.addPattern(pattern);
+	/**
+	 * 単一クラスラベルのデータセットを形式に応じて読み込む．
+	 * バイナリ形式のファイルはメモリマップし，CSV形式のファイルはConsts.COLUMNAR_DATASETに応じて読み込む．
+	 * @param fileName : String
+	 * @return 入力済みDataSet
+	 */
+	private static DataSet<Pattern_Basic> inputSingleLabelDataSet(String fileName) {
+		boolean mapped;
+		try {
+			mapped = MappedDataSet.isMappedDataSetFile(Paths.get(fileName));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("failed to read data set file: " + fileName + " @Input", e);
+		}
+		if(mapped) {
+			return Input.inputMappedDataSet(fileName);
 		}
-		return data;
+		return Consts.COLUMNAR_DATASET ? Input.inputColumnarDataSet(fileName) : Input.inputDataSet_Basic(fileName);
 	}
 
 	/**
@@ -82,39 +140,32 @@ public class Input {
 	 * @return 入力済みDataSet
 	 */
 	public static DataSet<Pattern_MultiClass> inputDataSet_MultiLabel(String fileName) {
-		List<double[]> lines = inputDataAsList(fileName);
-
-		// The first row is parameters of dataset
-		DataSet<Pattern_MultiClass> data = new DataSet<Pattern_MultiClass>(
-				(int)lines.get(0)[0],
-				(int)lines.get(0)[1],
-				(int)lines.get(0)[2]);
-		lines.remove(0);
-
-		// Later second row are patterns
-		for(int n = 0; n < data.getDataSize(); n++) {
-			double[] line = lines.get(n);
-
-			int id = n;
-			double[] vector = new double[data.getNdim()];
-			Integer[] cVec = new Integer[data.getCnum()];
-			for(int i = 0; i < vector.length; i++) {
-				vector[i] = line[i];
-			}
-			for(int i = 0; i < data.getCnum(); i++) {
-				cVec[i] = (int)line[i + data.getNdim()];
-			}
+		try(CsvDataSetReader reader = new CsvDataSetReader(Paths.get(fileName))) {
+			DataSet<Pattern_MultiClass> data = new DataSet<Pattern_MultiClass>(
+					reader.getDataSize(),
+					reader.getNdim(),
+					reader.getCnum());
 
-			AttributeVector inputVector = new AttributeVector(vector);
-			ClassLabel_Multi classLabel = new ClassLabel_Multi(cVec);
-
-			Pattern_MultiClass pattern = new Pattern_MultiClass(
-					id,
-					inputVector,
-					classLabel);
-			data.addPattern(pattern);
+			// The first row is parameters of dataset, later second row are patterns
+			int Ndim = data.getNdim();
+			int Cnum = data.getCnum();
+			Pattern_MultiClass[] patterns = new Pattern_MultiClass[data.getDataSize()];
+			reader.forEachRow(Ndim + Cnum, (n, line) -> {
+				Integer[] cVec = new Integer[Cnum];
+				for(int i = 0; i < Cnum; i++) {
+					cVec[i] = (int)line[i + Ndim];
+				}
+				AttributeVector inputVector = Input.newAttributeVector(line, Ndim);
+				ClassLabel_Multi classLabel = new ClassLabel_Multi(cVec);
+				patterns[n] = new Pattern_MultiClass(n, inputVector, classLabel);
+			});
+			for(Pattern_MultiClass pattern : patterns) {
+				data.addPattern(pattern);
+			}
+			return data;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("failed to read data set file: " + fileName + " @Input", e);
 		}
-		return data;
 	}
 
 	/**
@@ -130,13 +181,13 @@ public class Input {
 		if(Objects.isNull(DataSetManager.getInstance().getTests())) {
 			throw new IllegalArgumentException("argument [testFile] is null @" + "TrainTestDatasetManager.loadTrainTestFiles()");}
 
-		DataSet<Pattern_Basic> train = Input.inputDataSet_Basic(trainFile);
+		DataSet<Pattern_Basic> train = Input.inputSingleLabelDataSet(trainFile);
 		DataSetManager.getInstance().addTrains(train);
 		Consts.DATA_SIZE = train.getDataSize();
 		Consts.ATTRIBUTE_NUMBER = train.getNdim();
 		Consts.CLASS_LABEL_NUMBER = train.getCnum();
 
-		DataSet<Pattern_Basic> test = Input.inputDataSet_Basic(testFile);
+		DataSet<Pattern_Basic> test = Input.inputSingleLabelDataSet(testFile);
 		DataSetManager.getInstance().addTests(test);
 
 		if(Objects.isNull(DataSetManager.getInstance().getTrains())) {
@@ -0,0 +1,226 @@
+package cilabo.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+
+/**単一クラスラベル用のバイナリ形式データセットをメモリマップして保持するデータセットクラス．<br>
+ * 属性値とクラスラベルはファイルをマップしたバッファから直接読み出すため，ヒープに複製せず，
+ * 読込み時の解析も行わない．保持するPattern_Basicはバッファを参照するビューである．<br>
+ * ファイルの形式(リトルエンディアン)は次の通り．<br>
+ * ヘッダ(HEADER_BYTES) : マジックナンバー"MFGB"，版数，パターン数，次元数，クラス数，属性値のバイト数(4:float，8:double)<br>
+ * 属性値 : 次元毎に全パターンの属性値を並べた列を次元数分<br>
+ * クラスラベル : 全パターンのint値<br>
+ * data set backed by a memory-mapped binary file. Patterns are thin views over the mapped columns.
+ * @author Takigawa Hiroki
+ * @see BinaryDataSetConverter
+ */
+public class MappedDataSet extends DataSet<Pattern_Basic> {
+
+	/** ファイル先頭のマジックナンバー．CSV形式の先頭(数字)と区別する */
+	static final byte[] MAGIC = {'M', 'F', 'G', 'B'};
+	/** ファイル形式の版数 */
+	static final int VERSION = 1;
+	/** ヘッダのバイト数 */
+	static final int HEADER_BYTES = 32;
+	/** ファイルのバイト順 */
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/** 属性値の列のバッファ．[dimension] */
+	private final ByteBuffer[] columns;
+	/** クラスラベルのバッファ */
+	private final ByteBuffer classLabels;
+	/** 属性値をfloatで保持している場合true */
+	private final boolean singlePrecision;
+
+	/** コンストラクタ．ヘッダを検証し，列をマップしてパターンのビューを生成する
+	 * @param channel 読み出すファイルのチャネル
+	 * @param header ファイルのヘッダ
+	 * @throws IOException マップに失敗した場合
+	 */
+	private MappedDataSet(FileChannel channel, Header header) throws IOException {
+		super(header.dataSize, header.ndim, header.cnum);
+		this.singlePrecision = header.valueBytes == Float.BYTES;
+		this.columns = new ByteBuffer[header.ndim];
+		long position = HEADER_BYTES;
+		long columnBytes = (long) header.dataSize * header.valueBytes;
+		for(int dim = 0; dim < header.ndim; dim++) {
+			this.columns[dim] = channel.map(FileChannel.MapMode.READ_ONLY, position, columnBytes).order(BYTE_ORDER);
+			position += columnBytes;
+		}
+		this.classLabels = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) header.dataSize * Integer.BYTES).order(BYTE_ORDER);
+
+		for(int row = 0; row < header.dataSize; row++) {
+			super.addPattern(new Pattern_Basic(row, new MappedView(row), new ClassLabel_Basic(this.classLabels.getInt(row * Integer.BYTES))));
+		}
+	}
+
+	/** バイナリ形式のデータセットファイルをメモリマップして読み込みます．
+	 * マップはファイルを閉じた後も有効である．<br>
+	 * Maps binary data set file into memory.
+	 * @param file 読み込むファイル
+	 * @return 読み込んだデータセット
+	 * @throws IOException ファイルの読込み・マップに失敗した場合
+	 */
+	public static MappedDataSet map(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			Header header = Header.read(channel);
+			long expected = HEADER_BYTES + (long) header.dataSize * header.ndim * header.valueBytes + (long) header.dataSize * Integer.BYTES;
+			if(channel.size() < expected) {
+				throw new IllegalArgumentException("file is truncated: " + channel.size() + " bytes < " + expected + " bytes @" + MappedDataSet.class.getSimpleName());}
+			return new MappedDataSet(channel, header);
+		}
+	}
+
+	/** 入力されたファイルがバイナリ形式のデータセットかをマジックナンバーから判定します．<br>
+	 * Returns true if given file starts with the magic number of binary data set.
+	 * @param file 判定するファイル
+	 * @return バイナリ形式の場合true
+	 * @throws IOException ファイルの読込みに失敗した場合
+	 */
+	public static boolean isMappedDataSetFile(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+			while(magic.hasRemaining() && channel.read(magic) >= 0) {}
+			if(magic.hasRemaining()) {
+				return false;
+			}
+			magic.flip();
+			return ByteBuffer.wrap(MAGIC).equals(magic);
+		}
+	}
+
+	/** 属性値をfloatで保持しているかを返します．
+	 * @return floatで保持している場合true */
+	public boolean isSinglePrecision() {
+		return this.singlePrecision;
+	}
+
+	/** マップしたファイルのパターンは追加できない */
+	@Override
+	public void addPattern(Pattern_Basic pattern) {
+		throw new UnsupportedOperationException("patterns cannot be added to mapped data set @" + this.getClass().getSimpleName());
+	}
+
+	/** 指定された行・次元の属性値を返す
+	 * @param row 行
+	 * @param dimension 次元
+	 * @return 属性値 */
+	private double getValue(int row, int dimension) {
+		return this.singlePrecision
+				? this.columns[dimension].getFloat(row * Float.BYTES)
+				: this.columns[dimension].getDouble(row * Double.BYTES);
+	}
+
+	/** バイナリ形式のヘッダ */
+	static final class Header {
+		/** パターン数 */
+		final int dataSize;
+		/** 次元数 */
+		final int ndim;
+		/** クラス数 */
+		final int cnum;
+		/** 属性値のバイト数 */
+		final int valueBytes;
+
+		Header(int dataSize, int ndim, int cnum, int valueBytes) {
+			if(dataSize <= 0 || ndim <= 0 || cnum <= 0) {
+				throw new IllegalArgumentException("incorrect data set information: " + dataSize + "," + ndim + "," + cnum + " @" + MappedDataSet.class.getSimpleName());}
+			if(valueBytes != Float.BYTES && valueBytes != Double.BYTES) {
+				throw new IllegalArgumentException("attribute value must be 4 or 8 bytes: " + valueBytes + " @" + MappedDataSet.class.getSimpleName());}
+			if((long) dataSize * valueBytes > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("column exceeds " + Integer.MAX_VALUE + " bytes @" + MappedDataSet.class.getSimpleName());}
+			this.dataSize = dataSize;
+			this.ndim = ndim;
+			this.cnum = cnum;
+			this.valueBytes = valueBytes;
+		}
+
+		/** チャネルの先頭からヘッダを読み込む */
+		static Header read(FileChannel channel) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(BYTE_ORDER);
+			while(buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {}
+			if(buffer.hasRemaining()) {
+				throw new IllegalArgumentException("file is shorter than header @" + MappedDataSet.class.getSimpleName());}
+			buffer.flip();
+			byte[] magic = new byte[MAGIC.length];
+			buffer.get(magic);
+			if(!ByteBuffer.wrap(magic).equals(ByteBuffer.wrap(MAGIC))) {
+				throw new IllegalArgumentException("not a binary data set file @" + MappedDataSet.class.getSimpleName());}
+			int version = buffer.getInt();
+			if(version != VERSION) {
+				throw new IllegalArgumentException("unsupported version: " + version + " @" + MappedDataSet.class.getSimpleName());}
+			return new Header(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+		}
+
+		/** ヘッダをバッファに書き込む */
+		void write(ByteBuffer buffer) {
+			buffer.order(BYTE_ORDER);
+			buffer.put(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putInt(this.dataSize);
+			buffer.putInt(this.ndim);
+			buffer.putInt(this.cnum);
+			buffer.putInt(this.valueBytes);
+			while(buffer.position() < HEADER_BYTES) { buffer.put((byte) 0); }
+		}
+	}
+
+	/** マップした列を参照する属性値クラス．属性値配列を個別に持たない */
+	private final class MappedView extends AttributeVector {
+
+		/** 参照する行 */
+		private final int row;
+
+		private MappedView(int row) {
+			super();
+			this.row = row;
+		}
+
+		/** 列から属性値配列を組み立てて返します。呼出し毎に配列を生成するため，繰返し処理ではgetAttributeValueを用いること */
+		@Override
+		public double[] getAttributeArray() {
+			double[] attributeArray = new double[columns.length];
+			for(int dim = 0; dim < columns.length; dim++) {
+				attributeArray[dim] = getValue(this.row, dim);
+			}
+			return attributeArray;
+		}
+
+		@Override
+		public double getAttributeValue(int index) {
+			if(columns.length <= index) {
+				throw new ArrayIndexOutOfBoundsException("attributeVector out of index @" + this.getClass().getSimpleName());}
+			return getValue(this.row, index);
+		}
+
+		@Override
+		public float getAttributeValueAsFloat(int index) {
+			if(columns.length <= index) {
+				throw new ArrayIndexOutOfBoundsException("attributeVector out of index @" + this.getClass().getSimpleName());}
+			return singlePrecision
+					? columns[index].getFloat(this.row * Float.BYTES)
+					: (float)columns[index].getDouble(this.row * Double.BYTES);
+		}
+
+		@Override
+		public int getNumberOfDimension() {
+			return columns.length;
+		}
+
+		@Override
+		public String toString() {
+			String str = String.format("%.4f..", getValue(this.row, 0));
+			for(int i = 1; i < columns.length; i++) {
+				str += String.format(", %.4f..", getValue(this.row, i));
+			}
+			return str;
+		}
+	}
+}
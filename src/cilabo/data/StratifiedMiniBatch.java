@@ -0,0 +1,151 @@
+package cilabo.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import cilabo.data.pattern.Pattern;
+import random.MersenneTwisterFast;
+
+/**
+ * 学習用データからクラス毎の比率を保った部分集合(ミニバッチ)を順に取り出すクラス．<br>
+ * クラス毎にパターンの順序を一度だけ並べ替え，その順序で前回の続きから巡回的に取り出すため，
+ * 更新を繰り返すと全てのパターンが偏りなく用いられる．
+ * 部分集合のパターンは学習用データのパターンそのもの(複製ではない)であり，学習用データ内の順序で並ぶ．<br>
+ * 部分集合のパターン数は取り出す毎にgrowthRate倍となり，学習用データのパターン数以上となった場合は学習用データをそのまま返す．<br>
+ * Draws class-stratified, rotating subsamples of the training data set, optionally growing in size.
+ * @author Takigawa Hiroki
+ *
+ * @param <pattern> データセットが扱うパターンクラスの型
+ */
+public class StratifiedMiniBatch<pattern extends Pattern<?>> {
+	/** 学習用データ */
+	private final DataSet<pattern> train;
+	/** クラス毎の学習用データ内のパターンの位置．クラスの出現順に並び，各クラス内は乱数で並べ替える */
+	private final int[][] strata;
+	/** クラス毎の次に取り出す位置 */
+	private final int[] cursor;
+	/** 取り出す毎にパターン数に乗じる倍率 */
+	private final double growthRate;
+	/** 次に取り出す部分集合のパターン数 */
+	private double batchSize;
+
+	/**
+	 * コンストラクタ
+	 * @param train 学習用データ
+	 * @param batchSize 最初に取り出す部分集合のパターン数．1以上
+	 * @param growthRate 取り出す毎にパターン数に乗じる倍率．1以上
+	 * @param random クラス内のパターンの並べ替えに用いる乱数生成器
+	 */
+	public StratifiedMiniBatch(DataSet<pattern> train, int batchSize, double growthRate, MersenneTwisterFast random) {
+		if(Objects.isNull(train) || Objects.isNull(random)) {
+			throw new IllegalArgumentException("arguments must not be null @" + this.getClass().getSimpleName());}
+		if(batchSize < 1 || !(growthRate >= 1)) {
+			throw new IllegalArgumentException("batchSize must be positive and growthRate must be at least 1 @" + this.getClass().getSimpleName());}
+		this.train = train;
+		this.batchSize = batchSize;
+		this.growthRate = growthRate;
+
+		Map<String, List<Integer>> classes = new LinkedHashMap<>();
+		for(int i = 0; i < train.getDataSize(); i++) {
+			String classLabel = train.getPattern(i).getTargetClass().toString();
+			classes.computeIfAbsent(classLabel, key -> new ArrayList<>()).add(i);
+		}
+		this.strata = new int[classes.size()][];
+		int c = 0;
+		for(List<Integer> positions : classes.values()) {
+			int[] stratum = positions.stream().mapToInt(Integer::intValue).toArray();
+			// Fisher-Yates
+			for(int i = stratum.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int tmp = stratum[i]; stratum[i] = stratum[j]; stratum[j] = tmp;
+			}
+			this.strata[c++] = stratum;
+		}
+		this.cursor = new int[this.strata.length];
+	}
+
+	/**
+	 * 次の部分集合を返します．クラス毎のパターン数は学習用データの比率に比例させ，端数は剰余の大きいクラスに割り当てる．<br>
+	 * Returns next stratified subsample, or the training data set itself once the batch size reaches its size.
+	 * @return 部分集合．パターン数が学習用データ以上の場合は学習用データ
+	 */
+	public DataSet<pattern> next() {
+		int dataSize = this.train.getDataSize();
+		int size = (int) Math.min(this.batchSize, dataSize);
+		this.batchSize *= this.growthRate;
+		if(size >= dataSize) {
+			return this.train;
+		}
+
+		int[] quota = this.allocate(size);
+		int[] positions = new int[size];
+		int n = 0;
+		for(int c = 0; c < this.strata.length; c++) {
+			int[] stratum = this.strata[c];
+			for(int k = 0; k < quota[c]; k++) {
+				positions[n++] = stratum[this.cursor[c]];
+				this.cursor[c] = (this.cursor[c] + 1) % stratum.length;
+			}
+		}
+		Arrays.sort(positions);
+
+		DataSet<pattern> batch = new DataSet<>(size, this.train.getNdim(), this.train.getCnum());
+		for(int position : positions) {
+			batch.addPattern(this.train.getPattern(position));
+		}
+		return batch;
+	}
+
+	/**
+	 * 部分集合のパターン数をクラスの比率に比例して割り当てる(最大剰余方式)
+	 * @param size 部分集合のパターン数．学習用データのパターン数未満
+	 * @return クラス毎のパターン数
+	 */
+	private int[] allocate(int size) {
+		int dataSize = this.train.getDataSize();
+		int[] quota = new int[this.strata.length];
+		long[] remainder = new long[this.strata.length];
+		int allocated = 0;
+		for(int c = 0; c < this.strata.length; c++) {
+			long product = (long) size * this.strata[c].length;
+			quota[c] = (int) (product / dataSize);
+			remainder[c] = product % dataSize;
+			allocated += quota[c];
+		}
+		for(; allocated < size; allocated++) {
+			int best = -1;
+			for(int c = 0; c < this.strata.length; c++) {
+				if(quota[c] < this.strata[c].length && (best < 0 || remainder[c] > remainder[best])) { best = c; }
+			}
+			quota[best]++;
+			remainder[best] = -1;
+		}
+		return quota;
+	}
+
+	/**
+	 * 次に取り出す部分集合のパターン数を返します．
+	 * @return パターン数．学習用データのパターン数を上限とする
+	 */
+	public int getBatchSize() {
+		return (int) Math.min(this.batchSize, this.train.getDataSize());
+	}
+
+	/**
+	 * 学習用データを返します．
+	 * @return 学習用データ
+	 */
+	public DataSet<pattern> getTrain() {
+		return this.train;
+	}
+
+	@Override
+	public String toString() {
+		return "StratifiedMiniBatch [batchSize=" + this.getBatchSize() + ", growthRate=" + this.growthRate
+				+ ", dataSize=" + this.train.getDataSize() + ", numberOfClasses=" + this.strata.length + "]";
+	}
+}
@@ -26,17 +26,34 @@ public final class SingleWinnerRuleSelection <michiganSolution extends MichiganS
 
 	@Override
 	public michiganSolution classify(List<michiganSolution> michiganSolutionList, Pattern<?> pattern) {
+		int winner = this.classifyIndex(michiganSolutionList, pattern, null);
+		return winner < 0 ? null : michiganSolutionList.get(winner);
+	}
+
+	/**
+	 * 単一勝利ルールに基づいて勝利ルールのインデックスを返す．判定はclassify(List, Pattern)と同一である．<br>
+	 * scoreがnullでない場合，score[0]に適合度の最大値(勝利ルールの適合度)を，
+	 * score[1]に勝利ルール以外のルールの適合度の最大値(次点)を格納する．識別不能時のscoreは不定．
+	 * @param michiganSolutionList 識別器
+	 * @param pattern 入力パターン
+	 * @param score 適合度の最大値と次点を格納する長さ2以上の配列．不要な場合はnull
+	 * @return 勝利となったMichiganSolutionのインデックス 識別不能時は-1
+	 */
+	public int classifyIndex(List<? extends MichiganSolution<?>> michiganSolutionList, Pattern<?> pattern, double[] score) {
 		if(michiganSolutionList.size() < 1) {
 			throw new IllegalArgumentException("argument [michiganSolutionList] has no michiganSolution @SingleWinnerRuleSelection.classify()");}
 
 		boolean canClassify = false; //識別可能フラグ
 		double max = -Double.MAX_VALUE; //最大値保存バッファ
 		int winner = 0; //勝利ルールインデックス保存バッファ
+		double first = -Double.MAX_VALUE; //適合度の最大値(EPSを考慮しない)
+		int firstIndex = -1; //適合度が最大値となる最初のルールのインデックス
+		double second = -Double.MAX_VALUE; //firstIndex以外のルールの適合度の最大値
 		for(int q = 0; q < michiganSolutionList.size(); q++) {
 			MichiganSolution<?> michiganSolution = michiganSolutionList.get(q);
 			if(michiganSolution.getClassLabel().isRejectedClassLabel()) {
 				throw new IllegalArgumentException("argument [michiganSolutionList] has michiganSolution with Rejected ClassLabel @SingleWinnerRuleSelection.classify()");}
-			double value = michiganSolution.getFitnessValue(pattern.getAttributeVector()); //適合度計算
+			double value = michiganSolution.getFitnessValue(pattern); //適合度計算
 
 			//最大値更新ケース
 			if(value > max + EPS) {
@@ -52,15 +69,29 @@ public final class SingleWinnerRuleSelection <michiganSolution extends MichiganS
 					canClassify = false;
 				}
 			}
+
+			//次点の記録
+			if(value > first) {
+				second = first;
+				first = value;
+				firstIndex = q;
+			}
+			else if(value > second) {
+				second = value;
+			}
 		}
 
 		//識別可能である場合勝利ルールを返す
 		if(canClassify && max >= 0) {
-			return michiganSolutionList.get(winner);
+			if(score != null) {
+				score[0] = max;
+				score[1] = (winner == firstIndex) ? second : first;
+			}
+			return winner;
 		}
-		//識別不可能である場合はnullを返す．
+		//識別不可能である場合は-1を返す．
 		else {
-			return null;
+			return -1;
 		}
 	}
 
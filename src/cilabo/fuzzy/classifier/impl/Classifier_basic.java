@@ -33,6 +33,15 @@ public class Classifier_basic<michiganSolution extends MichiganSolution<?>> impl
 		return this.classification.classify(michiganSolutionList, pattern);
 	}
 
+	/**
+	 * このインスタンスが持つ識別方式を返します。<br>
+	 * Returns classification that this instance has.
+	 * @return 識別方式定義クラス
+	 */
+	public Classification<michiganSolution> getClassification() {
+		return this.classification;
+	}
+
 	@Override
 	public Classifier<michiganSolution> copy(){
 		return new Classifier_basic<michiganSolution>(this.classification.copy());
@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import org.w3c.dom.Element;
 
+import cilabo.data.pattern.Pattern;
 import cilabo.main.ExperienceParameter.DIVISION_TYPE;
 import jfml.term.FuzzyTermType;
 import xml.XML_TagName;
@@ -24,6 +25,8 @@ public class Knowledge {
 	private static Knowledge instance = new Knowledge();
 	/** ファジィ集合格納オブジェクト */
 	private FuzzyTermTypeForMixed[][] fuzzySets;
+	/** fuzzySetsをコンパイルしたメンバシップ関数評価器 */
+	private MembershipEngine membershipEngine;
 
 	private Knowledge() {}
 
@@ -71,24 +74,78 @@ public class Knowledge {
 
 	/**
 	 * ファジィセットを入力されたファジィセットで置き換えます。<br>
+	 * 構築済みのMembershipTableは置き換え前のファジィセットの値を保持しているため破棄する．
+	 * テーブルを用いる場合はファジィセットを設定した後に構築すること．<br>
 	 * Replaces Fuzzy Set in this instance.
 	 * @param fuzzySets このインスタンスにに格納されるファジィセット．Fuzzy Set to be stored at this instance
+	 * @see MembershipTable#build(cilabo.data.DataSet)
 	 */
 	public void setFuzzySets(FuzzyTermTypeForMixed[][] fuzzySets) {
 		if(!Objects.isNull(this.fuzzySets)) {System.err.println("fuzzySets was overwrited");}
 		this.fuzzySets = fuzzySets;
+		this.membershipEngine = Objects.isNull(fuzzySets) ? null : new MembershipEngine(fuzzySets);
+		this.clearMembershipTable();
+	}
+
+	/** 構築済みのMembershipTableを破棄する */
+	private void clearMembershipTable() {
+		MembershipTable membershipTable = MembershipTable.getInstance();
+		if(membershipTable.isBuilt()) {
+			System.err.println("membershipTable was cleared because fuzzySets were replaced");
+			membershipTable.clear();
+		}
+	}
+
+	/**
+	 * ファジィセットをコンパイルしたメンバシップ関数評価器を返します。<br>
+	 * Returns membership engine compiled from Fuzzy Sets in this instance.
+	 * @return メンバシップ関数評価器
+	 * @see MembershipEngine
+	 */
+	public MembershipEngine getMembershipEngine() {
+		if(Objects.isNull(fuzzySets)) {System.err.println("Knowledge hasn't been initialised");}
+		return membershipEngine;
 	}
 
 	/**
 	 * 指定されたファジィセットの入力された属性値に対するメンバシップ値を返す．
+	 * MembershipEngineにより評価する．
 	 * @param attributeValue 属性値
 	 * @param dimension  ファジィセットの次元．dimension of Fuzzy Set
 	 * @param fuzzySet_id ファジィセットのID．ID of Fuzzy Set
 	 * @return 属性値に対するメンバシップ値
 	 */
 	public double getMembershipValue(double attributeValue, int dimension, int fuzzySet_id) {
+		return this.getMembershipValue((float)attributeValue, dimension, fuzzySet_id);
+	}
+
+	/**
+	 * 指定されたファジィセットの入力されたfloatの属性値に対するメンバシップ値を返す．
+	 * メンバシップ関数はfloatで評価されるため，属性値をfloatで保持している場合は変換せずに評価できる．
+	 * @param attributeValue 属性値
+	 * @param dimension  ファジィセットの次元．dimension of Fuzzy Set
+	 * @param fuzzySet_id ファジィセットのID．ID of Fuzzy Set
+	 * @return 属性値に対するメンバシップ値
+	 */
+	public double getMembershipValue(float attributeValue, int dimension, int fuzzySet_id) {
 		if(Objects.isNull(fuzzySets)) {System.err.println("Knowledge hasn't been initialised");}
-		return (double)fuzzySets[dimension][fuzzySet_id].getMembershipValue((float)attributeValue);
+		return (double)membershipEngine.getMembershipValue(dimension, fuzzySet_id, attributeValue);
+	}
+
+	/**
+	 * 指定されたファジィセットの入力されたパターンの属性値に対するメンバシップ値を返す．
+	 * パターンがMembershipTableに格納されている場合はテーブルの値を返す．
+	 * @param pattern パターン
+	 * @param dimension  ファジィセットの次元．dimension of Fuzzy Set
+	 * @param fuzzySet_id ファジィセットのID．ID of Fuzzy Set
+	 * @return 属性値に対するメンバシップ値
+	 * @see MembershipTable
+	 */
+	public double getMembershipValue(Pattern<?> pattern, int dimension, int fuzzySet_id) {
+		if(MembershipTable.getInstance().contains(pattern)) {
+			return MembershipTable.getInstance().getMembershipValue(pattern, dimension, fuzzySet_id);
+		}
+		return this.getMembershipValue(pattern.getAttributeVector().getAttributeValueAsFloat(dimension), dimension, fuzzySet_id);
 	}
 
 	/**
@@ -114,6 +171,8 @@ public class Knowledge {
 	/** ファジィセットを初期化します */
 	public void clear() {
 		this.fuzzySets = null;
+		this.membershipEngine = null;
+		MembershipTable.getInstance().clear();
 	}
 
 	@Override
@@ -0,0 +1,182 @@
+package cilabo.fuzzy.knowledge;
+
+import java.util.Objects;
+
+import jfml.term.FuzzyTerm;
+import jfml.term.FuzzyTermType;
+
+/**
+ * Knowledgeのファジィ集合を一次元のパラメータ配列と形状コード配列にコンパイルしたメンバシップ関数評価器．<br>
+ * jfmlのFuzzyTerm.getMembershipValueはメンバシップ関数の仮想呼出しと補集合フラグの文字列比較を呼出し毎に行うため，
+ * 三角型・台形型・ガウス型・矩形型のファジィ集合はコンパイル時に解決した形状コードとパラメータから直接評価する．
+ * 計算式はjfmlの各MembershipFunctionと同一のfloat演算であり，結果はビット単位で一致する．<br>
+ * 上記以外の形状のファジィ集合はjfmlのFuzzyTermで評価する．<br>
+ * Compiled membership function evaluator over flat parameter table.
+ * @author Takigawa Hiroki
+ */
+public final class MembershipEngine {
+
+	/** jfmlで評価する形状 */
+	static final byte SHAPE_FALLBACK = 0;
+	/** 台形型．三角型(a, b, c)は台形型(a, b, b, c)として評価する */
+	static final byte SHAPE_TRAPEZOID = 1;
+	/** 矩形型 */
+	static final byte SHAPE_RECTANGLE = 2;
+	/** ガウス型 */
+	static final byte SHAPE_GAUSSIAN = 3;
+
+	/** 1つのファジィ集合が占めるパラメータ配列の要素数 */
+	private static final int STRIDE = 4;
+
+	/** 各次元の先頭のファジィ集合の通し番号 */
+	private final int[] offset;
+	/** 形状コード配列．[offset[dim] + fuzzySet_id] */
+	private final byte[] shape;
+	/** 補集合フラグ配列．[offset[dim] + fuzzySet_id] */
+	private final boolean[] complement;
+	/** パラメータ配列．[(offset[dim] + fuzzySet_id) * STRIDE + k] */
+	private final float[] params;
+	/** jfmlで評価するファジィ集合．[offset[dim] + fuzzySet_id] */
+	private final FuzzyTermType[] fallback;
+
+	/**
+	 * 入力されたファジィ集合をコンパイルします．コンパイル後にファジィ集合を変更しても評価器には反映されない．<br>
+	 * Compiles given fuzzy sets.
+	 * @param fuzzySets コンパイルするファジィ集合．fuzzy sets to be compiled
+	 */
+	public MembershipEngine(FuzzyTermType[][] fuzzySets) {
+		if(Objects.isNull(fuzzySets)) {
+			throw new IllegalArgumentException("argument [fuzzySets] is null @" + this.getClass().getSimpleName());}
+
+		int[] offset = new int[fuzzySets.length + 1];
+		for(int dim = 0; dim < fuzzySets.length; dim++) {
+			offset[dim + 1] = offset[dim] + fuzzySets[dim].length;
+		}
+		int size = offset[fuzzySets.length];
+
+		this.offset = offset;
+		this.shape = new byte[size];
+		this.complement = new boolean[size];
+		this.params = new float[size * STRIDE];
+		this.fallback = new FuzzyTermType[size];
+		for(int dim = 0; dim < fuzzySets.length; dim++) {
+			for(int id = 0; id < fuzzySets[dim].length; id++) {
+				this.compile(offset[dim] + id, fuzzySets[dim][id]);
+			}
+		}
+	}
+
+	/** ファジィ集合を形状コードとパラメータに変換して格納する
+	 * @param index ファジィ集合の通し番号
+	 * @param fuzzySet 変換するファジィ集合 */
+	private void compile(int index, FuzzyTermType fuzzySet) {
+		this.shape[index] = SHAPE_FALLBACK;
+		this.fallback[index] = fuzzySet;
+		// メンバシップ関数が生成されていないファジィ集合はjfmlと同じく0を返すよう委譲する
+		if(Objects.isNull(fuzzySet) || Objects.isNull(fuzzySet.getMembershipFunction())) { return; }
+		float[] param = fuzzySet.getParam();
+		if(Objects.isNull(param)) { return; }
+
+		int base = index * STRIDE;
+		switch(fuzzySet.getType()) {
+			case FuzzyTerm.TYPE_triangularShape:
+				this.setParams(base, param[0], param[1], param[1], param[2]);
+				this.shape[index] = SHAPE_TRAPEZOID;
+				break;
+			case FuzzyTerm.TYPE_trapezoidShape:
+				this.setParams(base, param[0], param[1], param[2], param[3]);
+				this.shape[index] = SHAPE_TRAPEZOID;
+				break;
+			case FuzzyTerm.TYPE_rectangularShape:
+				this.setParams(base, param[0], param[1], 0f, 0f);
+				this.shape[index] = SHAPE_RECTANGLE;
+				break;
+			case FuzzyTerm.TYPE_gaussianShape:
+				// param[0] = c, param[1] = sigma
+				this.setParams(base, param[0], param[1], 0f, 0f);
+				this.shape[index] = SHAPE_GAUSSIAN;
+				break;
+			default:
+				return;
+		}
+		this.fallback[index] = null;
+		String complement = fuzzySet.getComplement();
+		this.complement[index] = complement.equals("true") || complement.equals("TRUE") || complement.equals("True");
+	}
+
+	/** パラメータ配列に値を格納する */
+	private void setParams(int base, float p0, float p1, float p2, float p3) {
+		this.params[base] = p0;
+		this.params[base + 1] = p1;
+		this.params[base + 2] = p2;
+		this.params[base + 3] = p3;
+	}
+
+	/**
+	 * 指定されたファジィセットの入力された属性値に対するメンバシップ値を返す．<br>
+	 * Returns membership value of the specified fuzzy set.
+	 * @param dimension ファジィセットの次元．dimension of Fuzzy Set
+	 * @param fuzzySet_id ファジィセットのID．ID of Fuzzy Set
+	 * @param x 属性値
+	 * @return 属性値に対するメンバシップ値
+	 */
+	public float getMembershipValue(int dimension, int fuzzySet_id, float x) {
+		int index = this.offset[dimension] + fuzzySet_id;
+		if(fuzzySet_id < 0 || index >= this.offset[dimension + 1]) {
+			throw new ArrayIndexOutOfBoundsException("fuzzySet_id " + fuzzySet_id + " is out of range at dimension " + dimension);
+		}
+		int base = index * STRIDE;
+		float d;
+		switch(this.shape[index]) {
+			case SHAPE_TRAPEZOID:
+				d = trapezoid(x, this.params[base], this.params[base + 1], this.params[base + 2], this.params[base + 3]);
+				break;
+			case SHAPE_RECTANGLE:
+				d = rectangle(x, this.params[base], this.params[base + 1]);
+				break;
+			case SHAPE_GAUSSIAN:
+				d = gaussian(x, this.params[base], this.params[base + 1]);
+				break;
+			default:
+				return this.fallback[index].getMembershipValue(x);
+		}
+		return this.complement[index] ? 1 - d : d;
+	}
+
+	/** 台形型メンバシップ関数．b == cの場合はjfmlの三角型と同一の値を返す */
+	static float trapezoid(float x, float a, float b, float c, float d) {
+		if((x >= b) && (x <= c)) return 1.0f;
+		else if(x <= a) return 0f;
+		else if(x >= d) return 0f;
+		else if(x < b) return (x - a) / (b - a);
+		else return (d - x) / (d - c);
+	}
+
+	/** 矩形型メンバシップ関数 */
+	static float rectangle(float x, float a, float b) {
+		return (x >= a && x <= b) ? 1f : 0f;
+	}
+
+	/** ガウス型メンバシップ関数 */
+	static float gaussian(float x, float c, float sigma) {
+		return (float) Math.exp(-Math.pow(x - c, 2) / (2 * Math.pow(sigma, 2)));
+	}
+
+	/**
+	 * jfmlで評価するファジィ集合を除いた，コンパイルされたファジィ集合の数を返します．
+	 * @return コンパイルされたファジィ集合の数
+	 */
+	public int getNumberOfCompiledFuzzySets() {
+		int count = 0;
+		for(byte s : this.shape) {
+			if(s != SHAPE_FALLBACK) { count++; }
+		}
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return "MembershipEngine [numberOfFuzzySets=" + this.shape.length
+				+ ", compiled=" + this.getNumberOfCompiledFuzzySets() + "]";
+	}
+}
@@ -0,0 +1,333 @@
+package cilabo.fuzzy.knowledge;
+
+import java.util.Objects;
+
+import cilabo.data.ColumnarDataSet;
+import cilabo.data.DataSet;
+import cilabo.data.pattern.Pattern;
+
+/**
+ * 学習用データセットのメンバシップ値テーブル．<br>
+ * Knowledgeのファジィ集合と学習用データセットは実行中に変化しないため，
+ * (次元, ファジィ集合ID, パターン)毎のメンバシップ値を一度だけ計算し，一次元のプリミティブ配列に格納する．<br>
+ * singletonデザインパターンを採用．MembershipTable.getInstance()でインスタンスを呼出し使用．<br>
+ * テーブル構築時のデータセットに含まれないパターン(評価用データ等)はテーブルに格納されていないため，
+ * 呼出し側はcontains(Pattern)で確認した上でKnowledgeによる計算へフォールバックする．<br>
+ * 量子化ビット数を指定して構築した場合は，[0, 1]の属性値をパターン毎・次元毎にbitsビットの符号(byteまたはshort)で保持し，
+ * メンバシップ値はファジィ集合毎に符号で引くルックアップテーブルから返す．
+ * テーブルの大きさは(次元, ファジィ集合ID, パターン)毎のfloatに比べ，パターン数に比例する部分が1/(4×ファジィ集合数)以下となる．
+ * 量子化による誤差は構築時に全ての数値属性値について厳密な評価と比較し，getMaxDeviation()で返す．
+ * @author Takigawa Hiroki
+ */
+public class MembershipTable {
+
+	/** 自分自身のインスタンス */
+	private static MembershipTable instance = new MembershipTable();
+
+	/** 量子化ビット数の下限 */
+	public static final int MIN_QUANTIZATION_BITS = 8;
+	/** 量子化ビット数の上限 */
+	public static final int MAX_QUANTIZATION_BITS = 16;
+
+	/** テーブル構築に用いたパターン配列．パターンの同一性判定に用いる */
+	private Pattern<?>[] patterns;
+	/** メンバシップ値格納配列．[offset[dim] + fuzzySet_id * dataSize + patternIndex] */
+	private float[] membershipValues;
+	/** 各次元の先頭位置 */
+	private int[] offset;
+	/** テーブル構築に用いたデータセットのパターン数 */
+	private int dataSize;
+
+	/** 量子化ビット数．0の場合はメンバシップ値をそのまま格納している */
+	private int bits;
+	/** 8ビット以下で量子化した属性値の符号．[dim * dataSize + patternIndex] */
+	private byte[] byteCodes;
+	/** 9ビット以上で量子化した属性値の符号．[dim * dataSize + patternIndex] */
+	private short[] shortCodes;
+	/** 符号毎のメンバシップ値のルックアップテーブル．[((termOffset[dim] + fuzzySet_id) << bits) | code] */
+	private float[] lookupTable;
+	/** 各次元の先頭のファジィ集合の通し番号 */
+	private int[] termOffset;
+	/** 量子化による厳密な評価からのメンバシップ値の最大誤差 */
+	private double maxDeviation;
+
+	private MembershipTable() {}
+
+	/**
+	 * MembershipTable のインスタンスを取得
+	 * @return MembershipTable
+	 */
+	public static MembershipTable getInstance() {
+		return instance;
+	}
+
+	/**
+	 * 入力されたデータセットについてメンバシップ値テーブルを構築します．Knowledgeが初期化済みである必要がある．<br>
+	 * Builds membership table for given data set. Knowledge must be initialised beforehand.
+	 * @param train テーブルを構築するデータセット．data set to be tabulated
+	 */
+	public void build(DataSet<?> train) {
+		if(Objects.isNull(train)) {
+			throw new IllegalArgumentException("argument [train] is null @" + this.getClass().getSimpleName());}
+		if(this.isBuilt()) {System.err.println("membershipTable was overwrited");}
+
+		Knowledge knowledge = Knowledge.getInstance();
+		MembershipEngine membershipEngine = knowledge.getMembershipEngine();
+		int dimension = knowledge.getNumberOfDimension();
+		int size = train.getPatterns().size();
+
+		int[] offset = new int[dimension + 1];
+		long length = 0;
+		for(int dim = 0; dim < dimension; dim++) {
+			offset[dim] = (int)length;
+			length += (long)knowledge.getFuzzySetNum(dim) * size;
+			if(length > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("membership table is too large @" + this.getClass().getSimpleName());}
+		}
+		offset[dimension] = (int)length;
+
+		Pattern<?>[] patterns = train.getPatterns().toArray(new Pattern<?>[size]);
+		float[] membershipValues = new float[(int)length];
+		for(int dim = 0; dim < dimension; dim++) {
+			float[] column = this.getColumn(train, patterns, dim);
+			int fuzzySetNum = knowledge.getFuzzySetNum(dim);
+			for(int id = 0; id < fuzzySetNum; id++) {
+				int base = offset[dim] + id * size;
+				for(int p = 0; p < size; p++) {
+					float attributeValue = column[p];
+					// categorical 属性値はメンバシップ関数で評価しない
+					if(attributeValue < 0) { continue; }
+					membershipValues[base + p] = membershipEngine.getMembershipValue(dim, id, attributeValue);
+				}
+			}
+		}
+
+		this.clear();
+		this.patterns = patterns;
+		this.membershipValues = membershipValues;
+		this.offset = offset;
+		this.dataSize = size;
+	}
+
+	/**
+	 * 入力されたデータセットについて，属性値をbitsビットに量子化したメンバシップ値テーブルを構築します．
+	 * Knowledgeが初期化済みである必要がある．<br>
+	 * 数値属性値は[0, 1]を2^bits - 1段階に量子化し(範囲外の値は端に丸める)，最大の符号はcategorical属性値に割り当てる．
+	 * ルックアップテーブルの値は各段階の代表値に対するメンバシップ値であり，誤差は段階の幅とメンバシップ関数の傾きに比例する．<br>
+	 * Builds membership table over attribute values quantized to given number of bits.
+	 * @param train テーブルを構築するデータセット．data set to be tabulated
+	 * @param bits 量子化ビット数．0の場合は量子化せずbuild(train)と同じテーブルを構築する
+	 */
+	public void build(DataSet<?> train, int bits) {
+		if(bits == 0) {
+			this.build(train);
+			return;
+		}
+		if(Objects.isNull(train)) {
+			throw new IllegalArgumentException("argument [train] is null @" + this.getClass().getSimpleName());}
+		if(bits < MIN_QUANTIZATION_BITS || MAX_QUANTIZATION_BITS < bits) {
+			throw new IllegalArgumentException("quantization bits must be 0 or in [" + MIN_QUANTIZATION_BITS + ", " + MAX_QUANTIZATION_BITS + "]: " + bits + " @" + this.getClass().getSimpleName());}
+		if(this.isBuilt()) {System.err.println("membershipTable was overwrited");}
+
+		Knowledge knowledge = Knowledge.getInstance();
+		MembershipEngine membershipEngine = knowledge.getMembershipEngine();
+		int dimension = knowledge.getNumberOfDimension();
+		int size = train.getPatterns().size();
+		if((long)dimension * size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("membership table is too large @" + this.getClass().getSimpleName());}
+
+		int[] termOffset = new int[dimension + 1];
+		for(int dim = 0; dim < dimension; dim++) {
+			termOffset[dim + 1] = termOffset[dim] + knowledge.getFuzzySetNum(dim);
+		}
+		if(((long)termOffset[dimension] << bits) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("lookup table is too large @" + this.getClass().getSimpleName());}
+
+		// 符号 0 .. maxCode は属性値 code / maxCode を表し，maxCode + 1はcategorical属性値を表す
+		int maxCode = (1 << bits) - 2;
+		float[] lookupTable = new float[termOffset[dimension] << bits];
+		for(int dim = 0; dim < dimension; dim++) {
+			for(int id = 0; id < knowledge.getFuzzySetNum(dim); id++) {
+				int base = (termOffset[dim] + id) << bits;
+				for(int code = 0; code <= maxCode; code++) {
+					lookupTable[base + code] = membershipEngine.getMembershipValue(dim, id, dequantize(code, maxCode));
+				}
+			}
+		}
+
+		Pattern<?>[] patterns = train.getPatterns().toArray(new Pattern<?>[size]);
+		byte[] byteCodes = bits <= Byte.SIZE ? new byte[dimension * size] : null;
+		short[] shortCodes = bits <= Byte.SIZE ? null : new short[dimension * size];
+		double maxDeviation = 0;
+		for(int dim = 0; dim < dimension; dim++) {
+			float[] column = this.getColumn(train, patterns, dim);
+			int fuzzySetNum = knowledge.getFuzzySetNum(dim);
+			for(int p = 0; p < size; p++) {
+				float attributeValue = column[p];
+				int code = attributeValue < 0 ? maxCode + 1 : quantize(attributeValue, maxCode);
+				if(byteCodes != null) { byteCodes[dim * size + p] = (byte)code; }
+				else { shortCodes[dim * size + p] = (short)code; }
+				// categorical 属性値はメンバシップ関数で評価しない
+				if(attributeValue < 0) { continue; }
+				int base = (termOffset[dim] << bits) | code;
+				for(int id = 0; id < fuzzySetNum; id++) {
+					double deviation = Math.abs(lookupTable[base + (id << bits)] - membershipEngine.getMembershipValue(dim, id, attributeValue));
+					if(deviation > maxDeviation) { maxDeviation = deviation; }
+				}
+			}
+		}
+
+		this.clear();
+		this.patterns = patterns;
+		this.dataSize = size;
+		this.bits = bits;
+		this.byteCodes = byteCodes;
+		this.shortCodes = shortCodes;
+		this.lookupTable = lookupTable;
+		this.termOffset = termOffset;
+		this.maxDeviation = maxDeviation;
+	}
+
+	/** [0, 1]の属性値を最も近い段階の符号に変換する．範囲外の値は端の符号とする
+	 * @param attributeValue 0以上の属性値
+	 * @param maxCode 属性値1に対応する符号
+	 * @return 符号 */
+	static int quantize(float attributeValue, int maxCode) {
+		return (int)Math.round(Math.min(attributeValue, 1.0) * maxCode);
+	}
+
+	/** 符号が表す属性値を返す
+	 * @param code 符号
+	 * @param maxCode 属性値1に対応する符号
+	 * @return 属性値 */
+	static float dequantize(int code, int maxCode) {
+		return (float)((double)code / maxCode);
+	}
+
+	/** 指定された次元の属性値の列をメンバシップ関数の評価と同じfloatで返す．ColumnarDataSetの場合は列から求める
+	 * @param train データセット
+	 * @param patterns データセットのパターン配列
+	 * @param dimension 次元
+	 * @return 属性値の列 */
+	private float[] getColumn(DataSet<?> train, Pattern<?>[] patterns, int dimension) {
+		if(train instanceof ColumnarDataSet) {
+			return ((ColumnarDataSet)train).getFloatColumn(dimension);
+		}
+		float[] column = new float[patterns.length];
+		for(int p = 0; p < patterns.length; p++) {
+			column[p] = patterns[p].getAttributeVector().getAttributeValueAsFloat(dimension);
+		}
+		return column;
+	}
+
+	/**
+	 * 入力されたパターンがテーブル構築時のデータセットに含まれるかを返します．<br>
+	 * Returns true if given pattern was tabulated.
+	 * @param pattern 判定するパターン
+	 * @return テーブルに格納されている場合true
+	 */
+	public boolean contains(Pattern<?> pattern) {
+		if(Objects.isNull(this.patterns)) { return false; }
+		int index = pattern.getID();
+		return 0 <= index && index < this.dataSize && this.patterns[index] == pattern;
+	}
+
+	/**
+	 * テーブルに格納されたメンバシップ値を返します．contains(pattern)がtrueであることが前提．<br>
+	 * Returns tabulated membership value. Requires contains(pattern) to be true.
+	 * @param pattern テーブルに格納されたパターン
+	 * @param dimension ファジィセットの次元．dimension of Fuzzy Set
+	 * @param fuzzySet_id ファジィセットのID．ID of Fuzzy Set
+	 * @return 属性値に対するメンバシップ値
+	 */
+	public double getMembershipValue(Pattern<?> pattern, int dimension, int fuzzySet_id) {
+		if(this.bits == 0) {
+			return this.membershipValues[this.offset[dimension] + fuzzySet_id * this.dataSize + pattern.getID()];
+		}
+		int index = dimension * this.dataSize + pattern.getID();
+		int code = this.byteCodes != null ? this.byteCodes[index] & 0xFF : this.shortCodes[index] & 0xFFFF;
+		return this.lookupTable[((this.termOffset[dimension] + fuzzySet_id) << this.bits) | code];
+	}
+
+	/**
+	 * テーブルに格納された指定された位置のパターンを返します．位置はパターンのIDと一致する．<br>
+	 * Returns tabulated pattern at the specified position, which equals to ID of the pattern.
+	 * @param index 返されるパターンの位置
+	 * @return テーブルに格納されたパターン
+	 */
+	public Pattern<?> getPattern(int index) {
+		return this.patterns[index];
+	}
+
+	/**
+	 * テーブル構築に用いたデータセットのパターン数を返します．
+	 * @return パターン数．未構築の場合は0
+	 */
+	public int getDataSize() {
+		return this.dataSize;
+	}
+
+	/**
+	 * テーブルが構築済みかを返します．
+	 * @return 構築済みの場合true
+	 */
+	public boolean isBuilt() {
+		return !Objects.isNull(this.membershipValues) || !Objects.isNull(this.lookupTable);
+	}
+
+	/**
+	 * 属性値の量子化ビット数を返します．
+	 * @return 量子化ビット数．量子化していない場合は0
+	 */
+	public int getQuantizationBits() {
+		return this.bits;
+	}
+
+	/**
+	 * 量子化したテーブルのメンバシップ値の，学習用データの数値属性値に対する厳密な評価からの最大誤差を返します．<br>
+	 * Returns maximum deviation of quantized membership values from exact evaluation over training patterns.
+	 * @return 最大誤差．量子化していない場合は0
+	 */
+	public double getMaxDeviation() {
+		return this.maxDeviation;
+	}
+
+	/**
+	 * テーブルが保持する配列のバイト数を返します．パターン配列は含まない．
+	 * @return バイト数
+	 */
+	public long getTableBytes() {
+		if(!Objects.isNull(this.membershipValues)) { return (long)this.membershipValues.length * Float.BYTES; }
+		if(!Objects.isNull(this.lookupTable)) {
+			long codeBytes = this.byteCodes != null ? this.byteCodes.length : (long)this.shortCodes.length * Short.BYTES;
+			return codeBytes + (long)this.lookupTable.length * Float.BYTES;
+		}
+		return 0;
+	}
+
+	/** テーブルを初期化します */
+	public void clear() {
+		this.patterns = null;
+		this.membershipValues = null;
+		this.offset = null;
+		this.dataSize = 0;
+		this.bits = 0;
+		this.byteCodes = null;
+		this.shortCodes = null;
+		this.lookupTable = null;
+		this.termOffset = null;
+		this.maxDeviation = 0;
+	}
+
+	@Override
+	public String toString() {
+		if(!this.isBuilt()) { return "MembershipTable [not built]"; }
+		if(this.bits == 0) {
+			return "MembershipTable [dataSize=" + this.dataSize + ", numberOfDimension=" + (this.offset.length - 1)
+					+ ", numberOfEntries=" + this.membershipValues.length + ", tableBytes=" + this.getTableBytes() + "]";
+		}
+		return "MembershipTable [dataSize=" + this.dataSize + ", numberOfDimension=" + (this.termOffset.length - 1)
+				+ ", quantizationBits=" + this.bits + ", tableBytes=" + this.getTableBytes()
+				+ ", maxDeviation=" + this.maxDeviation + "]";
+	}
+}
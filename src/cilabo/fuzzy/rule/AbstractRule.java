@@ -1,5 +1,6 @@
 package cilabo.fuzzy.rule;
 
+import java.util.List;
 import java.util.Objects;
 
 import org.w3c.dom.Element;
@@ -8,6 +9,7 @@ import org.w3c.dom.NodeList;
 import cilabo.data.AttributeVector;
 import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.rule.antecedent.Antecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.antecedent.factory.AntecedentIndexFactory;
 import cilabo.fuzzy.rule.antecedent.factory.impl.HeuristicRuleGenerationMethod;
 import cilabo.fuzzy.rule.consequent.Consequent;
@@ -63,6 +65,11 @@ public abstract class AbstractRule <AntecedentObject extends Antecedent,
 		return this.antecedent.getCompatibleGradeValue(antecedentIndex, attributeVector);
 	}
 
+	@Override
+	public double getCompatibleGradeValue(SparseAntecedentIndex sparseAntecedentIndex, Pattern<?> pattern) {
+		return this.antecedent.getCompatibleGradeValue(sparseAntecedentIndex, pattern);
+	}
+
 	@Override
 	public int getRuleLength(int[] antecedentIndex) {
 		return this.getAntecedent().getRuleLength(antecedentIndex);
@@ -185,5 +192,12 @@ public abstract class AbstractRule <AntecedentObject extends Antecedent,
 			if(Objects.isNull(antecedent)) {throw new IllegalArgumentException("antecedent is null@RuleBuilderCore.learning");}
 			return this.consequentFactory.learning(antecedent, antecedentIndex);
 		}
+
+		@Override
+		public List<ConsequentObject> learning(AntecedentObject antecedent, int[][] antecedentIndex) {
+			if(Objects.isNull(consequentFactory)) {throw new NullPointerException("consequentFactory hasn't been initialised@RuleBuilderCore.learning");}
+			if(Objects.isNull(antecedent)) {throw new IllegalArgumentException("antecedent is null@RuleBuilderCore.learning");}
+			return this.consequentFactory.learning(antecedent, antecedentIndex);
+		}
 	}
 }
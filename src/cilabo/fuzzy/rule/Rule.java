@@ -1,10 +1,13 @@
 package cilabo.fuzzy.rule;
 
+import java.util.List;
+
 import org.w3c.dom.Element;
 
 import cilabo.data.AttributeVector;
 import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.rule.antecedent.Antecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.consequent.Consequent;
 import cilabo.fuzzy.rule.consequent.classLabel.ClassLabel;
 import cilabo.fuzzy.rule.consequent.ruleWeight.RuleWeight;
@@ -33,6 +36,12 @@ public interface Rule<
 	 * @return ルールの適合度 */
 	public double getFitnessValue(int[] antecedentIndex, AttributeVector inputVector);
 
+	/** 前件部の疎な表現とパターンを受け取り，入力パターンに対するルールの適合度を返す
+	 * @param sparseAntecedentIndex 識別に用いる遺伝子情報．前件部のファジィセットのインデックス配列の疎な表現
+	 * @param pattern 識別対象となるパターン
+	 * @return ルールの適合度 */
+	public double getFitnessValue(SparseAntecedentIndex sparseAntecedentIndex, Pattern<?> pattern);
+
 	/** Antecedentオブジェクトを取得
 	 * @return Antecedentオブジェクト */
 	public AntecedentObject getAntecedent();
@@ -80,6 +89,11 @@ public interface Rule<
 		 * @return 生成されたRuleオブジェクト */
 		public RuleObject createConsequent(int[] antecedentIndex);
 
+		/** 入力された複数の遺伝子情報を基にRuleオブジェクトをまとめて生成する．後件部の学習は一括で行われる
+		 * @param antecedentIndex 生成に用いる遺伝子情報の配列
+		 * @return 生成されたRuleオブジェクトのリスト．antecedentIndexと同じ順に並ぶ */
+		public List<RuleObject> createConsequent(int[][] antecedentIndex);
+
 		/** 入力されたElementを基にRuleオブジェクトを複数生成する
 		 * @param michiganSolution 生成に用いるElement
 		 * @return 生成されたRuleオブジェクトの配列*/
@@ -91,6 +105,12 @@ public interface Rule<
 		 * @return 生成された後件部 */
 		public ConsequentObject learning(AntecedentObject antecedent, int[] antecedentIndex);
 
+		/** 入力された複数の遺伝子情報と前件部オブジェクトを基に後件部オブジェクトをまとめて生成する
+		 * @param antecedent 前件部オブジェクト
+		 * @param antecedentIndex 遺伝子情報の配列
+		 * @return 生成された後件部のリスト．antecedentIndexと同じ順に並ぶ */
+		public List<ConsequentObject> learning(AntecedentObject antecedent, int[][] antecedentIndex);
+
 		public RuleBuilder<RuleObject,
 			AntecedentObject,
 			ConsequentObject> copy();
@@ -27,4 +27,24 @@ public abstract class AbstractAntecedent implements Antecedent{
 	protected FuzzyTermType getFuzzySet(int dimension, int antecedentIndex) {
 		return Knowledge.getInstance().getFuzzySet(dimension, antecedentIndex);
 	}
+
+	/** 入力された次元とファジィセットのインデックスに対応するファジィセットの属性値に対するメンバシップ値を返す．
+	 * jfmlのFuzzyTermを経由せず，KnowledgeのMembershipEngineで評価する
+	 * @param dimension 遺伝子情報に対応する次元
+	 * @param antecedentIndex ファジィセットのインデックス
+	 * @param attributeValue 属性値
+	 * @return メンバシップ値 */
+	protected double getMembershipValue(int dimension, int antecedentIndex, double attributeValue) {
+		return Knowledge.getInstance().getMembershipValue(attributeValue, dimension, antecedentIndex);
+	}
+
+	/** 入力された次元とファジィセットのインデックスに対応するファジィセットのfloatの属性値に対するメンバシップ値を返す．
+	 * @param dimension 遺伝子情報に対応する次元
+	 * @param antecedentIndex ファジィセットのインデックス
+	 * @param attributeValue 属性値
+	 * @return メンバシップ値
+	 * @see cilabo.data.AttributeVector#getAttributeValueAsFloat(int) */
+	protected double getMembershipValue(int dimension, int antecedentIndex, float attributeValue) {
+		return Knowledge.getInstance().getMembershipValue(attributeValue, dimension, antecedentIndex);
+	}
 }
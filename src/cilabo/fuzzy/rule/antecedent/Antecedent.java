@@ -3,6 +3,7 @@ package cilabo.fuzzy.rule.antecedent;
 import org.w3c.dom.Element;
 
 import cilabo.data.AttributeVector;
+import cilabo.data.pattern.Pattern;
 
 /**
  * 前件部のメソッド群定義．但し，遺伝子情報は持たないので注意
@@ -23,6 +24,14 @@ public interface Antecedent {
 	 * @return メンバシップ値 */
 	public double getCompatibleGradeValue(int[] antecedentIndex, AttributeVector attributeVector);
 
+	/** 前件部の疎な表現とパターンを受け取り，入力パターンの属性値に対するメンバシップ値の最終演算結果を返す．
+	 * パターンがMembershipTableに格納されている場合はテーブルの値を用いる
+	 * @param sparseAntecedentIndex 識別に用いる遺伝子情報．前件部のファジィセットのインデックス配列の疎な表現
+	 * @param pattern 識別対象となるパターン
+	 * @return メンバシップ値
+	 * @see cilabo.fuzzy.knowledge.MembershipTable */
+	public double getCompatibleGradeValue(SparseAntecedentIndex sparseAntecedentIndex, Pattern<?> pattern);
+
 	/** 遺伝子情報を受け取り，ルール長を返す
 	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
 	 * @return 算出されたルール長 */
@@ -0,0 +1,88 @@
+package cilabo.fuzzy.rule.antecedent;
+
+import java.util.Arrays;
+
+/**
+ * 前件部のファジィセットのインデックス配列の疎な表現．<br>
+ * don't care(ID=0)以外の次元とそのファジィセットのIDのみを保持する．不変オブジェクトであり，複数のルールで共有できる．<br>
+ * sparse view of antecedent index which holds only dimensions that are not don't care.
+ * @author Takigawa Hiroki
+ */
+public final class SparseAntecedentIndex {
+
+	/** don't care以外の次元．昇順 */
+	private final int[] dimensions;
+	/** dimensionsに対応するファジィセットのID */
+	private final int[] fuzzySetIDs;
+	/** 元の前件部の次元数 */
+	private final int numberOfDimension;
+
+	private SparseAntecedentIndex(int[] dimensions, int[] fuzzySetIDs, int numberOfDimension) {
+		this.dimensions = dimensions;
+		this.fuzzySetIDs = fuzzySetIDs;
+		this.numberOfDimension = numberOfDimension;
+	}
+
+	/** 前件部のファジィセットのインデックス配列から疎な表現を生成する
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
+	 * @return 生成された疎な表現 */
+	public static SparseAntecedentIndex of(int[] antecedentIndex) {
+		int length = 0;
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			if(antecedentIndex[i] != 0) { length++; }
+		}
+		int[] dimensions = new int[length];
+		int[] fuzzySetIDs = new int[length];
+		int k = 0;
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			if(antecedentIndex[i] != 0) {
+				dimensions[k] = i;
+				fuzzySetIDs[k] = antecedentIndex[i];
+				k++;
+			}
+		}
+		return new SparseAntecedentIndex(dimensions, fuzzySetIDs, antecedentIndex.length);
+	}
+
+	/** don't care以外の次元の個数．ルール長を返す
+	 * @return don't care以外の次元の個数 */
+	public int size() {
+		return this.dimensions.length;
+	}
+
+	/** k番目のdon't care以外の次元を返す
+	 * @param k インデックス
+	 * @return 次元 */
+	public int getDimension(int k) {
+		return this.dimensions[k];
+	}
+
+	/** k番目のdon't care以外の次元のファジィセットのIDを返す
+	 * @param k インデックス
+	 * @return ファジィセットのID */
+	public int getFuzzySetID(int k) {
+		return this.fuzzySetIDs[k];
+	}
+
+	/** 元の前件部の次元数を返す
+	 * @return 次元数 */
+	public int getNumberOfDimension() {
+		return this.numberOfDimension;
+	}
+
+	/** 前件部のファジィセットのインデックス配列に戻して返す
+	 * @return 前件部のファジィセットのインデックス配列 */
+	public int[] toArray() {
+		int[] antecedentIndex = new int[this.numberOfDimension];
+		for(int k = 0; k < this.dimensions.length; k++) {
+			antecedentIndex[this.dimensions[k]] = this.fuzzySetIDs[k];
+		}
+		return antecedentIndex;
+	}
+
+	@Override
+	public String toString() {
+		return "SparseAntecedentIndex [dimensions=" + Arrays.toString(this.dimensions)
+				+ ", fuzzySetIDs=" + Arrays.toString(this.fuzzySetIDs) + "]";
+	}
+}
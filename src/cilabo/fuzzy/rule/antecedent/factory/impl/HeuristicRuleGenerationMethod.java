@@ -79,7 +79,7 @@ public final class HeuristicRuleGenerationMethod implements AntecedentIndexFacto
 			double sumMembershipValue = 0;
 			membershipValueRoulette[0] = 0;
 			for(int h = 0; h < fuzzySetNum; h++) {
-				sumMembershipValue += Knowledge.getInstance().getMembershipValue(vector[n], n, h+1);
+				sumMembershipValue += Knowledge.getInstance().getMembershipValue(pattern, n, h+1);
 				membershipValueRoulette[h] = sumMembershipValue;
 			}
 
@@ -1,11 +1,13 @@
 package cilabo.fuzzy.rule.antecedent.impl;
 
-import java.util.Arrays;
-
 import org.w3c.dom.Element;
 
 import cilabo.data.AttributeVector;
+import cilabo.data.pattern.Pattern;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.rule.antecedent.AbstractAntecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
+import cilabo.main.Consts;
 import xml.XML_TagName;
 import xml.XML_manager;
 
@@ -22,13 +24,14 @@ public final class Antecedent_Basic extends AbstractAntecedent{
 			throw new IllegalArgumentException("antecedentIndex and pattern must be same length");
 		}else {
 			for(int i = 0; i < attributeVector.getNumberOfDimension(); i++) {
-				if(antecedentIndex[i] < 0 && attributeVector.getAttributeValue(i) < 0) {
+				float attributeValue = attributeVector.getAttributeValueAsFloat(i);
+				if(antecedentIndex[i] < 0 && attributeValue < 0) {
 					// categorical
-					if(antecedentIndex[i] == (int)attributeVector.getAttributeValue(i)) grade[i] = 1.0;
+					if(antecedentIndex[i] == (int)attributeValue) grade[i] = 1.0;
 					else grade[i] = 0.0;
-				}else if(antecedentIndex[i] > 0 && attributeVector.getAttributeValue(i) >= 0){
+				}else if(antecedentIndex[i] > 0 && attributeValue >= 0){
 					// numerical
-					grade[i] = this.getFuzzySet(i, antecedentIndex[i]).getMembershipValue((float)attributeVector.getAttributeValue(i));
+					grade[i] = this.getMembershipValue(i, antecedentIndex[i], attributeValue);
 				}else if(antecedentIndex[i] == 0) {
 					//don't care
 					grade[i] = 1.0;
@@ -40,17 +43,96 @@ public final class Antecedent_Basic extends AbstractAntecedent{
 		return grade;
 	}
 
+	/** メンバシップ値の積を配列を生成せずに計算する．<br>
+	 * don't careの次元は読み飛ばし，積が0となった時点で打ち切る．*/
 	@Override
 	public double getCompatibleGradeValue(int[] antecedentIndex, AttributeVector attributeVector) {
 		if(antecedentIndex.length != attributeVector.getNumberOfDimension()) {
 			throw new IllegalArgumentException("antecedentIndex and pattern must be same length");
 		}
 
-		double[] buf = this.getCompatibleGrade(antecedentIndex, attributeVector);
-		double grade = Arrays.stream(buf).reduce(1, (multi, i) -> multi*i);
+		double grade = 1;
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			int fuzzySet_id = antecedentIndex[i];
+			if(fuzzySet_id == 0) {
+				//don't care
+				continue;
+			}
+			grade *= this.getMembershipValue(i, fuzzySet_id, attributeVector.getAttributeValueAsFloat(i), null);
+			if(grade == 0) { break; }
+		}
+
+		if(Consts.CHECK_COMPATIBLE_GRADE) { this.checkCompatibleGradeValue(grade, antecedentIndex, attributeVector); }
+		return grade;
+	}
+
+	/** メンバシップ値の積をdon't care以外の次元のみ走査して計算する．<br>
+	 * パターンがMembershipTableに格納されている場合はテーブルの値を用いる．積が0となった時点で打ち切る．*/
+	@Override
+	public double getCompatibleGradeValue(SparseAntecedentIndex sparseAntecedentIndex, Pattern<?> pattern) {
+		AttributeVector attributeVector = pattern.getAttributeVector();
+		if(sparseAntecedentIndex.getNumberOfDimension() != attributeVector.getNumberOfDimension()) {
+			throw new IllegalArgumentException("antecedentIndex and pattern must be same length");
+		}
+		Pattern<?> tabulatedPattern = MembershipTable.getInstance().contains(pattern) ? pattern : null;
+
+		double grade = 1;
+		for(int k = 0; k < sparseAntecedentIndex.size(); k++) {
+			int dimension = sparseAntecedentIndex.getDimension(k);
+			grade *= this.getMembershipValue(dimension, sparseAntecedentIndex.getFuzzySetID(k),
+					attributeVector.getAttributeValueAsFloat(dimension), tabulatedPattern);
+			if(grade == 0) { break; }
+		}
+
+		// 量子化したテーブルの値は厳密な評価と一致しないため照合しない
+		if(Consts.CHECK_COMPATIBLE_GRADE && (tabulatedPattern == null || MembershipTable.getInstance().getQuantizationBits() == 0)) {
+			this.checkCompatibleGradeValue(grade, sparseAntecedentIndex.toArray(), attributeVector);
+		}
 		return grade;
 	}
 
+	/** don't care以外の次元について，属性値に対するメンバシップ値を返す
+	 * @param dimension 次元
+	 * @param fuzzySet_id ファジィセットのID．0以外
+	 * @param attributeValue 属性値．メンバシップ関数の評価と同じfloatの精度
+	 * @param tabulatedPattern MembershipTableに格納されたパターン．nullの場合はKnowledgeのMembershipEngineで計算する
+	 * @return メンバシップ値 */
+	private double getMembershipValue(int dimension, int fuzzySet_id, float attributeValue, Pattern<?> tabulatedPattern) {
+		if(fuzzySet_id < 0 && attributeValue < 0) {
+			// categorical
+			return fuzzySet_id == (int)attributeValue ? 1.0 : 0.0;
+		}else if(fuzzySet_id > 0 && attributeValue >= 0){
+			// numerical
+			if(tabulatedPattern == null) {
+				return this.getMembershipValue(dimension, fuzzySet_id, attributeValue);
+			}
+			return MembershipTable.getInstance().getMembershipValue(tabulatedPattern, dimension, fuzzySet_id);
+		}else {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/** 計算結果をjfmlのFuzzyTermで評価したメンバシップ値の積と照合する(デバッグ用)．<br>
+	 * getCompatibleGradeはMembershipEngineを用いるため，照合にはKnowledgeのファジィセットを直接評価する
+	 * @param grade 照合する計算結果
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
+	 * @param attributeVector 属性値クラス */
+	private void checkCompatibleGradeValue(double grade, int[] antecedentIndex, AttributeVector attributeVector) {
+		double expected = 1;
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			float attributeValue = attributeVector.getAttributeValueAsFloat(i);
+			if(antecedentIndex[i] > 0 && attributeValue >= 0) {
+				// numerical
+				expected *= this.getFuzzySet(i, antecedentIndex[i]).getMembershipValue(attributeValue);
+			}else if(antecedentIndex[i] != 0) {
+				expected *= this.getMembershipValue(i, antecedentIndex[i], attributeValue, null);
+			}
+		}
+		if(Double.compare(expected, grade) != 0) {
+			throw new ArithmeticException("compatible grade mismatch: expected=" + expected + ", actual=" + grade + " @" + this.getClass().getSimpleName());
+		}
+	}
+
 	@Override
 	public int getRuleLength(int[] antecedentIndex) {
 		int length = 0;
@@ -0,0 +1,203 @@
+package cilabo.fuzzy.rule.consequent.factory;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import cilabo.fuzzy.rule.consequent.Consequent;
+import cilabo.main.Consts;
+
+/**
+ * 前件部のファジィセットのインデックス配列をキーとして，学習済みの後件部を保持するLRUキャッシュ．<br>
+ * 後件部は前件部と学習用データから一意に決まるため，同一の前件部に対する学習でデータセットを走査しない．
+ * 保持数の上限はConsts.CONSEQUENT_CACHE_SIZEであり，超過した場合は最も古く参照された後件部を破棄する．<br>
+ * スレッドセーフであり，ParallelのForkJoinPool上から呼び出してよい．学習自体はロック外で行うため，
+ * 同一の前件部を同時に学習した場合は重複して計算されることがある．<br>
+ * LRU cache of learned consequents keyed by antecedent index.
+ * @author Takigawa Hiroki
+ *
+ * @param <ConsequentObject> 保持する後件部クラス
+ */
+public final class ConsequentCache <ConsequentObject extends Consequent<?, ?, ?, ?>>{
+
+	/** 前件部をキーとする後件部の格納マップ．参照順に並ぶ */
+	private final Map<Key, ConsequentObject> map;
+	/** キャッシュから後件部を返した回数 */
+	private final LongAdder hits = new LongAdder();
+	/** 後件部を学習した回数 */
+	private final LongAdder misses = new LongAdder();
+
+	/** コンストラクタ．保持数の上限はConsts.CONSEQUENT_CACHE_SIZEを用いる */
+	public ConsequentCache() {
+		this.map = new LinkedHashMap<Key, ConsequentObject>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, ConsequentObject> eldest) {
+				return this.size() > Consts.CONSEQUENT_CACHE_SIZE;
+			}
+		};
+	}
+
+	/**
+	 * キャッシュが有効かを返します．
+	 * @return Consts.CONSEQUENT_CACHE_SIZEが正の場合true
+	 */
+	public boolean isEnabled() {
+		return Consts.CONSEQUENT_CACHE_SIZE > 0;
+	}
+
+	/**
+	 * 前件部に対する後件部を返します．保持していない場合はlearningにより学習して保持する．<br>
+	 * 返される後件部は保持している後件部のコピーであり，変更してよい．<br>
+	 * Returns consequent for given antecedent, learning it when absent.
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
+	 * @param limit 生成不可能と判断する際に用いるルールの信頼度の下限
+	 * @param learning 後件部を学習する関数
+	 * @return 後件部
+	 */
+	public ConsequentObject get(int[] antecedentIndex, double limit, Supplier<ConsequentObject> learning) {
+		if(!this.isEnabled()) {
+			return learning.get();
+		}
+		ConsequentObject consequent = this.lookup(antecedentIndex, limit);
+		if(Objects.isNull(consequent)) {
+			consequent = learning.get();
+			this.put(antecedentIndex, limit, consequent);
+		}
+		return consequent;
+	}
+
+	/**
+	 * 前件部に対する後件部を保持している場合はそのコピーを返します．ヒット数またはミス数を記録する．<br>
+	 * Returns copy of cached consequent for given antecedent, or null when absent.
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
+	 * @param limit 生成不可能と判断する際に用いるルールの信頼度の下限
+	 * @return 後件部のコピー．保持していない場合，またはキャッシュが無効な場合はnull
+	 */
+	@SuppressWarnings("unchecked")
+	public ConsequentObject lookup(int[] antecedentIndex, double limit) {
+		if(Objects.isNull(antecedentIndex)) {
+			throw new IllegalArgumentException("argument [antecedentIndex] is null @" + this.getClass().getSimpleName());}
+		if(!this.isEnabled()) {
+			return null;
+		}
+
+		ConsequentObject consequent;
+		synchronized(this.map) {
+			consequent = this.map.get(new Key(antecedentIndex, limit));
+		}
+		if(Objects.isNull(consequent)) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		return (ConsequentObject) consequent.copy();
+	}
+
+	/**
+	 * 前件部に対する学習済みの後件部を保持します．保持されるのは後件部のコピーである．<br>
+	 * Stores copy of learned consequent for given antecedent.
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
+	 * @param limit 生成不可能と判断する際に用いるルールの信頼度の下限
+	 * @param consequent 学習済みの後件部
+	 */
+	@SuppressWarnings("unchecked")
+	public void put(int[] antecedentIndex, double limit, ConsequentObject consequent) {
+		if(Objects.isNull(antecedentIndex)) {
+			throw new IllegalArgumentException("argument [antecedentIndex] is null @" + this.getClass().getSimpleName());}
+		if(!this.isEnabled() || Objects.isNull(consequent)) {
+			return;
+		}
+		Key key = new Key(antecedentIndex, limit);
+		ConsequentObject stored = (ConsequentObject) consequent.copy();
+		synchronized(this.map) {
+			this.map.put(key, stored);
+		}
+	}
+
+	/**
+	 * キャッシュから後件部を返した回数を返します．
+	 * @return ヒット数
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * 後件部を学習した回数を返します．
+	 * @return ミス数
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * ヒット率を返します．
+	 * @return ヒット率．一度も参照されていない場合は0
+	 */
+	public double getHitRate() {
+		long hits = this.getHits();
+		long total = hits + this.getMisses();
+		return total == 0 ? 0 : hits / (double)total;
+	}
+
+	/**
+	 * 保持している後件部の数を返します．
+	 * @return 保持数
+	 */
+	public int size() {
+		synchronized(this.map) {
+			return this.map.size();
+		}
+	}
+
+	/** 保持している後件部と統計を初期化します */
+	public void clear() {
+		synchronized(this.map) {
+			this.map.clear();
+		}
+		this.hits.reset();
+		this.misses.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ConsequentCache [capacity=%d, size=%d, hits=%d, misses=%d, hitRate=%.4f]",
+				Consts.CONSEQUENT_CACHE_SIZE, this.size(), this.getHits(), this.getMisses(), this.getHitRate());
+	}
+
+	/** 前件部のインデックス配列と信頼度の下限からなるキー */
+	private static final class Key {
+		/** 前件部のファジィセットのインデックス配列のコピー */
+		private final int[] antecedentIndex;
+		/** 生成不可能と判断する際に用いるルールの信頼度の下限 */
+		private final double limit;
+		/** ハッシュ値 */
+		private final int hash;
+
+		private Key(int[] antecedentIndex, double limit) {
+			this.antecedentIndex = Arrays.copyOf(antecedentIndex, antecedentIndex.length);
+			this.limit = limit;
+			this.hash = 31 * Arrays.hashCode(this.antecedentIndex) + Double.hashCode(limit);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) { return true; }
+			if(!(obj instanceof Key)) { return false; }
+			Key other = (Key) obj;
+			return this.hash == other.hash
+					&& Double.compare(this.limit, other.limit) == 0
+					&& Arrays.equals(this.antecedentIndex, other.antecedentIndex);
+		}
+	}
+}
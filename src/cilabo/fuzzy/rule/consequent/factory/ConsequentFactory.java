@@ -1,5 +1,7 @@
 package cilabo.fuzzy.rule.consequent.factory;
 
+import java.util.List;
+
 import cilabo.fuzzy.rule.antecedent.Antecedent;
 import cilabo.fuzzy.rule.consequent.Consequent;
 
@@ -31,5 +33,21 @@ public interface ConsequentFactory <ConsequentObject extends Consequent<?, ?, ?,
 	 */
 	public ConsequentObject learning(Antecedent antecedent, int[] antecedentIndex, double limit);
 
+	/**複数の前件部から後件部をまとめて生成する．学習用データの走査は前件部の数によらず1回となる<br>
+	 * 但し，生成不可能と判断する際に用いるルールの信頼度の下限はデフォルトの値を使用する．
+	 * @param antecedent 前件部
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列の配列
+	 * @return 生成された後件部のリスト．antecedentIndexと同じ順に並ぶ
+	 */
+	public List<ConsequentObject> learning(Antecedent antecedent, int[][] antecedentIndex);
+
+	/**複数の前件部から後件部をまとめて生成する．学習用データの走査は前件部の数によらず1回となる
+	 * @param antecedent 前件部
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列の配列
+	 * @param limit 生成不可能と判断する際に用いるルールの信頼度の下限
+	 * @return 生成された後件部のリスト．antecedentIndexと同じ順に並ぶ
+	 */
+	public List<ConsequentObject> learning(Antecedent antecedent, int[][] antecedentIndex, double limit);
+
 	public ConsequentFactory <ConsequentObject> copy();
 }
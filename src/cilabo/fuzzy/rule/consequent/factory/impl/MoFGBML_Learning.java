@@ -1,14 +1,17 @@
 package cilabo.fuzzy.rule.consequent.factory.impl;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
 
 import cilabo.data.DataSet;
 import cilabo.data.pattern.impl.Pattern_Basic;
 import cilabo.fuzzy.rule.antecedent.Antecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+import cilabo.fuzzy.rule.consequent.factory.ConsequentCache;
 import cilabo.fuzzy.rule.consequent.factory.ConsequentFactory;
 import cilabo.fuzzy.rule.consequent.impl.Consequent_Basic;
 import cilabo.fuzzy.rule.consequent.ruleWeight.impl.RuleWeight_Basic;
@@ -21,23 +24,35 @@ public final class MoFGBML_Learning implements ConsequentFactory <Consequent_Bas
 	/**	生成不可能と判断するルールの重みの下限 */
 	protected double defaultLimit = 0;
 
+	/** 並列に部分和を求める際の1チャンクあたりのパターン数 */
+	private static final int CHUNK_SIZE = 1024;
+
 	/** 学習に用いるデータセット*/
 	protected DataSet<Pattern_Basic> train;
 
+	/** 前件部をキーとする学習済み後件部のキャッシュ．コピー間で共有される */
+	protected final ConsequentCache<Consequent_Basic> consequentCache;
+
 	/**コンストラクタ
 	 * @param train 生成時に用いる学習用データ */
 	public MoFGBML_Learning(DataSet<Pattern_Basic> train) {
+		this(train, new ConsequentCache<>());
+	}
+
+	/**コンストラクタ
+	 * @param train 生成時に用いる学習用データ
+	 * @param consequentCache 共有する学習済み後件部のキャッシュ */
+	private MoFGBML_Learning(DataSet<Pattern_Basic> train, ConsequentCache<Consequent_Basic> consequentCache) {
 		this.train = train;
+		this.consequentCache = consequentCache;
 	}
 
 	@Override
 	public Consequent_Basic learning(Antecedent antecedent, int[] antecedentIndex, double limit) {
-		double[] confidence = this.calcConfidence(antecedent, antecedentIndex);
-		ClassLabel_Basic classLabel = this.calcClassLabel(confidence);
-		RuleWeight_Basic ruleWeight = this.calcRuleWeight(classLabel, confidence, limit);
-
-		Consequent_Basic consequent = new Consequent_Basic(classLabel, ruleWeight);
-		return consequent;
+		return this.consequentCache.get(antecedentIndex, limit, () -> {
+			double[] confidence = this.calcConfidence(antecedent, antecedentIndex);
+			return this.createConsequent(confidence, limit);
+		});
 	}
 
 	@Override
@@ -45,37 +60,70 @@ public final class MoFGBML_Learning implements ConsequentFactory <Consequent_Bas
 		return this.learning(antecedent, antecedentIndex, defaultLimit);
 	}
 
+	@Override
+	public List<Consequent_Basic> learning(Antecedent antecedent, int[][] antecedentIndex, double limit) {
+		Consequent_Basic[] consequents = new Consequent_Basic[antecedentIndex.length];
+
+		// キャッシュに無い前件部のみをまとめて学習する
+		int[] unlearned = new int[antecedentIndex.length];
+		int numberOfUnlearned = 0;
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			consequents[i] = this.consequentCache.lookup(antecedentIndex[i], limit);
+			if(Objects.isNull(consequents[i])) {
+				unlearned[numberOfUnlearned++] = i;
+			}
+		}
+		if(numberOfUnlearned == 0) {
+			return Arrays.asList(consequents);
+		}
+
+		SparseAntecedentIndex[] sparseAntecedentIndex = new SparseAntecedentIndex[numberOfUnlearned];
+		for(int k = 0; k < numberOfUnlearned; k++) {
+			sparseAntecedentIndex[k] = SparseAntecedentIndex.of(antecedentIndex[unlearned[k]]);
+		}
+		double[][] sumCompatibleGrade = this.calcSumCompatibleGrade(antecedent, sparseAntecedentIndex);
+		for(int k = 0; k < numberOfUnlearned; k++) {
+			int i = unlearned[k];
+			consequents[i] = this.createConsequent(this.calcConfidence(sumCompatibleGrade[k]), limit);
+			this.consequentCache.put(antecedentIndex[i], limit, consequents[i]);
+		}
+		return Arrays.asList(consequents);
+	}
+
+	@Override
+	public List<Consequent_Basic> learning(Antecedent antecedent, int[][] antecedentIndex) {
+		return this.learning(antecedent, antecedentIndex, defaultLimit);
+	}
+
+	/** 信頼度から後件部を生成する
+	 * @param confidence クラス別信頼度
+	 * @param limit 生成不可能ルール判定用ルール重み下限値
+	 * @return 生成された後件部 */
+	private Consequent_Basic createConsequent(double[] confidence, double limit) {
+		ClassLabel_Basic classLabel = this.calcClassLabel(confidence);
+		RuleWeight_Basic ruleWeight = this.calcRuleWeight(classLabel, confidence, limit);
+
+		Consequent_Basic consequent = new Consequent_Basic(classLabel, ruleWeight);
+		return consequent;
+	}
+
 	public double[] calcConfidence(Antecedent antecedent, int[] antecedentIndex) {
 		if(Objects.isNull(antecedentIndex)){
 			System.out.print("antecedentIndex i null@" + this.getClass().getSimpleName());
 		}
-		int Cnum = train.getCnum();
-		double[] confidence = new double[Cnum];
+		SparseAntecedentIndex sparseAntecedentIndex = SparseAntecedentIndex.of(antecedentIndex);
 
-		// 各クラスのパターンに対する適合度の総和
-		double[] sumCompatibleGradeForEachClass = new double[Cnum];
-
-		for(int c = 0; c < Cnum; c++) {
-			final Integer CLASSNUM = c;
-			Optional<Double> partSum = null;
-			try {
-				partSum = Parallel.getInstance().getLearningForkJoinPool().submit( () ->
-					train.getPatterns().parallelStream()
-						// 正解クラスが「CLASS == c」のパターンを抽出
-						.filter(pattern -> pattern.getTargetClass().equalsClassLabel(CLASSNUM))
-						// 各パターンの入力ベクトルを抽出
-						.map(pattern -> pattern.getAttributeVector())
-						// 各入力ベクトルとantecedentのcompatible gradeを計算
-						.map(attributeVector -> antecedent.getCompatibleGradeValue(antecedentIndex, attributeVector))
-						// compatible gradeを総和する
-						.reduce( (sum, grade) -> sum+grade)
-				).get();
-			}catch (InterruptedException | ExecutionException e) {
-				System.err.print(e);
-				throw new IllegalArgumentException(e + " @" + this.getClass().getSimpleName());
-			}
-			sumCompatibleGradeForEachClass[c] = partSum.orElse(0.0);
-		}
+		// 各クラスのパターンに対する適合度の総和 (全クラス分を学習用データの1回の走査で求める)
+		double[] sumCompatibleGradeForEachClass = this.calcSumCompatibleGrade(antecedent, sparseAntecedentIndex);
+		return this.calcConfidence(sumCompatibleGradeForEachClass);
+	}
+
+	/** クラス毎の適合度の総和からクラス別信頼度を求める
+	 * @param sumCompatibleGradeForEachClass クラス毎の適合度の総和
+	 * @return クラス別信頼度 */
+	private double[] calcConfidence(double[] sumCompatibleGradeForEachClass) {
+		int Cnum = sumCompatibleGradeForEachClass.length;
+		double[] confidence = new double[Cnum];
 
 		// 全パターンに対する適合度の総和
 		double allSum = Arrays.stream(sumCompatibleGradeForEachClass).sum();
@@ -87,6 +135,81 @@ public final class MoFGBML_Learning implements ConsequentFactory <Consequent_Bas
 		return confidence;
 	}
 
+	/** 学習用データを一度だけ走査し，クラス毎のパターンに対する適合度の総和を求める．
+	 * @param antecedent 前件部
+	 * @param sparseAntecedentIndex 前件部のファジィセットのインデックス配列の疎な表現
+	 * @return クラス毎の適合度の総和
+	 * @see #calcSumCompatibleGrade(Antecedent, SparseAntecedentIndex[]) */
+	public double[] calcSumCompatibleGrade(Antecedent antecedent, SparseAntecedentIndex sparseAntecedentIndex) {
+		return this.calcSumCompatibleGrade(antecedent, new SparseAntecedentIndex[] {sparseAntecedentIndex})[0];
+	}
+
+	/** 学習用データを一度だけ走査し，複数の前件部それぞれについてクラス毎のパターンに対する適合度の総和を求める．<br>
+	 * 学習用データを固定長のチャンク(タイル)に分割し，チャンク毎に全ての前件部の部分和を求めることで，
+	 * 各パターンの読み込みを前件部の数によらず1回とする．
+	 * パターン数がCHUNK_SIZEを超える場合はチャンク毎の部分和をForkJoinPool上で並列に求め，チャンクの順に足し合わせる．
+	 * 分割はスレッド数及び前件部の数に依存しないため，結果は並列数によらず，また前件部を1つずつ学習した場合と一致する．
+	 * @param antecedent 前件部
+	 * @param sparseAntecedentIndex 前件部のファジィセットのインデックス配列の疎な表現の配列
+	 * @return [前件部][クラス]毎の適合度の総和 */
+	public double[][] calcSumCompatibleGrade(Antecedent antecedent, SparseAntecedentIndex[] sparseAntecedentIndex) {
+		int size = train.getPatterns().size();
+		if(size <= CHUNK_SIZE) {
+			return this.accumulateCompatibleGrade(antecedent, sparseAntecedentIndex, 0, size);
+		}
+
+		int numberOfChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		double[][][] partSum = new double[numberOfChunks][][];
+		try {
+			Parallel.getInstance().getLearningForkJoinPool().submit( () ->
+				IntStream.range(0, numberOfChunks).parallel()
+					.forEach(k -> partSum[k] = this.accumulateCompatibleGrade(antecedent, sparseAntecedentIndex,
+							k * CHUNK_SIZE, Math.min(size, (k + 1) * CHUNK_SIZE)))
+			).get();
+		}catch (InterruptedException | ExecutionException e) {
+			System.err.print(e);
+			throw new IllegalArgumentException(e + " @" + this.getClass().getSimpleName());
+		}
+
+		double[][] sumCompatibleGrade = partSum[0];
+		for(int k = 1; k < numberOfChunks; k++) {
+			for(int r = 0; r < sumCompatibleGrade.length; r++) {
+				for(int c = 0; c < sumCompatibleGrade[r].length; c++) {
+					sumCompatibleGrade[r][c] += partSum[k][r][c];
+				}
+			}
+		}
+		return sumCompatibleGrade;
+	}
+
+	/** 指定された範囲のパターンについて，前件部毎にクラス毎の適合度の総和を求める
+	 * @param antecedent 前件部
+	 * @param sparseAntecedentIndex 前件部のファジィセットのインデックス配列の疎な表現の配列
+	 * @param from 範囲の先頭のパターン位置 (この位置を含む)
+	 * @param to 範囲の末尾のパターン位置 (この位置を含まない)
+	 * @return [前件部][クラス]毎の適合度の総和 */
+	private double[][] accumulateCompatibleGrade(Antecedent antecedent, SparseAntecedentIndex[] sparseAntecedentIndex, int from, int to) {
+		int Cnum = train.getCnum();
+		Pattern_Basic[] patterns = new Pattern_Basic[to - from];
+		int[] classLabels = new int[to - from];
+		for(int p = from; p < to; p++) {
+			patterns[p - from] = train.getPattern(p);
+			classLabels[p - from] = patterns[p - from].getTargetClass().getClassLabelValue();
+		}
+
+		double[][] sum = new double[sparseAntecedentIndex.length][Cnum];
+		for(int r = 0; r < sparseAntecedentIndex.length; r++) {
+			for(int p = 0; p < patterns.length; p++) {
+				int c = classLabels[p];
+				// 正解クラスが結論部クラスの範囲外のパターンは集計しない
+				if(c < 0 || Cnum <= c) { continue; }
+				// MembershipTable構築済みの場合はテーブルを参照
+				sum[r][c] += antecedent.getCompatibleGradeValue(sparseAntecedentIndex[r], patterns[p]);
+			}
+		}
+		return sum;
+	}
+
 	/**
 	 * <h1>結論部クラス</h1></br>
 	 * 信頼度から結論部クラスを決定する</br>
@@ -150,6 +273,12 @@ public final class MoFGBML_Learning implements ConsequentFactory <Consequent_Bas
 
 	@Override
 	public MoFGBML_Learning copy() {
-		return new MoFGBML_Learning(this.train);
+		return new MoFGBML_Learning(this.train, this.consequentCache);
+	}
+
+	/** 学習済み後件部のキャッシュを返す
+	 * @return 学習済み後件部のキャッシュ */
+	public ConsequentCache<Consequent_Basic> getConsequentCache() {
+		return this.consequentCache;
 	}
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package cilabo.fuzzy.rule.consequent.factory.impl;
 
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
 
 import cilabo.data.DataSet;
 import cilabo.data.pattern.impl.Pattern_MultiClass;
 import cilabo.fuzzy.rule.antecedent.Antecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.consequent.classLabel.AbstractClassLabel;
 import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Multi;
+import cilabo.fuzzy.rule.consequent.factory.ConsequentCache;
 import cilabo.fuzzy.rule.consequent.factory.ConsequentFactory;
 import cilabo.fuzzy.rule.consequent.impl.Consequent_MultiClass;
 import cilabo.fuzzy.rule.consequent.ruleWeight.impl.RuleWeight_Multi;
@@ -19,62 +24,104 @@ import cilabo.utility.Parallel;
 @MultiTasking
 public final class MoFGBML_Learning_MultiLabel implements ConsequentFactory <Consequent_MultiClass>{
 
+	/** 並列に部分和を求める際の1チャンクあたりのパターン数 */
+	private static final int CHUNK_SIZE = 1024;
+
 	/** 学習に用いるデータセット*/
 	protected DataSet<Pattern_MultiClass> train;
 
+	/** 前件部をキーとする学習済み後件部のキャッシュ．コピー間で共有される */
+	protected final ConsequentCache<Consequent_MultiClass> consequentCache;
+
 	/**コンストラクタ
 	 * @param train 生成時に用いる学習用データ */
 	public MoFGBML_Learning_MultiLabel(DataSet<Pattern_MultiClass> train) {
+		this(train, new ConsequentCache<>());
+	}
+
+	/**コンストラクタ
+	 * @param train 生成時に用いる学習用データ
+	 * @param consequentCache 共有する学習済み後件部のキャッシュ */
+	private MoFGBML_Learning_MultiLabel(DataSet<Pattern_MultiClass> train, ConsequentCache<Consequent_MultiClass> consequentCache) {
 		this.train = train;
+		this.consequentCache = consequentCache;
 	}
 
 	@Override
 	public Consequent_MultiClass learning(Antecedent antecedent, int[] antecedentIndex, double limit) {
-		double[][] confidence = this.calcConfidence(antecedent, antecedentIndex);
+		return this.consequentCache.get(antecedentIndex, limit, () -> {
+			double[][] confidence = this.calcConfidence(antecedent, antecedentIndex);
+			return this.createConsequent(confidence, limit);
+		});
+	}
 
-		ClassLabel_Multi classLabel = this.calcClassLabel(confidence);
-		RuleWeight_Multi ruleWeight = this.calcRuleWeight(classLabel, confidence, limit);
+	@Override
+	public Consequent_MultiClass learning(Antecedent antecedent, int[] antecedentIndex) {
+		return this.learning(antecedent, antecedentIndex, defaultLimit);
+	}
 
-		Consequent_MultiClass consequent = new Consequent_MultiClass(classLabel, ruleWeight);
-		return consequent;
+	@Override
+	public List<Consequent_MultiClass> learning(Antecedent antecedent, int[][] antecedentIndex, double limit) {
+		Consequent_MultiClass[] consequents = new Consequent_MultiClass[antecedentIndex.length];
+
+		// キャッシュに無い前件部のみをまとめて学習する
+		int[] unlearned = new int[antecedentIndex.length];
+		int numberOfUnlearned = 0;
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			consequents[i] = this.consequentCache.lookup(antecedentIndex[i], limit);
+			if(Objects.isNull(consequents[i])) {
+				unlearned[numberOfUnlearned++] = i;
+			}
+		}
+		if(numberOfUnlearned == 0) {
+			return Arrays.asList(consequents);
+		}
+
+		SparseAntecedentIndex[] sparseAntecedentIndex = new SparseAntecedentIndex[numberOfUnlearned];
+		for(int k = 0; k < numberOfUnlearned; k++) {
+			sparseAntecedentIndex[k] = SparseAntecedentIndex.of(antecedentIndex[unlearned[k]]);
+		}
+		double[][][] sumCompatibleGrade = this.calcSumCompatibleGrade(antecedent, sparseAntecedentIndex);
+		if(Objects.isNull(sumCompatibleGrade)) { return null; }
+		for(int k = 0; k < numberOfUnlearned; k++) {
+			int i = unlearned[k];
+			consequents[i] = this.createConsequent(this.calcConfidence(sumCompatibleGrade[k]), limit);
+			this.consequentCache.put(antecedentIndex[i], limit, consequents[i]);
+		}
+		return Arrays.asList(consequents);
 	}
 
 	@Override
-	public Consequent_MultiClass learning(Antecedent antecedent, int[] antecedentIndex) {
+	public List<Consequent_MultiClass> learning(Antecedent antecedent, int[][] antecedentIndex) {
 		return this.learning(antecedent, antecedentIndex, defaultLimit);
 	}
 
-	public double[][] calcConfidence(Antecedent antecedent, int[] antecedentIndex) {
-		int Cnum = train.getCnum();
-		double[][] confidence = new double[Cnum][2];
+	/** 信頼度から後件部を生成する
+	 * @param confidence [クラス][関連有無]毎の信頼度
+	 * @param limit 生成不可能ルール判定用ルール重み下限値
+	 * @return 生成された後件部 */
+	private Consequent_MultiClass createConsequent(double[][] confidence, double limit) {
+		ClassLabel_Multi classLabel = this.calcClassLabel(confidence);
+		RuleWeight_Multi ruleWeight = this.calcRuleWeight(classLabel, confidence, limit);
 
-		for(int c = 0; c < Cnum; c++) {
-			for(int i = 0; i < 2; i++) {
-				final int CLASS = c;
-				final int ASSOCIATE = i;
-
-				Optional<Double> partSum = null;
-				try {
-					partSum = Parallel.getInstance().getLearningForkJoinPool().submit( () ->
-						train.getPatterns().parallelStream()
-						// 結論部クラスベクトルのCLASS番目の要素がASSOCIATEであるパターンを抽出
-						.filter(pattern -> pattern.getTargetClass().equalsClassLabel(CLASS, ASSOCIATE) )
-						// 各パターンの入力ベクトルを抽出
-						.map(pattern -> pattern.getAttributeVector())
-						// 各入力ベクトルとantecedentのcompatible gradeを計算
-						.map(attributeVector -> antecedent.getCompatibleGradeValue(antecedentIndex, attributeVector))
-						// compatible gradeを総和する
-						.reduce((sum, grade) -> sum+grade)
-					).get();
-				}
-				catch (InterruptedException | ExecutionException e) {
-					System.out.println(e);
-					return null;
-				}
+		Consequent_MultiClass consequent = new Consequent_MultiClass(classLabel, ruleWeight);
+		return consequent;
+	}
 
-				confidence[CLASS][ASSOCIATE] = partSum.orElse(0.0);
-			}
+	public double[][] calcConfidence(Antecedent antecedent, int[] antecedentIndex) {
+		SparseAntecedentIndex sparseAntecedentIndex = SparseAntecedentIndex.of(antecedentIndex);
+
+		// 各クラスの関連有無別のパターンに対する適合度の総和 (全クラス分を学習用データの1回の走査で求める)
+		double[][] sumCompatibleGrade = this.calcSumCompatibleGrade(antecedent, sparseAntecedentIndex);
+		if(Objects.isNull(sumCompatibleGrade)) { return null; }
+		return this.calcConfidence(sumCompatibleGrade);
+	}
 
+	/** 各クラスの関連有無別の適合度の総和から信頼度を求める．入力された配列を正規化して返す
+	 * @param confidence [クラス][関連有無]毎の適合度の総和
+	 * @return [クラス][関連有無]毎の信頼度 */
+	private double[][] calcConfidence(double[][] confidence) {
+		for(int c = 0; c < confidence.length; c++) {
 			double sumAll = confidence[c][0] + confidence[c][1];
 			for(int i = 0; i < 2; i++) {
 				if(sumAll != 0) {
@@ -88,6 +135,89 @@ public final class MoFGBML_Learning_MultiLabel implements ConsequentFactory <Con
 		return confidence;
 	}
 
+	/** 学習用データを一度だけ走査し，各クラスの関連有無(0 or 1)別のパターンに対する適合度の総和を求める．
+	 * @param antecedent 前件部
+	 * @param sparseAntecedentIndex 前件部のファジィセットのインデックス配列の疎な表現
+	 * @return [クラス][関連有無]毎の適合度の総和
+	 * @see #calcSumCompatibleGrade(Antecedent, SparseAntecedentIndex[]) */
+	public double[][] calcSumCompatibleGrade(Antecedent antecedent, SparseAntecedentIndex sparseAntecedentIndex) {
+		double[][][] sumCompatibleGrade = this.calcSumCompatibleGrade(antecedent, new SparseAntecedentIndex[] {sparseAntecedentIndex});
+		if(Objects.isNull(sumCompatibleGrade)) { return null; }
+		return sumCompatibleGrade[0];
+	}
+
+	/** 学習用データを一度だけ走査し，複数の前件部それぞれについて各クラスの関連有無(0 or 1)別のパターンに対する適合度の総和を求める．<br>
+	 * 学習用データを固定長のチャンク(タイル)に分割し，チャンク毎に全ての前件部の部分和を求めることで，
+	 * 各パターンの読み込みを前件部の数によらず1回とする．
+	 * パターン数がCHUNK_SIZEを超える場合はチャンク毎の部分和をForkJoinPool上で並列に求め，チャンクの順に足し合わせる．
+	 * 分割はスレッド数及び前件部の数に依存しないため，結果は並列数によらず，また前件部を1つずつ学習した場合と一致する．
+	 * @param antecedent 前件部
+	 * @param sparseAntecedentIndex 前件部のファジィセットのインデックス配列の疎な表現の配列
+	 * @return [前件部][クラス][関連有無]毎の適合度の総和 */
+	public double[][][] calcSumCompatibleGrade(Antecedent antecedent, SparseAntecedentIndex[] sparseAntecedentIndex) {
+		int size = train.getPatterns().size();
+		if(size <= CHUNK_SIZE) {
+			return this.accumulateCompatibleGrade(antecedent, sparseAntecedentIndex, 0, size);
+		}
+
+		int numberOfChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		double[][][][] partSum = new double[numberOfChunks][][][];
+		try {
+			Parallel.getInstance().getLearningForkJoinPool().submit( () ->
+				IntStream.range(0, numberOfChunks).parallel()
+					.forEach(k -> partSum[k] = this.accumulateCompatibleGrade(antecedent, sparseAntecedentIndex,
+							k * CHUNK_SIZE, Math.min(size, (k + 1) * CHUNK_SIZE)))
+			).get();
+		}
+		catch (InterruptedException | ExecutionException e) {
+			System.out.println(e);
+			return null;
+		}
+
+		double[][][] sumCompatibleGrade = partSum[0];
+		for(int k = 1; k < numberOfChunks; k++) {
+			for(int r = 0; r < sumCompatibleGrade.length; r++) {
+				for(int c = 0; c < sumCompatibleGrade[r].length; c++) {
+					sumCompatibleGrade[r][c][0] += partSum[k][r][c][0];
+					sumCompatibleGrade[r][c][1] += partSum[k][r][c][1];
+				}
+			}
+		}
+		return sumCompatibleGrade;
+	}
+
+	/** 指定された範囲のパターンについて，前件部毎に各クラスの関連有無別の適合度の総和を求める
+	 * @param antecedent 前件部
+	 * @param sparseAntecedentIndex 前件部のファジィセットのインデックス配列の疎な表現の配列
+	 * @param from 範囲の先頭のパターン位置 (この位置を含む)
+	 * @param to 範囲の末尾のパターン位置 (この位置を含まない)
+	 * @return [前件部][クラス][関連有無]毎の適合度の総和 */
+	private double[][][] accumulateCompatibleGrade(Antecedent antecedent, SparseAntecedentIndex[] sparseAntecedentIndex, int from, int to) {
+		int Cnum = train.getCnum();
+		Pattern_MultiClass[] patterns = new Pattern_MultiClass[to - from];
+		for(int p = from; p < to; p++) {
+			patterns[p - from] = train.getPattern(p);
+		}
+
+		double[][][] sum = new double[sparseAntecedentIndex.length][Cnum][2];
+		for(int r = 0; r < sparseAntecedentIndex.length; r++) {
+			for(int p = 0; p < patterns.length; p++) {
+				// MembershipTable構築済みの場合はテーブルを参照
+				double grade = antecedent.getCompatibleGradeValue(sparseAntecedentIndex[r], patterns[p]);
+				if(grade == 0) { continue; }
+				ClassLabel_Multi targetClass = patterns[p].getTargetClass();
+				for(int c = 0; c < Cnum; c++) {
+					// 結論部クラスベクトルのc番目の要素が0, 1以外のパターンは集計しない
+					Integer associate = targetClass.getClassLabel(c);
+					if(associate == 0 || associate == 1) {
+						sum[r][c][associate] += grade;
+					}
+				}
+			}
+		}
+		return sum;
+	}
+
 	public ClassLabel_Multi calcClassLabel(double[][] confidence) {
 		Integer[] classLabelBuf = new Integer[confidence.length];
 		for(int c = 0; c < confidence.length; c++) {
@@ -123,6 +253,12 @@ public final class MoFGBML_Learning_MultiLabel implements ConsequentFactory <Con
 
 	@Override
 	public MoFGBML_Learning_MultiLabel copy() {
-		return new MoFGBML_Learning_MultiLabel(this.train);
+		return new MoFGBML_Learning_MultiLabel(this.train, this.consequentCache);
+	}
+
+	/** 学習済み後件部のキャッシュを返す
+	 * @return 学習済み後件部のキャッシュ */
+	public ConsequentCache<Consequent_MultiClass> getConsequentCache() {
+		return this.consequentCache;
 	}
 }
@@ -1,9 +1,14 @@
 package cilabo.fuzzy.rule.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.w3c.dom.Element;
 
 import cilabo.data.AttributeVector;
+import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.rule.AbstractRule;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.antecedent.factory.AntecedentIndexFactory;
 import cilabo.fuzzy.rule.antecedent.impl.Antecedent_Basic;
 import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
@@ -33,6 +38,13 @@ public final class Rule_Basic extends AbstractRule <Antecedent_Basic, Consequent
 		return membership*CF;
 	}
 
+	@Override
+	public double getFitnessValue(SparseAntecedentIndex sparseAntecedentIndex, Pattern<?> pattern) {
+		double membership = this.getAntecedent().getCompatibleGradeValue(sparseAntecedentIndex, pattern);
+		double CF = (double) this.getRuleWeight().getRuleWeightValue();
+		return membership*CF;
+	}
+
 	@Override
 	public void setClassLabelValue(Integer classLabelValue) {
 		this.consequent.setClassLabelValue(classLabelValue);
@@ -53,6 +65,16 @@ public final class Rule_Basic extends AbstractRule <Antecedent_Basic, Consequent
 			return new Rule_Basic(antecedent, consequent);
 		}
 
+		@Override
+		public List<Rule_Basic> createConsequent(int[][] antecedentIndex) {
+			List<Consequent_Basic> consequents = this.learning(new Antecedent_Basic(), antecedentIndex);
+			List<Rule_Basic> rules = new ArrayList<>(consequents.size());
+			for(Consequent_Basic consequent : consequents) {
+				rules.add(new Rule_Basic(new Antecedent_Basic(), consequent));
+			}
+			return rules;
+		}
+
 		@Override
 		public Rule_Basic createConsequent(Element michiganSolution) {
 			Antecedent_Basic antecedent = new Antecedent_Basic();
@@ -1,10 +1,15 @@
 package cilabo.fuzzy.rule.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
 import cilabo.data.AttributeVector;
+import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.rule.AbstractRule;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.antecedent.factory.AntecedentIndexFactory;
 import cilabo.fuzzy.rule.antecedent.impl.Antecedent_Basic;
 import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Multi;
@@ -32,14 +37,25 @@ public final class Rule_MultiClass extends AbstractRule <Antecedent_Basic, Conse
 	@Override
 	public double getFitnessValue(int[] antecedentIndex, AttributeVector inputVector) {
 		double membership = this.getAntecedent().getCompatibleGradeValue(antecedentIndex, inputVector);
+		return membership*this.getCFmean();
+	}
+
+	@Override
+	public double getFitnessValue(SparseAntecedentIndex sparseAntecedentIndex, Pattern<?> pattern) {
+		double membership = this.getAntecedent().getCompatibleGradeValue(sparseAntecedentIndex, pattern);
+		return membership*this.getCFmean();
+	}
 
+	/** ルール重みの平均値を返す
+	 * @return ルール重みの平均値 */
+	private double getCFmean() {
 		double CFmean = 0;
 		Double[] ruleWeightList = this.getConsequent().getRuleWeightValue();
 		for(int i=0; i<ruleWeightList.length; i++) {
 			CFmean += ruleWeightList[i];
 		}
 		CFmean /= (double)ruleWeightList.length;
-		return membership*CFmean;
+		return CFmean;
 	}
 
 	@Override
@@ -67,6 +83,16 @@ public final class Rule_MultiClass extends AbstractRule <Antecedent_Basic, Conse
 			return new Rule_MultiClass(antecedent, consequent);
 		}
 
+		@Override
+		public List<Rule_MultiClass> createConsequent(int[][] antecedentIndex) {
+			List<Consequent_MultiClass> consequents = this.learning(new Antecedent_Basic(), antecedentIndex);
+			List<Rule_MultiClass> rules = new ArrayList<>(consequents.size());
+			for(Consequent_MultiClass consequent : consequents) {
+				rules.add(new Rule_MultiClass(new Antecedent_Basic(), consequent));
+			}
+			return rules;
+		}
+
 		@Override
 		public Rule_MultiClass createConsequent(Element michiganSolution) {
 			Antecedent_Basic antecedent = new Antecedent_Basic();
@@ -1,12 +1,16 @@
 package cilabo.gbml.algorithm;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 import org.uma.jmetal.algorithm.impl.AbstractEvolutionaryAlgorithm;
@@ -30,16 +34,30 @@ import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.util.JMetalLogger;
 import org.uma.jmetal.util.SolutionListUtils;
+import org.uma.jmetal.util.archive.Archive;
 import org.uma.jmetal.util.comparator.MultiComparator;
 import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
 import org.uma.jmetal.util.observable.Observable;
 import org.uma.jmetal.util.observable.ObservableEntity;
 import org.uma.jmetal.util.observable.impl.DefaultObservable;
 
+import cilabo.data.DataSet;
+import cilabo.data.StratifiedMiniBatch;
+import cilabo.data.pattern.Pattern;
+import cilabo.gbml.component.archive.NonDominatedRuleSetArchive;
+import cilabo.gbml.component.archive.RuleNumberBucketedArchive;
+import cilabo.gbml.component.densityestimator.FastCrowdingDistanceDensityEstimator;
+import cilabo.gbml.component.evaluation.ParallelEvaluation;
+import cilabo.gbml.component.ranking.BiObjectiveRanking;
 import cilabo.gbml.component.variation.CrossoverAndMutationAndPittsburghLearningVariation;
 import cilabo.gbml.problem.pittsburghFGBML_Problem.AbstractPittsburghFGBML;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+import cilabo.gbml.solution.util.BatchWinnerCounts;
+import cilabo.main.Consts;
+import cilabo.main.ExperienceParameter.OBJECTIVES_FOR_PITTSBURGH;
 import cilabo.util.fileoutput.PittsburghSolutionListOutput;
+import cilabo.utility.Parallel;
+import cilabo.utility.Random;
 
 public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 	extends AbstractEvolutionaryAlgorithm<S, List<S>>
@@ -61,6 +79,7 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 	private Map<String, Object> algorithmStatusData;
 
 	private Evaluation<S> evaluation;
+	private Ranking<S> ranking;
 	private Replacement<S> replacement;
 	private MatingPoolSelection<S> selection;
 
@@ -69,8 +88,17 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 
 	private Observable<Map<String, Object>> observable;
 
-	/*Set for the Archive*/
-	private Set<S> ArchivePopulation;
+	/*Archive of non-dominated solutions*/
+	private Archive<S> archive;
+
+	/*Mini-batch of training data for evaluation. null if whole training data is used*/
+	private StratifiedMiniBatch<?> miniBatch;
+	/** ミニバッチのクラス内の並べ替えに用いる乱数ストリームのキー */
+	private static final long MINI_BATCH_STREAM_KEY = -1;
+	/** ミニバッチで評価する場合に，学習用データ全体で評価した複製をアーカイブに追加済みの個体 */
+	private Set<S> archivedMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+	/** ミニバッチで評価する場合に，個体毎にこれまでのミニバッチで累積したルール毎の勝利パターン数 */
+	private Map<S, BatchWinnerCounts> batchWinnerCounts = new IdentityHashMap<>();
 
 	/** Constructor */
 	public HybridMoFGBMLwithNSGAII(
@@ -96,8 +124,16 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 		this.termination = termination;
 
 		/* NSGA-II */
-		DensityEstimator<S> densityEstimator = new CrowdingDistanceDensityEstimator<>();
-		Ranking<S> ranking = new FastNonDominatedSortRanking<>();
+		/* 2目的の場合は同じ結果をO(N log N)で求める非優越ソート・混雑距離を用いる */
+		DensityEstimator<S> densityEstimator;
+		if(problem.getNumberOfObjectives() == 2) {
+			densityEstimator = new FastCrowdingDistanceDensityEstimator<>();
+			this.ranking = new BiObjectiveRanking<>();
+		}
+		else {
+			densityEstimator = new CrowdingDistanceDensityEstimator<>();
+			this.ranking = new FastNonDominatedSortRanking<>();
+		}
 
 		this.replacement =
 				new RankingAndDensityEstimatorReplacement<>(
@@ -117,13 +153,51 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 
 		this.initialSolutionsCreation = new RandomSolutionsCreation<S>(problem, populationSize);
 
-		this.evaluation = new SequentialEvaluation<>();
+		/* 評価用ForkJoinPoolの並列数が2以上の場合は個体群を並列に評価する */
+		ForkJoinPool evaluationForkJoinPool = Parallel.getInstance().getEvaluationForkJoinPool();
+		if(evaluationForkJoinPool.getParallelism() > 1) {
+			this.evaluation = new ParallelEvaluation<>(evaluationForkJoinPool);
+		}
+		else {
+			this.evaluation = new SequentialEvaluation<>();
+		}
 
 		this.algorithmStatusData = new HashMap<>();
 		this.observable = new DefaultObservable<>("Hybrid MoFGBML with NSGA-II algorithm");
 
-		/*Set for the Archive*/
-		this.ArchivePopulation = new HashSet<>();
+		/*Archive of non-dominated solutions*/
+		this.archive = createArchive();
+
+		/* 学習用データの部分集合(ミニバッチ)で評価する場合 */
+		if(problem instanceof AbstractPittsburghFGBML && Consts.MINI_BATCH_SIZE > 0
+				&& Consts.MINI_BATCH_SIZE < ((AbstractPittsburghFGBML<?, ?>) problem).getTrain().getDataSize()) {
+			if(Consts.MINI_BATCH_INTERVAL < 1) {
+				throw new IllegalArgumentException("MINI_BATCH_INTERVAL must be positive @" + this.getClass().getSimpleName());}
+			this.miniBatch = createMiniBatch(((AbstractPittsburghFGBML<?, ?>) problem).getTrain());
+		}
+	}
+
+	/**
+	 * 学習用データのミニバッチを作成する．クラス内の並べ替えには乱数シードから導出したストリームを用いるため，
+	 * 共通の乱数生成器の系列に影響しない．
+	 * @param train 学習用データ
+	 * @return ミニバッチ
+	 */
+	private static <P extends Pattern<?>> StratifiedMiniBatch<P> createMiniBatch(DataSet<P> train) {
+		return new StratifiedMiniBatch<>(train, Consts.MINI_BATCH_SIZE, Consts.MINI_BATCH_GROWTH_RATE,
+				Random.getInstance().createStream(MINI_BATCH_STREAM_KEY));
+	}
+
+	/**
+	 * 非劣解アーカイブを作成する．
+	 * 2目的(誤識別率・ルール数)で上限を設けない場合はルール数毎のバケットで保持する
+	 * @return アーカイブ
+	 */
+	private Archive<S> createArchive() {
+		if(problem.getNumberOfObjectives() == 2 && Consts.ARCHIVE_SIZE <= 0) {
+			return new RuleNumberBucketedArchive<>(Consts.MAX_RULE_NUM);
+		}
+		return new NonDominatedRuleSetArchive<>(Consts.ARCHIVE_SIZE);
 	}
 
 	@Override
@@ -136,26 +210,34 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 
 		/* Step 1. 初期個体群生成 - Initialization Population */
 		population = createInitialPopulation();
+		/* ミニバッチで評価する場合は最初のミニバッチを設定 */
+		if(miniBatch != null) {
+			((AbstractPittsburghFGBML<?, ?>) problem).setEvaluationData(miniBatch.next());
+		}
 		/* Step 2. 初期個体群評価 - Initial Population Evaluation */
 		population = evaluatePopulation(population);
 		/* 未勝利個体削除*/
 		population = removeNoWinnerMichiganSolution(population);
+		/* 初期個体群のランク付け（最初の親個体選択で参照する） */
+		ranking.computeRanking(population);
 
-		/*生成した個体群をアーカイブに追加*/
-		for (S solution : population) {
-		    PittsburghSolution<?> copiedSolution = solution.copy();
-		    ArchivePopulation.add((S) copiedSolution);
+		/*生成した個体群をアーカイブに追加（劣解・ルール集合が重複する解は追加されない）
+		 * ミニバッチで評価している場合はミニバッチの更新時と終了時に追加する */
+		if(!isEvaluatingOnMiniBatch()) {
+			updateArchive(population);
 		}
 
-		/*アーカイブから非劣解を抽出（ただし，計算量大きくなるのでコメントアウト）*/
-		/*使用する際は，SetからListへの変換が必要*/
-		//ArchivePopulation = SolutionListUtils.getNonDominatedSolutions(ArchivePopulation);
-
 		/* JMetal progress initialization */
 		initProgress();
 
 		/* GA loop */
+		int generation = 0;
 		while(!isStoppingConditionReached()) {
+			generation++;
+			/* ミニバッチの更新 - Mini-batch Refresh */
+			if(miniBatch != null && generation % Consts.MINI_BATCH_INTERVAL == 0) {
+				population = updateMiniBatch(population);
+			}
 			/* 親個体選択 - Mating Selection */
 			matingPopulation = selection(population);
 			/* 子個体群生成 - Offspring Generation */
@@ -167,20 +249,20 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 			/* 個体群更新・環境選択 - Environmental Selection */
 			population = replacement(population, offspringPopulation);
 
-			/*生成した個体群をアーカイブに追加*/
-			for (S solution : population) {
-			    PittsburghSolution<?> copiedSolution = solution.copy();
-			    ArchivePopulation.add((S) copiedSolution);
+			/*生成した個体群をアーカイブに追加（劣解・ルール集合が重複する解は追加されない）*/
+			if(!isEvaluatingOnMiniBatch()) {
+				updateArchive(population);
 			}
 
-			/*アーカイブから非劣解を抽出（ただし，計算量大きくなるのでコメントアウト）*/
-			/*使用する際は，SetからListへの変換が必要*/
-			//ArchivePopulation = SolutionListUtils.getNonDominatedSolutions(ArchivePopulation);
-
 			/* JMetal progress update */
 			updateProgress();
 		}
 
+		/* ミニバッチで評価した場合は最終個体群を学習用データ全体で再評価 */
+		if(miniBatch != null) {
+			reevaluateOnTrain();
+		}
+
 		/* ===  END  === */
 		totalComputingTime = System.currentTimeMillis() - startTime;
 	}
@@ -196,14 +278,10 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 	    observable.setChanged();
 	    observable.notifyObservers(algorithmStatusData);
 
-	    String sep = File.separator;
 	    Integer evaluations = (Integer)algorithmStatusData.get("EVALUATIONS");
 
 	    if(evaluations != null) {
-	        new PittsburghSolutionListOutput((List<PittsburghSolution<?>>) this.getResult())
-            .setVarFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("VAR-%d.csv", evaluations), ","))
-            .setFunFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("FUN-%d.csv", evaluations), ","))
-            .print();
+	        printResult(evaluations);
 	    }
 		else {
 			JMetalLogger.logger.warning(getClass().getName()
@@ -236,6 +314,9 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 	    			tmp /= getPopulation().size();
 		    		System.out.print(String.format("objectives[%d]: %.8f.. ", i, tmp));
 	    		}
+	    		if(miniBatch != null) {
+	    			System.out.print(String.format("mini-batch: %d patterns.. ", ((AbstractPittsburghFGBML<?, ?>) problem).getEvaluationData().getDataSize()));
+	    		}
 	    		System.out.println(); System.out.println();
 
 	    		/*出力された数値が0埋めで同じ桁数になるversion*/
@@ -245,20 +326,15 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 	            .print();*/
 
 	    		/*出力された数値が0埋めされないversion*/
-    	        new PittsburghSolutionListOutput((List<PittsburghSolution<?>>) this.getResult())
-                .setVarFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("VAR-%d.csv", evaluations), ","))
-                .setFunFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("FUN-%d.csv", evaluations), ","))
-                .print();
+    	        printResult(evaluations);
 
     	        /*frequencyごとにアーカイブ出力（容量重すぎるので，いったんコメントアウト）*/
-    	        /*使用する際は，SetからListへの変換が必要*/
     	        /*new PittsburghSolutionListOutput((List<PittsburghSolution<?>>) this.getArchivePopulation())
                 .setVarFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("VARARC-%d.csv", evaluations), ","))
                 .setFunFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("FUNARC-%d.csv", evaluations), ","))
                 .print();*/
 
-    	        /*最終的なアーカイブを出力（FUNARCはresultsでカバーできるので不要）（非劣解抽出前なので，コメントアウト）*/
-    	        /*使用する際は，SetからListへの変換が必要*/
+    	        /*最終的なアーカイブを出力（FUNARCはresultsでカバーできるので不要）（Mainで出力するので，コメントアウト）*/
     	 	    /*if(evaluations == Consts.TERMINATE_EVALUATION) {
 	    	        new PittsburghSolutionListOutput((List<PittsburghSolution<?>>) this.getArchivePopulation())
                     .setVarFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("VARARC-%d.csv", evaluations), ","))
@@ -272,6 +348,18 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 		}
 	}
 
+	/**
+	 * 個体群の非劣解を個体ファイル(VAR/FUN)に出力する．
+	 * @param evaluations ファイル名に用いる評価回数
+	 */
+	private void printResult(int evaluations) {
+		String sep = File.separator;
+		new PittsburghSolutionListOutput((List<PittsburghSolution<?>>) this.getResult())
+		.setVarFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("VAR-%d.csv", evaluations), ","))
+		.setFunFileOutputContext(new DefaultFileOutputContext(outputRootDir + sep + String.format("FUN-%d.csv", evaluations), ","))
+		.print();
+	}
+
 	@Override
 	protected boolean isStoppingConditionReached() {
 		return termination.isMet(algorithmStatusData);
@@ -299,10 +387,127 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 
 	@Override
 	protected List<S> replacement(List<S> population, List<S> offspringPopulation) {
-		return replacement.replace(population, offspringPopulation);
+		population = replacement.replace(population, offspringPopulation);
+		/* 個体群から除かれた個体の累積した勝利パターン数は不要 */
+		if(!batchWinnerCounts.isEmpty()) {
+			Map<S, BatchWinnerCounts> retained = new IdentityHashMap<>();
+			for(S solution : population) {
+				BatchWinnerCounts counts = batchWinnerCounts.get(solution);
+				if(!Objects.isNull(counts)) { retained.put(solution, counts); }
+			}
+			batchWinnerCounts = retained;
+		}
+		return population;
+	}
+
+	/**
+	 * 現在のミニバッチでの個体群の非劣解をアーカイブに追加した後，次のミニバッチを設定し，個体群を再評価する．
+	 * 子個体と同じミニバッチで比較するため，再評価後にランク・混雑距離を求め直す．再評価は評価回数に含めない．
+	 * @param population 個体群
+	 * @return 再評価した個体群
+	 */
+	protected List<S> updateMiniBatch(List<S> population) {
+		updateArchive(evaluateFrontOnTrain(population));
+		((AbstractPittsburghFGBML<?, ?>) problem).setEvaluationData(miniBatch.next());
+		population = evaluatePopulation(population);
+		population = removeNoWinnerMichiganSolution(population);
+		return replacement(population, new ArrayList<>());
+	}
+
+	/**
+	 * 評価に用いるデータを学習用データ全体に戻し，最終個体群を再評価して未勝利ルールを削除した後，アーカイブに追加する．
+	 * 最終評価回数の個体ファイルを出力し直す．
+	 */
+	protected void reevaluateOnTrain() {
+		((AbstractPittsburghFGBML<?, ?>) problem).setEvaluationData(null);
+		batchWinnerCounts.clear();
+		population = evaluatePopulation(population);
+		population = removeNoWinnerMichiganSolution(population);
+		updateArchive(population);
+
+		if(evaluations % frequency == 0) {
+			printResult(evaluations);
+		}
 	}
 
+	/**
+	 * 個体群の解をアーカイブに追加する．アーカイブの解は全て学習用データ全体で評価されている必要がある．
+	 * @param population 個体群
+	 */
+	protected void updateArchive(List<S> population) {
+		for (S solution : population) {
+			archive.add(solution);
+		}
+	}
+
+	/**
+	 * 現在のミニバッチでの個体群の非劣解のうち，前回までにアーカイブの候補としていない個体の複製を学習用データ全体で評価し，
+	 * 未勝利ルールを削除して返す．異なるミニバッチで評価した解同士をアーカイブで比較しないために用いる．
+	 * 学習用データ全体の評価はミニバッチの更新毎に非劣解の新たな個体に限られる．この評価は評価回数に含めない．
+	 * @param population 個体群
+	 * @return 学習用データ全体で評価した複製
+	 */
+	private List<S> evaluateFrontOnTrain(List<S> population) {
+		Set<S> members = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<S> copies = new ArrayList<>();
+		for(S solution : getNonDominatedSolutions(population)) {
+			members.add(solution);
+			if(!archivedMembers.contains(solution)) {
+				@SuppressWarnings("unchecked")
+				S copy = (S) solution.copy();
+				copies.add(copy);
+			}
+		}
+		archivedMembers = members;
+
+		AbstractPittsburghFGBML<?, ?> pittsburghProblem = (AbstractPittsburghFGBML<?, ?>) problem;
+		DataSet<?> batch = pittsburghProblem.getEvaluationData();
+		pittsburghProblem.setEvaluationData(null);
+		copies = evaluatePopulation(copies);
+		copies = removeNoWinnerMichiganSolution(copies);
+		pittsburghProblem.setEvaluationData(batch);
+		return copies;
+	}
+
+	/**
+	 * 学習用データ全体ではなくミニバッチで評価しているかを返す．
+	 * @return ミニバッチで評価している場合true
+	 */
+	private boolean isEvaluatingOnMiniBatch() {
+		if(miniBatch == null) { return false; }
+		AbstractPittsburghFGBML<?, ?> pittsburghProblem = (AbstractPittsburghFGBML<?, ?>) problem;
+		return pittsburghProblem.getEvaluationData() != pittsburghProblem.getTrain();
+	}
+
+	/**
+	 * 未勝利ルールを削除する．<br>
+	 * ミニバッチで評価している場合，1つのミニバッチの勝利数はミニバッチ外のパターンを含まないため，
+	 * 同じルール集合についてこれまでのミニバッチで累積した勝利数を用いる．評価したミニバッチが学習用データ全体を覆うまでは削除せず，
+	 * 累積した勝利数が1以上のルールの数をルール数の目的関数値とする．覆った後は学習用データ全体で評価した場合と同じルールが削除される．
+	 * @param population 個体群
+	 * @return 未勝利ルールを削除した個体群
+	 * @see BatchWinnerCounts
+	 */
+	@SuppressWarnings("unchecked")
 	protected List<S> removeNoWinnerMichiganSolution(List<S> population) {
+		if(isEvaluatingOnMiniBatch()) {
+			AbstractPittsburghFGBML<?, ?> pittsburghProblem = (AbstractPittsburghFGBML<?, ?>) problem;
+			DataSet<?> batch = pittsburghProblem.getEvaluationData();
+			int dataSize = pittsburghProblem.getTrain().getDataSize();
+			for(S solution : population) {
+				BatchWinnerCounts counts = BatchWinnerCounts.accumulate(batchWinnerCounts.get(solution), solution, batch, dataSize);
+				solution.setRuleStatistics(counts.getNumberOfWinner(), counts.getNumberOfClassifierPatterns());
+				if(counts.coversAll()) {
+					((AbstractPittsburghFGBML)problem).removeNoWinnerMichiganSolution(solution);
+					counts = counts.retain(solution.getVariables());
+				}
+				else {
+					solution.setObjective(OBJECTIVES_FOR_PITTSBURGH.NumberOfRule.toInt(), counts.getNumberOfWinnerRules());
+				}
+				batchWinnerCounts.put(solution, counts);
+			}
+			return population;
+		}
 		/* 未勝利個体削除*/
 	    IntStream.range(0, population.size())
 	        .forEach(i -> ((AbstractPittsburghFGBML)problem).removeNoWinnerMichiganSolution(population.get(i)));
@@ -311,14 +516,21 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 
 	@Override
 	public List<S> getResult(){
-		return SolutionListUtils.getNonDominatedSolutions(getPopulation());
+		return getNonDominatedSolutions(getPopulation());
 	}
 
-	/*アーカイブから非劣解を抽出（現時点では不要なのでコメントアウト）*/
-	/*使用する際は，SetからListへの変換が必要*/
-	/*public List<S> getResultArchive(){
-		return SolutionListUtils.getNonDominatedSolutions(ArchivePopulation);
-	}*/
+	/**
+	 * 解集合の非劣解を返す．
+	 * @param solutionList 解集合
+	 * @return 非劣解
+	 */
+	private List<S> getNonDominatedSolutions(List<S> solutionList) {
+		/* 2目的(誤識別率・ルール数)の場合はルール数毎の最良値から非劣解を求める */
+		if(problem.getNumberOfObjectives() == 2) {
+			return RuleNumberBucketedArchive.getNonDominatedSolutions(solutionList);
+		}
+		return SolutionListUtils.getNonDominatedSolutions(solutionList);
+	}
 
 	@Override
 	public String getName() {
@@ -347,14 +559,14 @@ public class HybridMoFGBMLwithNSGAII <S extends PittsburghSolution<?>>
 		return evaluations;
 	}
 
-	/*Getter for Archive*/
-	public Set<S> getArchivePopulation(){
-		return ArchivePopulation;
+	/*Getter for non-dominated solutions in Archive*/
+	public List<S> getArchivePopulation(){
+		return archive.getSolutionList();
 	}
 
-	/*Setter for Archive*/
-	public void setArchivePopulation(Set<S> ArchivePopulation) {
-		this.ArchivePopulation = ArchivePopulation;
+	/*Getter for Archive*/
+	public Archive<S> getArchive(){
+		return archive;
 	}
 
 }
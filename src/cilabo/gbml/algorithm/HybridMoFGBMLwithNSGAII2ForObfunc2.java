@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 import org.uma.jmetal.algorithm.impl.AbstractEvolutionaryAlgorithm;
@@ -36,11 +37,15 @@ import org.uma.jmetal.util.observable.impl.DefaultObservable;
 import org.w3c.dom.Element;
 
 import cilabo.fuzzy.knowledge.Knowledge;
+import cilabo.gbml.component.densityestimator.FastCrowdingDistanceDensityEstimator;
+import cilabo.gbml.component.evaluation.ParallelEvaluation;
+import cilabo.gbml.component.ranking.BiObjectiveRanking;
 import cilabo.gbml.component.variation.CrossoverAndMutationAndPittsburghLearningVariation;
 import cilabo.gbml.problem.pittsburghFGBML_Problem.impl.PittsburghFGBML_ObjectiveFunction2;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
 import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
 import cilabo.util.fileoutput.PittsburghSolutionListOutput;
+import cilabo.utility.Parallel;
 import xml.XML_TagName;
 import xml.XML_manager;
 import xml.XML_reader;
@@ -96,8 +101,17 @@ public class HybridMoFGBMLwithNSGAII2ForObfunc2 <S extends PittsburghSolution<?>
 		this.termination = termination;
 
 		/* NSGA-II */
-		DensityEstimator<S> densityEstimator = new CrowdingDistanceDensityEstimator<>();
-		Ranking<S> ranking = new FastNonDominatedSortRanking<>();
+		/* 2目的の場合は同じ結果をO(N log N)で求める非優越ソート・混雑距離を用いる */
+		DensityEstimator<S> densityEstimator;
+		Ranking<S> ranking;
+		if(problem.getNumberOfObjectives() == 2) {
+			densityEstimator = new FastCrowdingDistanceDensityEstimator<>();
+			ranking = new BiObjectiveRanking<>();
+		}
+		else {
+			densityEstimator = new CrowdingDistanceDensityEstimator<>();
+			ranking = new FastNonDominatedSortRanking<>();
+		}
 
 		this.replacement =
 				new RankingAndDensityEstimatorReplacement<>(
@@ -121,7 +135,14 @@ public class HybridMoFGBMLwithNSGAII2ForObfunc2 <S extends PittsburghSolution<?>
 //		this.initialSolutionsCreation = new InitialSolutionsCreationFromXML<S>(
 //				(PittsburghFGBML_Basic<?>) problem, XML_reader.getPopulation(Consts.TERMINATE_EVALUATION));
 
-		this.evaluation = new SequentialEvaluation<>();
+		/* 評価用ForkJoinPoolの並列数が2以上の場合は個体群を並列に評価する */
+		ForkJoinPool evaluationForkJoinPool = Parallel.getInstance().getEvaluationForkJoinPool();
+		if(evaluationForkJoinPool.getParallelism() > 1) {
+			this.evaluation = new ParallelEvaluation<>(evaluationForkJoinPool);
+		}
+		else {
+			this.evaluation = new SequentialEvaluation<>();
+		}
 
 		this.algorithmStatusData = new HashMap<>();
 		this.observable = new DefaultObservable<>("Hybrid MoFGBML with NSGA-II algorithm");
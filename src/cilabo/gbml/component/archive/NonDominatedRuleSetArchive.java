@@ -0,0 +1,141 @@
+package cilabo.gbml.component.archive;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.uma.jmetal.component.densityestimator.DensityEstimator;
+import org.uma.jmetal.util.archive.Archive;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+
+import cilabo.gbml.component.densityestimator.FastCrowdingDistanceDensityEstimator;
+import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+
+/**
+ * 非劣解のみを保持するアーカイブ．追加の度に現在の非劣解集合との優越関係を判定し，
+ * 劣解となった解を取り除くため，保持する解の数は非劣解の数に留まる．<br>
+ * ルール集合(前件部の多重集合)が等しい解は重複として追加しない．目的関数値が等しくルール集合が異なる解は共に保持する．
+ * 上限を超えた場合は混雑距離が最小の解を取り除く．<br>
+ * Incremental non-dominated archive which rejects solutions with identical rule set, optionally bounded by crowding distance.
+ * @author Takigawa Hiroki
+ *
+ * @param <S> 保持する解の型
+ */
+@SuppressWarnings("serial")
+public class NonDominatedRuleSetArchive<S extends PittsburghSolution<?>> implements Archive<S> {
+	/** 保持する解の数の上限．0以下の場合は上限なし */
+	private final int maxSize;
+	/** 保持している解 */
+	private final List<S> solutionList;
+	/** 保持している解毎のルール集合の識別子 */
+	private final Map<S, RuleSetKey> keys;
+	/** 保持している解のルール集合の識別子の集合 */
+	private final Set<RuleSetKey> keySet;
+	/** 優越関係の比較 */
+	private final Comparator<S> dominanceComparator;
+	/** 上限を超えた場合に取り除く解を決める混雑距離 */
+	private final DensityEstimator<S> densityEstimator;
+
+	/** 上限のないアーカイブを生成する */
+	public NonDominatedRuleSetArchive() {
+		this(0);
+	}
+
+	/**
+	 * コンストラクタ
+	 * @param maxSize 保持する解の数の上限．0以下の場合は上限なし
+	 */
+	public NonDominatedRuleSetArchive(int maxSize) {
+		this.maxSize = maxSize;
+		this.solutionList = new ArrayList<>();
+		this.keys = new IdentityHashMap<>();
+		this.keySet = new HashSet<>();
+		this.dominanceComparator = new DominanceComparator<>();
+		this.densityEstimator = new FastCrowdingDistanceDensityEstimator<>();
+	}
+
+	/**
+	 * 解を追加します．追加される場合は解のコピーを保持するため，追加後に解を変更してもアーカイブに影響しない．<br>
+	 * Adds copy of solution if it is not dominated and no solution with identical rule set is archived.
+	 * @param solution 追加する解
+	 * @return 追加された場合true．保持している解に優越される場合，またはルール集合が等しい解を保持している場合false
+	 */
+	@Override
+	public boolean add(S solution) {
+		RuleSetKey key = new RuleSetKey(solution);
+		if(this.keySet.contains(key)) {
+			return false;
+		}
+
+		Iterator<S> iterator = this.solutionList.iterator();
+		while(iterator.hasNext()) {
+			S archived = iterator.next();
+			int flag = this.dominanceComparator.compare(solution, archived);
+			if(flag == -1) {
+				iterator.remove();
+				this.keySet.remove(this.keys.remove(archived));
+			}
+			else if(flag == 1) {
+				return false;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		S copy = (S) solution.copy();
+		this.solutionList.add(copy);
+		this.keys.put(copy, key);
+		this.keySet.add(key);
+
+		if(this.maxSize > 0 && this.solutionList.size() > this.maxSize) {
+			this.densityEstimator.computeDensityEstimator(this.solutionList);
+			S worst = this.solutionList.get(0);
+			for(S archived : this.solutionList) {
+				if(this.densityEstimator.getSolutionComparator().compare(archived, worst) > 0) {
+					worst = archived;
+				}
+			}
+			this.solutionList.remove(worst);
+			this.keySet.remove(this.keys.remove(worst));
+			return worst != copy;
+		}
+		return true;
+	}
+
+	@Override
+	public S get(int index) {
+		return this.solutionList.get(index);
+	}
+
+	/**
+	 * 保持している解を追加された順に返します．
+	 * @return 保持している解のリスト
+	 */
+	@Override
+	public List<S> getSolutionList() {
+		return this.solutionList;
+	}
+
+	@Override
+	public int size() {
+		return this.solutionList.size();
+	}
+
+	/**
+	 * 保持する解の数の上限を返します．
+	 * @return 上限．0以下の場合は上限なし
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	@Override
+	public String toString() {
+		return "NonDominatedRuleSetArchive [size=" + this.size()
+				+ ", maxSize=" + (this.maxSize > 0 ? String.valueOf(this.maxSize) : "unbounded") + "]";
+	}
+}
@@ -0,0 +1,189 @@
+package cilabo.gbml.component.archive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.archive.Archive;
+
+import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+import cilabo.main.ExperienceParameter.OBJECTIVES_FOR_PITTSBURGH;
+
+/**
+ * ルール数毎に誤識別率の最良値とその解を保持する非劣解アーカイブ．<br>
+ * 第2目的(ルール数)は0以上の整数であるため，2目的のパレートフロントはルール数毎に高々1点となる．
+ * 解の追加はルール数のバケットの最良値との比較のみで行うためO(1)であり，
+ * 非劣解はルール数の昇順にバケットを走査し，それまでの最良値より誤識別率が小さいバケットの解を取り出すことでO(最大ルール数)で求める．
+ * 複数の試行のアーカイブを統合する場合も，全ての解を追加するだけで非劣解集合が得られる．<br>
+ * ルール集合(前件部の多重集合)が等しい解は重複として追加しない．目的関数値が等しくルール集合が異なる解は共に保持する．<br>
+ * Non-dominated archive for (error rate, number of rules) which keeps the best error rate and its solutions per number of rules.
+ * @author Takigawa Hiroki
+ *
+ * @param <S> 保持する解の型
+ */
+@SuppressWarnings("serial")
+public class RuleNumberBucketedArchive<S extends PittsburghSolution<?>> implements Archive<S> {
+	/** ルール数毎のバケット．添字がルール数 */
+	private final List<Bucket<S>> buckets;
+	/** 非劣解のリスト．解が追加された場合はnullとし，参照時に求め直す */
+	private List<S> solutionList;
+
+	/**
+	 * コンストラクタ
+	 * @param maxNumberOfRules ルール数の最大値．これを超えるルール数の解が追加された場合はバケットを拡張する
+	 */
+	public RuleNumberBucketedArchive(int maxNumberOfRules) {
+		if(maxNumberOfRules < 0) {
+			throw new IllegalArgumentException("maxNumberOfRules must be non-negative @" + this.getClass().getSimpleName());}
+		this.buckets = new ArrayList<>(Collections.nCopies(maxNumberOfRules + 1, null));
+		this.solutionList = null;
+	}
+
+	/**
+	 * 解を追加します．追加される場合は解のコピーを保持するため，追加後に解を変更してもアーカイブに影響しない．<br>
+	 * 同じルール数の解より誤識別率が大きい解，ルール集合が等しい解を保持している解は追加しない．
+	 * ルール数の少ない解に優越される解はバケットに保持するが，非劣解としては取り出されない．<br>
+	 * Adds copy of solution unless a solution with the same number of rules has smaller error rate or identical rule set.
+	 * @param solution 追加する解
+	 * @return バケットに追加された場合true
+	 */
+	@Override
+	public boolean add(S solution) {
+		double errorRate = solution.getObjective(OBJECTIVES_FOR_PITTSBURGH.ErrorRateDtra.toInt());
+		int numberOfRules = toNumberOfRules(solution);
+		while(numberOfRules >= this.buckets.size()) {
+			this.buckets.add(null);
+		}
+
+		Bucket<S> bucket = this.buckets.get(numberOfRules);
+		if(bucket == null) {
+			bucket = new Bucket<>();
+			this.buckets.set(numberOfRules, bucket);
+		}
+		else if(errorRate > bucket.errorRate) {
+			return false;
+		}
+		else if(errorRate < bucket.errorRate) {
+			bucket.clear();
+		}
+
+		RuleSetKey key = new RuleSetKey(solution);
+		if(!bucket.keySet.add(key)) {
+			return false;
+		}
+		@SuppressWarnings("unchecked")
+		S copy = (S) solution.copy();
+		bucket.errorRate = errorRate;
+		bucket.solutionList.add(copy);
+		this.solutionList = null;
+		return true;
+	}
+
+	@Override
+	public S get(int index) {
+		return this.getSolutionList().get(index);
+	}
+
+	/**
+	 * 非劣解をルール数の昇順に返します．ルール数が等しい解は追加された順に並ぶ．
+	 * @return 非劣解のリスト
+	 */
+	@Override
+	public List<S> getSolutionList() {
+		if(this.solutionList == null) {
+			List<S> solutionList = new ArrayList<>();
+			double bestErrorRate = Double.POSITIVE_INFINITY;
+			for(Bucket<S> bucket : this.buckets) {
+				if(bucket != null && bucket.errorRate < bestErrorRate) {
+					bestErrorRate = bucket.errorRate;
+					solutionList.addAll(bucket.solutionList);
+				}
+			}
+			this.solutionList = solutionList;
+		}
+		return this.solutionList;
+	}
+
+	@Override
+	public int size() {
+		return this.getSolutionList().size();
+	}
+
+	/**
+	 * 解のリストから非劣解を取り出します．SolutionListUtils.getNonDominatedSolutionsと同じ解を同じ順序で返し，
+	 * 目的関数値が等しい解は全て残す．ルール数毎の最良の誤識別率を求めるためO(N + 最大ルール数)で計算する．<br>
+	 * Returns non-dominated solutions in the original order, same as SolutionListUtils.getNonDominatedSolutions.
+	 * @param <S> 解の型
+	 * @param solutionList 解のリスト．第1目的が誤識別率，第2目的がルール数であること
+	 * @return 非劣解のリスト
+	 */
+	public static <S extends Solution<?>> List<S> getNonDominatedSolutions(List<S> solutionList) {
+		int maxNumberOfRules = -1;
+		for(S solution : solutionList) {
+			maxNumberOfRules = Math.max(maxNumberOfRules, toNumberOfRules(solution));
+		}
+		double[] bestErrorRate = new double[maxNumberOfRules + 1];
+		Arrays.fill(bestErrorRate, Double.POSITIVE_INFINITY);
+		for(S solution : solutionList) {
+			int numberOfRules = toNumberOfRules(solution);
+			bestErrorRate[numberOfRules] = Math.min(bestErrorRate[numberOfRules], solution.getObjective(OBJECTIVES_FOR_PITTSBURGH.ErrorRateDtra.toInt()));
+		}
+		// ルール数がより少ない解の最良の誤識別率より小さい場合のみ非劣となる
+		boolean[] nonDominated = new boolean[maxNumberOfRules + 1];
+		double best = Double.POSITIVE_INFINITY;
+		for(int i = 0; i <= maxNumberOfRules; i++) {
+			if(bestErrorRate[i] < best) {
+				nonDominated[i] = true;
+				best = bestErrorRate[i];
+			}
+		}
+
+		List<S> nonDominatedSolutions = new ArrayList<>();
+		for(S solution : solutionList) {
+			int numberOfRules = toNumberOfRules(solution);
+			if(nonDominated[numberOfRules]
+					&& solution.getObjective(OBJECTIVES_FOR_PITTSBURGH.ErrorRateDtra.toInt()) == bestErrorRate[numberOfRules]) {
+				nonDominatedSolutions.add(solution);
+			}
+		}
+		return nonDominatedSolutions;
+	}
+
+	/**
+	 * 解のルール数(第2目的)をバケットの添字として返します．
+	 * @param solution 解
+	 * @return ルール数
+	 */
+	private static int toNumberOfRules(Solution<?> solution) {
+		double numberOfRules = solution.getObjective(OBJECTIVES_FOR_PITTSBURGH.NumberOfRule.toInt());
+		if(numberOfRules < 0 || numberOfRules != Math.rint(numberOfRules)) {
+			throw new IllegalArgumentException("number of rules must be a non-negative integer: " + numberOfRules
+					+ " @" + RuleNumberBucketedArchive.class.getSimpleName());}
+		return (int) numberOfRules;
+	}
+
+	@Override
+	public String toString() {
+		return "RuleNumberBucketedArchive [size=" + this.size() + ", maxNumberOfRules=" + (this.buckets.size() - 1) + "]";
+	}
+
+	/** ルール数が等しい解のうち誤識別率が最良の解を保持するバケット */
+	private static final class Bucket<S> {
+		/** 保持している解の誤識別率 */
+		private double errorRate = Double.POSITIVE_INFINITY;
+		/** 保持している解 */
+		private final List<S> solutionList = new ArrayList<>();
+		/** 保持している解のルール集合の識別子 */
+		private final Set<RuleSetKey> keySet = new HashSet<>();
+
+		/** 保持している解を全て取り除く */
+		private void clear() {
+			this.solutionList.clear();
+			this.keySet.clear();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package cilabo.gbml.component.archive;
+
+import java.util.Arrays;
+
+import cilabo.gbml.solution.michiganSolution.MichiganSolution;
+import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+
+/**
+ * ルールの並び順によらないルール集合の識別子．前件部の配列を辞書順に並べたものとそのハッシュ値からなる．<br>
+ * Order-independent identifier of the rule set (multiset of antecedents) of a Pittsburgh solution.
+ * @author Takigawa Hiroki
+ *
+ */
+final class RuleSetKey {
+	/** 辞書順に並べた前件部のファジィセットのインデックス配列 */
+	private final int[][] antecedentIndex;
+	/** ハッシュ値 */
+	private final int hash;
+
+	/**
+	 * コンストラクタ
+	 * @param solution ルール集合の識別子を求める解
+	 */
+	RuleSetKey(PittsburghSolution<?> solution) {
+		int[][] antecedentIndex = new int[solution.getNumberOfVariables()][];
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			MichiganSolution<?> michiganSolution = solution.getVariable(i);
+			antecedentIndex[i] = michiganSolution.getVariablesArray().clone();
+		}
+		Arrays.sort(antecedentIndex, RuleSetKey::compare);
+		this.antecedentIndex = antecedentIndex;
+		this.hash = Arrays.deepHashCode(antecedentIndex);
+	}
+
+	/** 前件部の配列を辞書順に比較する */
+	private static int compare(int[] a, int[] b) {
+		int length = Math.min(a.length, b.length);
+		for(int i = 0; i < length; i++) {
+			if(a[i] != b[i]) { return Integer.compare(a[i], b[i]); }
+		}
+		return Integer.compare(a.length, b.length);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) { return true; }
+		if(!(obj instanceof RuleSetKey)) { return false; }
+		RuleSetKey other = (RuleSetKey) obj;
+		return this.hash == other.hash && Arrays.deepEquals(this.antecedentIndex, other.antecedentIndex);
+	}
+}
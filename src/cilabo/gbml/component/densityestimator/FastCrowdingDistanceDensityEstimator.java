@@ -0,0 +1,95 @@
+package cilabo.gbml.component.densityestimator;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.uma.jmetal.component.densityestimator.DensityEstimator;
+import org.uma.jmetal.component.densityestimator.impl.CrowdingDistanceDensityEstimator;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.solution.util.attribute.util.attributecomparator.AttributeComparator;
+import org.uma.jmetal.solution.util.attribute.util.attributecomparator.impl.DoubleValueAttributeComparator;
+
+import cilabo.utility.GeneralFunctions;
+
+/**
+ * 目的関数値・混雑距離をプリミティブ型の配列に保持して計算する混雑距離．<br>
+ * CrowdingDistanceDensityEstimatorは目的毎に解のリストを並べ替え，混雑距離を解の属性として読み書きするが，
+ * ここでは添字の配列を並べ替え，計算後に一度だけ属性を設定する．
+ * 並べ替えの順序(目的関数値が等しい解の順序を含む)・加算の順序はCrowdingDistanceDensityEstimatorと同じであり，同じ値が得られる．<br>
+ * Crowding distance computed over primitive arrays. Gives the same values as CrowdingDistanceDensityEstimator.
+ * @author Takigawa Hiroki
+ *
+ * @param <S> 混雑距離を計算する解の型
+ */
+@SuppressWarnings("serial")
+public class FastCrowdingDistanceDensityEstimator<S extends Solution<?>> implements DensityEstimator<S> {
+	/** 混雑距離を設定する属性のID．CrowdingDistanceDensityEstimatorと同じIDとする */
+	private final String attributeId = CrowdingDistanceDensityEstimator.class.getName();
+	/** 混雑距離の降順に並べる比較 */
+	private final Comparator<S> solutionComparator;
+
+	/** コンストラクタ */
+	public FastCrowdingDistanceDensityEstimator() {
+		this.solutionComparator = new DoubleValueAttributeComparator<>(this.attributeId, AttributeComparator.Ordering.DESCENDING);
+	}
+
+	@Override
+	public void computeDensityEstimator(List<S> solutionList) {
+		int size = solutionList.size();
+		if(size == 0) {
+			return;
+		}
+		if(size <= 2) {
+			for(S solution : solutionList) {
+				solution.setAttribute(this.attributeId, Double.POSITIVE_INFINITY);
+			}
+			return;
+		}
+
+		double[] distance = new double[size];
+		double[] objective = new double[size];
+		// 目的毎の並べ替えは前の目的で並べ替えた順序から行う(CrowdingDistanceDensityEstimatorと同じ)
+		int[] order = new int[size];
+		for(int j = 0; j < size; j++) { order[j] = j; }
+
+		int numberOfObjectives = solutionList.get(0).getNumberOfObjectives();
+		for(int i = 0; i < numberOfObjectives; i++) {
+			for(int j = 0; j < size; j++) {
+				objective[j] = solutionList.get(j).getObjective(i);
+			}
+			GeneralFunctions.stableSortIndices(order, objective);
+
+			double minObjective = objective[order[0]];
+			double maxObjective = objective[order[size - 1]];
+			if(minObjective == maxObjective) {
+				continue;
+			}
+
+			distance[order[0]] = Double.POSITIVE_INFINITY;
+			distance[order[size - 1]] = Double.POSITIVE_INFINITY;
+			for(int j = 1; j < size - 1; j++) {
+				distance[order[j]] += (objective[order[j + 1]] - objective[order[j - 1]]) / (maxObjective - minObjective);
+			}
+		}
+
+		for(int j = 0; j < size; j++) {
+			solutionList.get(j).setAttribute(this.attributeId, distance[j]);
+		}
+	}
+
+	@Override
+	public String getAttributeId() {
+		return this.attributeId;
+	}
+
+	@Override
+	public Comparator<S> getSolutionComparator() {
+		return this.solutionComparator;
+	}
+
+	@Override
+	public List<S> sort(List<S> solutionList) {
+		solutionList.sort(this.getSolutionComparator());
+		return solutionList;
+	}
+}
@@ -0,0 +1,72 @@
+package cilabo.gbml.component.evaluation;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.uma.jmetal.component.evaluation.Evaluation;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+
+/**
+ * 個体群の各個体をForkJoinPool上で並列に評価する評価方式．<br>
+ * 評価済みの個体のルール(MichiganSolution)は複製されず複数の個体に共有されるため，評価中は読み取り専用として扱い，
+ * ルール毎の勝利パターン数・正識別パターン数は個体(PittsburghSolution)が保持する配列に書き込む．
+ * ただし，ルールが遅延生成する疎な前件部表現と適合度ベクトルは，共有されたルールを複数のスレッドが同時に参照した場合に
+ * それぞれのスレッドで計算されることがある．いずれも遺伝子から一意に決まる値であり，生成後は変更されないため結果には影響しない．
+ * 学習用データ・ファジィ集合・キャッシュは読み取り専用またはスレッドセーフであり，
+ * 評価結果はスレッド数や評価順序によらずSequentialEvaluationと一致する．<br>
+ * Evaluates solutions concurrently on a ForkJoinPool. Results are identical to sequential evaluation.
+ * @author Takigawa Hiroki
+ *
+ * @param <S> 評価する個体の型
+ */
+public class ParallelEvaluation<S extends Solution<?>> implements Evaluation<S> {
+	/** 評価に用いるForkJoinPool */
+	private final ForkJoinPool forkJoinPool;
+	/** 評価した個体数 */
+	private int numberOfComputedEvaluations;
+
+	/**
+	 * コンストラクタ
+	 * @param forkJoinPool 評価に用いるForkJoinPool．ForkJoinPool used for evaluation
+	 */
+	public ParallelEvaluation(ForkJoinPool forkJoinPool) {
+		if(Objects.isNull(forkJoinPool)) {
+			throw new IllegalArgumentException("argument [forkJoinPool] is null @" + this.getClass().getSimpleName());}
+		this.forkJoinPool = forkJoinPool;
+		this.numberOfComputedEvaluations = 0;
+	}
+
+	@Override
+	public List<S> evaluate(List<S> solutionList, Problem<S> problem) {
+		this.forkJoinPool.submit(() ->
+			IntStream.range(0, solutionList.size())
+				.parallel()
+				.forEach(i -> problem.evaluate(solutionList.get(i)))
+		).join();
+
+		this.numberOfComputedEvaluations += solutionList.size();
+		return solutionList;
+	}
+
+	@Override
+	public int getComputedEvaluations() {
+		return this.numberOfComputedEvaluations;
+	}
+
+	/**
+	 * 評価に用いるForkJoinPoolの並列数を返します．
+	 * @return 並列数
+	 */
+	public int getParallelism() {
+		return this.forkJoinPool.getParallelism();
+	}
+
+	@Override
+	public String toString() {
+		return "ParallelEvaluation [parallelism=" + this.getParallelism()
+				+ ", numberOfComputedEvaluations=" + this.numberOfComputedEvaluations + "]";
+	}
+}
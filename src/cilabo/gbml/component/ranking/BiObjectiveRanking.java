@@ -0,0 +1,187 @@
+package cilabo.gbml.component.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.uma.jmetal.component.ranking.Ranking;
+import org.uma.jmetal.component.ranking.impl.FastNonDominatedSortRanking;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.solution.util.attribute.util.attributecomparator.AttributeComparator;
+import org.uma.jmetal.solution.util.attribute.util.attributecomparator.impl.IntegerValueAttributeComparator;
+import org.uma.jmetal.util.JMetalException;
+
+import cilabo.utility.GeneralFunctions;
+
+/**
+ * 2目的最小化問題に特化した非優越ソート．目的関数値の配列を辞書順に並べて走査し，
+ * 各解のランクを各ランクの第2目的の最小値に対する二分探索で求めるためO(N log N)で計算する．<br>
+ * ランク・各ランク内の解の順序はFastNonDominatedSortRankingと一致する．
+ * 混雑距離が等しい解の扱いは解の順序に依存するため，FastNonDominatedSortRankingと置き換えても結果は変わらない．
+ * 制約を持たない解を対象とする．<br>
+ * Non-dominated sorting for two-objective minimization in O(N log N). Equivalent to FastNonDominatedSortRanking.
+ * @author Takigawa Hiroki
+ *
+ * @param <S> ランク付けする解の型
+ */
+@SuppressWarnings("serial")
+public class BiObjectiveRanking<S extends Solution<?>> implements Ranking<S> {
+	/** ランクを設定する属性のID．FastNonDominatedSortRankingのランクを参照する処理(SolutionListUtils等)と整合するよう同じIDとする */
+	private final String attributeId = FastNonDominatedSortRanking.class.getName();
+	/** ランクの昇順に並べる比較 */
+	private final Comparator<S> solutionComparator;
+	/** ランク毎の解 */
+	private List<ArrayList<S>> rankedSubPopulations;
+
+	/** コンストラクタ */
+	public BiObjectiveRanking() {
+		this.solutionComparator = new IntegerValueAttributeComparator<>(this.attributeId, AttributeComparator.Ordering.ASCENDING);
+		this.rankedSubPopulations = new ArrayList<>();
+	}
+
+	@Override
+	public Ranking<S> computeRanking(List<S> solutionList) {
+		int size = solutionList.size();
+		double[] f1 = new double[size];
+		double[] f2 = new double[size];
+		for(int i = 0; i < size; i++) {
+			S solution = solutionList.get(i);
+			if(solution.getNumberOfObjectives() != 2) {
+				throw new IllegalArgumentException("number of objectives must be 2 @" + this.getClass().getSimpleName());}
+			f1[i] = solution.getObjective(0);
+			f2[i] = solution.getObjective(1);
+		}
+
+		/* 第1目的・第2目的の辞書順に走査し，優越されない最小のランクを二分探索で求める．
+		 * 走査済みの解は全て第1目的が以下であるため，ランクkの解に優越されるかどうかはランクkの第2目的の最小値から判定できる */
+		int[] order = new int[size];
+		for(int i = 0; i < size; i++) { order[i] = i; }
+		GeneralFunctions.stableSortIndices(order, f2);
+		GeneralFunctions.stableSortIndices(order, f1);
+		int[] rank = new int[size];
+		double[] minF2 = new double[size];
+		double[] f1AtMinF2 = new double[size];
+		int numberOfFronts = 0;
+		for(int p : order) {
+			int low = 0;
+			int high = numberOfFronts;
+			while(low < high) {
+				int mid = (low + high) >>> 1;
+				if(minF2[mid] < f2[p] || (minF2[mid] == f2[p] && f1AtMinF2[mid] < f1[p])) { low = mid + 1; }
+				else { high = mid; }
+			}
+			rank[p] = low;
+			if(low == numberOfFronts) {
+				numberOfFronts++;
+				minF2[low] = f2[p];
+				f1AtMinF2[low] = f1[p];
+			}
+			else if(f2[p] < minF2[low]) {
+				minF2[low] = f2[p];
+				f1AtMinF2[low] = f1[p];
+			}
+		}
+
+		int[][] fronts = new int[numberOfFronts][];
+		int[] count = new int[numberOfFronts];
+		for(int i = 0; i < size; i++) { count[rank[i]]++; }
+		for(int k = 0; k < numberOfFronts; k++) { fronts[k] = new int[count[k]]; count[k] = 0; }
+		for(int i = 0; i < size; i++) { fronts[rank[i]][count[rank[i]]++] = i; }
+		int[] position = new int[size];
+		double[] key = new double[size];
+		for(int k = 1; k < numberOfFronts; k++) {
+			this.orderLikeFastNonDominatedSort(fronts[k - 1], fronts[k], f1, f2, position, key);
+		}
+
+		this.rankedSubPopulations = new ArrayList<>(numberOfFronts);
+		for(int k = 0; k < numberOfFronts; k++) {
+			ArrayList<S> subPopulation = new ArrayList<>(fronts[k].length);
+			for(int i : fronts[k]) {
+				S solution = solutionList.get(i);
+				solution.setAttribute(this.attributeId, k);
+				subPopulation.add(solution);
+			}
+			this.rankedSubPopulations.add(subPopulation);
+		}
+		return this;
+	}
+
+	/**
+	 * ランクの解をFastNonDominatedSortRankingと同じ順序に並べる．
+	 * FastNonDominatedSortRankingでは，前のランクの解を順に処理し，優越する解が全て処理された時点で解をランクに加える．
+	 * そのため解の順序は，優越する前のランクの解のうち最後に処理される解の位置の昇順(同じ場合はインデックスの昇順)となる．<br>
+	 * 前のランクの解を第1目的の昇順に並べると第2目的は降順となり，解を優越する解は連続した区間となるため，区間の最大値から求める．
+	 * @param previous 前のランクの解のインデックス．FastNonDominatedSortRankingと同じ順序
+	 * @param front 並べるランクの解のインデックス．昇順
+	 * @param f1 第1目的
+	 * @param f2 第2目的
+	 * @param position 作業用の配列．前のランクの解の位置を設定する
+	 * @param key 作業用の配列．並べるランクの解の並べ替えの値を設定する
+	 */
+	private void orderLikeFastNonDominatedSort(int[] previous, int[] front, double[] f1, double[] f2, int[] position, double[] key) {
+		int n = previous.length;
+		int[] sorted = previous.clone();
+		GeneralFunctions.stableSortIndices(sorted, f1);
+		double[] sortedF1 = new double[n];
+		double[] sortedF2 = new double[n];
+		int[][] maxPosition = new int[32 - Integer.numberOfLeadingZeros(n)][];
+		maxPosition[0] = new int[n];
+		for(int j = 0; j < n; j++) { position[previous[j]] = j; }
+		for(int j = 0; j < n; j++) {
+			sortedF1[j] = f1[sorted[j]];
+			sortedF2[j] = f2[sorted[j]];
+			maxPosition[0][j] = position[sorted[j]];
+		}
+		// 区間の最大値を求めるスパーステーブル
+		for(int level = 1; level < maxPosition.length; level++) {
+			int half = 1 << (level - 1);
+			maxPosition[level] = new int[n - (1 << level) + 1];
+			for(int j = 0; j < maxPosition[level].length; j++) {
+				maxPosition[level][j] = Math.max(maxPosition[level - 1][j], maxPosition[level - 1][j + half]);
+			}
+		}
+
+		for(int x : front) {
+			// 第1目的が以下の解は[0, high)，第2目的が以下の解は[low, n)
+			int high = 0, upper = n;
+			while(high < upper) {
+				int mid = (high + upper) >>> 1;
+				if(sortedF1[mid] <= f1[x]) { high = mid + 1; } else { upper = mid; }
+			}
+			int low = 0;
+			upper = n;
+			while(low < upper) {
+				int mid = (low + upper) >>> 1;
+				if(sortedF2[mid] <= f2[x]) { upper = mid; } else { low = mid + 1; }
+			}
+			if(low >= high) {
+				throw new JMetalException("No dominating solution in previous front @" + this.getClass().getSimpleName());}
+			int level = 31 - Integer.numberOfLeadingZeros(high - low);
+			key[x] = Math.max(maxPosition[level][low], maxPosition[level][high - (1 << level)]);
+		}
+		GeneralFunctions.stableSortIndices(front, key);
+	}
+
+	@Override
+	public List<S> getSubFront(int rank) {
+		if(rank >= this.rankedSubPopulations.size()) {
+			throw new JMetalException("Invalid rank: " + rank + ". Max rank = " + (this.rankedSubPopulations.size() - 1));
+		}
+		return this.rankedSubPopulations.get(rank);
+	}
+
+	@Override
+	public int getNumberOfSubFronts() {
+		return this.rankedSubPopulations.size();
+	}
+
+	@Override
+	public Comparator<S> getSolutionComparator() {
+		return this.solutionComparator;
+	}
+
+	@Override
+	public String getAttributeId() {
+		return this.attributeId;
+	}
+}
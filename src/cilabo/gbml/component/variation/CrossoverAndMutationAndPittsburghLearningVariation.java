@@ -3,6 +3,7 @@ package cilabo.gbml.component.variation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.uma.jmetal.component.variation.Variation;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
@@ -11,7 +12,11 @@ import org.uma.jmetal.util.JMetalException;
 
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+import cilabo.main.Consts;
 import cilabo.utility.GeneralFunctions;
+import cilabo.utility.Parallel;
+import cilabo.utility.Random;
+import random.MersenneTwisterFast;
 
 public class CrossoverAndMutationAndPittsburghLearningVariation<S extends PittsburghSolution<?>>
 			implements Variation<S>
@@ -20,6 +25,8 @@ public class CrossoverAndMutationAndPittsburghLearningVariation<S extends Pittsb
 	private MutationOperator<S> mutation;
 	private int matingPoolSize;
 	private int offspringPopulationSize;
+	/** variateの呼出し回数．乱数ストリームの導出に用いる */
+	private long generation = 0;
 
 	public CrossoverAndMutationAndPittsburghLearningVariation(
 			int offspringPopulationSize,
@@ -52,38 +59,84 @@ public class CrossoverAndMutationAndPittsburghLearningVariation<S extends Pittsb
 		checkNumberOfParents(matingCopy, numberOfParents);
 
 		List<S> offspringPopulation = new ArrayList<>(offspringPopulationSize);
+		long generation = this.generation++;
+		if(Consts.RANDOM_STREAM) {
+			/* 子個体の組毎に独立な乱数ストリームを用いて学習用ForkJoinPool上で並列に生成し，組の順に並べる */
+			int numberOfSlots = matingPoolSize / numberOfParents;
+			List<List<S>> slotOffspring = Parallel.getInstance().getLearningForkJoinPool().submit(() ->
+				IntStream.range(0, numberOfSlots).parallel()
+					.mapToObj(slot -> this.reproduceWithStream(generation, slot,
+							matingCopy.subList(slot * numberOfParents, (slot + 1) * numberOfParents)))
+					.collect(Collectors.toList())
+			).join();
+			for(List<S> offspring : slotOffspring) {
+				for(S solution : offspring) {
+					if(offspringPopulation.size() == offspringPopulationSize) { break; }
+					offspringPopulation.add(solution);
+				}
+			}
+			return offspringPopulation;
+		}
+
 		for(int i = 0; i < matingPoolSize; i+= numberOfParents) {
 			List<S> parents = new ArrayList<>(numberOfParents);
 			for(int j = 0; j < numberOfParents; j++) {
 				parents.add(matingCopy.get(i + j));
 			}
+			offspringPopulation.addAll(this.reproduce(parents, offspringPopulationSize - offspringPopulation.size()));
+		}
 
-			/* Crossover */
-			List<S> offspring = crossover.execute(parents);
-			if(!GeneralFunctions.checkRule((PittsburghSolution<MichiganSolution<?>>) offspring.get(0))) {
-				System.err.println("crossover @" + this.getClass().getSimpleName());
-			}
+		return offspringPopulation;
+	}
+
+	/**
+	 * 世代と組の番号から導出した乱数ストリームを用いて子個体を生成する．生成される子個体は他の組の生成順序やスレッドによらない．
+	 * @param generation variateの呼出し回数
+	 * @param slot 親個体の組の番号
+	 * @param parents 親個体
+	 * @return 生成した全ての子個体
+	 */
+	private List<S> reproduceWithStream(long generation, int slot, List<S> parents) {
+		List<S> generated = new ArrayList<>();
+		MersenneTwisterFast stream = Random.getInstance().createStream(generation, slot);
+		Random.getInstance().runWithStream(stream,
+				() -> generated.addAll(this.reproduce(new ArrayList<>(parents), -1)));
+		return generated;
+	}
 
-			for(S solution : offspring) {
-				if(solution.getNumberOfVariables() < 1) {
-					System.err.println("number Of Rules is less than 1 @" + this.getClass().getSimpleName());}
-				/* Mutation */
-				mutation.execute(solution);
-				/* Learning */
-				solution.learning();
+	/**
+	 * 親個体に交叉・突然変異・後件部の学習を適用して子個体を生成する．
+	 * @param parents 親個体
+	 * @param remaining 子個体群に追加できる子個体数．生成した子個体数が達した時点で残りの子個体は破棄する．負の場合は全て生成する
+	 * @return 生成した子個体
+	 */
+	private List<S> reproduce(List<S> parents, int remaining) {
+		List<S> generated = new ArrayList<>();
 
-				if(!GeneralFunctions.checkRule((PittsburghSolution<MichiganSolution<?>>) offspring.get(0))) {
-					System.err.println("mutation @" + this.getClass().getSimpleName());
-				}
+		/* Crossover */
+		List<S> offspring = crossover.execute(parents);
+		if(!GeneralFunctions.checkRule((PittsburghSolution<MichiganSolution<?>>) offspring.get(0))) {
+			System.err.println("crossover @" + this.getClass().getSimpleName());
+		}
 
-				offspringPopulation.add(solution);
-				if(offspringPopulation.size() == offspringPopulationSize) {
-					break;
-				}
+		for(S solution : offspring) {
+			if(solution.getNumberOfVariables() < 1) {
+				System.err.println("number Of Rules is less than 1 @" + this.getClass().getSimpleName());}
+			/* Mutation */
+			mutation.execute(solution);
+			/* Learning */
+			solution.learning();
+
+			if(!GeneralFunctions.checkRule((PittsburghSolution<MichiganSolution<?>>) offspring.get(0))) {
+				System.err.println("mutation @" + this.getClass().getSimpleName());
 			}
-		}
 
-		return offspringPopulation;
+			generated.add(solution);
+			if(generated.size() == remaining) {
+				break;
+			}
+		}
+		return generated;
 	}
 
 	/**
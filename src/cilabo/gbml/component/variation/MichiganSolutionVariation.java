@@ -8,6 +8,7 @@ import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.util.JMetalException;
 
+import cilabo.gbml.solution.michiganSolution.AbstractMichiganSolution;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 
 public class MichiganSolutionVariation<S extends MichiganSolution<?>> implements Variation<S> {
@@ -50,8 +51,6 @@ public class MichiganSolutionVariation<S extends MichiganSolution<?>> implements
 			for(S s : offspring) {
 				// Mutation
 				mutation.execute(s);
-				// Learning
-				s.learning();
 
 				offspringPopulation.add(s);
 				if(offspringPopulation.size() == offspringPopulationSize) {
@@ -59,6 +58,8 @@ public class MichiganSolutionVariation<S extends MichiganSolution<?>> implements
 				}
 			}
 		}
+		// Learning: 全ての子個体の後件部を一括で学習する
+		AbstractMichiganSolution.learning(offspringPopulation);
 		return offspringPopulation;
 	}
 
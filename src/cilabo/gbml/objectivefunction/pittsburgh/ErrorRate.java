@@ -1,14 +1,21 @@
 package cilabo.gbml.objectivefunction.pittsburgh;
 
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import cilabo.data.DataSet;
 import cilabo.data.pattern.Pattern;
+import cilabo.fuzzy.classifier.Classifier;
+import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
+import cilabo.fuzzy.classifier.impl.Classifier_basic;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
+import cilabo.gbml.solution.pittsburghSolution.AbstractPittsburghSolution;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+import cilabo.gbml.solution.util.PatternIndexSet;
+import cilabo.gbml.solution.util.WinnerTable;
 import cilabo.gbml.solution.util.attribute.ErroredPatternsAttribute;
-import cilabo.gbml.solution.util.attribute.NumberOfClassifierPatterns;
-import cilabo.gbml.solution.util.attribute.NumberOfWinner;
+import cilabo.main.Consts;
 
 /**
  * 誤識別率計算評価関数
@@ -21,7 +28,12 @@ public final class ErrorRate <S extends PittsburghSolution<?>>{
 	public ErrorRate() {}
 
 	/**
-	 * 識別不能ルールは誤識別として処理
+	 * 識別不能ルールは誤識別として処理<br>
+	 * 誤識別パターンの位置はPatternIndexSetとして解の属性に設定する．<br>
+	 * ルール毎の勝利パターン数と正識別パターン数は解に設定し，MichiganSolutionは変更しない．<br>
+	 * Consts.INCREMENTAL_ERROR_RATEがtrueかつ単一勝利ルールによる識別の場合，
+	 * 解またはコピー元が保持する勝利ルール表との差分から識別結果が変化し得るパターンのみ再識別する．
+	 * @see WinnerTable
 	 * @param solution
 	 * @param train
 	 * @return
@@ -30,44 +42,75 @@ public final class ErrorRate <S extends PittsburghSolution<?>>{
 		// Classification
 		int numberOfErrorPatterns = 0;
 
-		String attributeId = new NumberOfWinner<S>().getAttributeId();
-		String attributeIdFitness = new NumberOfClassifierPatterns<S>().getAttributeId();
-		for(MichiganSolution<?> michiganSolution: solution.getVariables()) {
-			michiganSolution.setAttribute(attributeId, 0);
-			michiganSolution.setAttribute(attributeIdFitness, 0);
-		}
+		// ルールは他の解と共有しているため，ルール毎の結果は解が持つ配列に集計する
+		int[] numberOfWinner = new int[solution.getNumberOfVariables()];
+		int[] numberOfClassifierPatterns = new int[solution.getNumberOfVariables()];
 
-		ArrayList<Pattern<?>> erroredPatterns = new ArrayList<Pattern<?>>();
+		WinnerTable winnerTable = this.createWinnerTable(solution, train);
+		Map<MichiganSolution<?>, Integer> ruleIndex = null;
+		if(Objects.isNull(winnerTable)) {
+			ruleIndex = new IdentityHashMap<>();
+			for(int i = 0; i < solution.getNumberOfVariables(); i++) {
+				ruleIndex.putIfAbsent(solution.getVariable(i), i);
+			}
+		}
+		int[] erroredPatterns = new int[train.getDataSize()];
 		for(int i = 0; i < train.getDataSize(); i++) {
 			Pattern<?> pattern = train.getPattern(i);
-			MichiganSolution<?> winnerSolution = solution.classify(pattern);
+			MichiganSolution<?> winnerSolution;
+			int winner;
+			if(Objects.isNull(winnerTable)) {
+				winnerSolution = solution.classify(pattern);
+				winner = winnerSolution == null ? -1 : ruleIndex.get(winnerSolution);
+			}else {
+				winner = winnerTable.getWinner(i);
+				winnerSolution = winner < 0 ? null : solution.getVariable(winner);
+			}
 
 			// If output is rejected then continue next pattern.
 			if(winnerSolution == null) {
 				/* Add errored pattern Attribute */
-				numberOfErrorPatterns++;
-				erroredPatterns.add(pattern);
+				erroredPatterns[numberOfErrorPatterns++] = i;
 				continue;
 			}
 
-			int buf = (int) winnerSolution.getAttribute(attributeId);
-			winnerSolution.setAttribute(attributeId, buf+1);
+			numberOfWinner[winner]++;
 
 			/* If a winner rule correctly classify a pattern,
 			 * then the winner rule's fitness will be incremented. */
 			if(!pattern.getTargetClass().equalsClassLabel(
 					winnerSolution.getClassLabel()) ){
-				numberOfErrorPatterns++;
-				erroredPatterns.add(pattern);
+				erroredPatterns[numberOfErrorPatterns++] = i;
 			}else {
-				int buf2 = (int) winnerSolution.getAttribute(attributeIdFitness);
-				winnerSolution.setAttribute(attributeIdFitness, buf2+1);
+				numberOfClassifierPatterns[winner]++;
 			}
 		}
 
-		solution.setAttribute(new ErroredPatternsAttribute<S>().getAttributeId(), erroredPatterns);
+		solution.setRuleStatistics(numberOfWinner, numberOfClassifierPatterns);
+
+		solution.setAttribute(new ErroredPatternsAttribute<S>().getAttributeId(),
+				PatternIndexSet.of(train, erroredPatterns, numberOfErrorPatterns));
 
 		double errorRate = numberOfErrorPatterns / (double)train.getDataSize();
 		return errorRate;
 	}
+
+	/** 差分計算が可能な場合に勝利ルール表を作成し，解に設定する
+	 * @param solution 評価する解
+	 * @param train 評価に用いるデータセット
+	 * @return 作成された勝利ルール表．差分計算を行わない場合はnull */
+	private WinnerTable createWinnerTable(S solution, DataSet<?> train) {
+		if(!Consts.INCREMENTAL_ERROR_RATE || !(solution instanceof AbstractPittsburghSolution)) { return null; }
+		AbstractPittsburghSolution<?> pittsburghSolution = (AbstractPittsburghSolution<?>) solution;
+		Classifier<?> classifier = pittsburghSolution.getClassifier();
+		if(!(classifier instanceof Classifier_basic)
+				|| !(((Classifier_basic<?>) classifier).getClassification() instanceof SingleWinnerRuleSelection)) {
+			return null;
+		}
+		SingleWinnerRuleSelection<?> classification = (SingleWinnerRuleSelection<?>) ((Classifier_basic<?>) classifier).getClassification();
+
+		WinnerTable winnerTable = WinnerTable.create(solution.getVariables(), train, classification, pittsburghSolution.getWinnerTable());
+		pittsburghSolution.setWinnerTable(winnerTable);
+		return winnerTable;
+	}
 }
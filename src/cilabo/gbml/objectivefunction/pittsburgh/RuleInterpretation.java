@@ -4,7 +4,6 @@ import cilabo.fuzzy.knowledge.FuzzyTermTypeForMixed;
 import cilabo.fuzzy.knowledge.Knowledge;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
-import cilabo.gbml.solution.util.attribute.NumberOfWinner;
 import cilabo.main.ExperienceParameter.DIVISION_TYPE;
 
 public final class RuleInterpretation <S extends PittsburghSolution<?>>{
@@ -15,8 +14,7 @@ public final class RuleInterpretation <S extends PittsburghSolution<?>>{
 		double ruleInterpretation = 0;
 		for(int i = 0; i < solution.getNumberOfVariables(); i++) {
 			MichiganSolution<?> michiganSolution = solution.getVariable(i);
-			String attributeId = new NumberOfWinner<S>().getAttributeId();
-			if((int)michiganSolution.getAttribute(attributeId) > 0) {
+			if(solution.getNumberOfWinner(i) > 0) {
 				ruleInterpretation += 1;
 			}
 			ruleInterpretation += michiganSolution.getRuleLength()*1e-4f;
@@ -19,8 +19,10 @@ import cilabo.data.DataSet;
 import cilabo.data.pattern.Pattern;
 import cilabo.gbml.component.replacement.RuleAdditionStyleReplacement;
 import cilabo.gbml.operator.mutation.MichiganMutation;
+import cilabo.gbml.solution.michiganSolution.AbstractMichiganSolution;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+import cilabo.gbml.solution.util.PatternIndexSet;
 import cilabo.gbml.solution.util.SortMichiganPopulation;
 import cilabo.gbml.solution.util.attribute.ErroredPatternsAttribute;
 import cilabo.gbml.solution.util.attribute.NumberOfClassifierPatterns;
@@ -100,6 +102,15 @@ public class MichiganCrossover <pittsburghSolution extends PittsburghSolution<mi
 
 		List<michiganSolution> generatedMichiganSolution = new ArrayList<>();
 
+		/* 親個体のルールの複製．解が保持するルール毎の正識別パターン数を属性に設定し，交配選択と置換に用いる */
+		String attributeIdFitness = new NumberOfClassifierPatterns<michiganSolution>().getAttributeId();
+		List<michiganSolution> parentMichiganSolution = new ArrayList<>();
+		for(int i = 0; i < parent.getNumberOfVariables(); i++) {
+			michiganSolution michiganSolution = (michiganSolution) parent.getVariable(i).copy();
+			michiganSolution.setAttribute(attributeIdFitness, parent.getNumberOfClassifierPatterns(i));
+			parentMichiganSolution.add(michiganSolution);
+		}
+
 		/* Step 1. Calculate number of all of generating rules. */
 		int numberOfRulesOnParent = parent.getNumberOfVariables();
 		int numberOfGeneratingRules = (int) (numberOfRulesOnParent*Consts.RULE_CHANGE_RT + 1);
@@ -115,21 +126,23 @@ public class MichiganCrossover <pittsburghSolution extends PittsburghSolution<mi
 
 		/* Step 3. Heuristic Rule Generation */
 		if( 0<numberOfHeuristic ) {
-			@SuppressWarnings("unchecked")
-			List<Pattern<?>> erroredPatterns = (ArrayList<Pattern<?>>) parent.getAttribute(new ErroredPatternsAttribute<>().getAttributeId());
-			//誤識別パターンが足りないor無い場合は，ランダムなパターンをリストに追加
-			int NumberOfLack = numberOfHeuristic - erroredPatterns.size();
+			// 誤識別パターンの集合は解の複製間で共有されるため変更しない
+			PatternIndexSet erroredPatterns = (PatternIndexSet) parent.getAttribute(new ErroredPatternsAttribute<>().getAttributeId());
+			int numberOfErroredPatterns = erroredPatterns.size();
+			//誤識別パターンが足りないor無い場合は，ランダムなパターンを候補に追加
+			int NumberOfLack = numberOfHeuristic - numberOfErroredPatterns;
+			int[] randomPatterns = new int[Math.max(0, NumberOfLack)];
 			for(int i = 0; i < NumberOfLack; i++) {
-				Pattern<?> pattern = train.getPattern(Random.getInstance().getGEN()
-						.nextInt(train.getDataSize()));
-				erroredPatterns.add(pattern);
+				randomPatterns[i] = Random.getInstance().getGEN().nextInt(train.getDataSize());
 			}
-			//Sampling patterns without replacement from erroredPatterns.
-			Integer[] erroredPatternsIndex = GeneralFunctions.samplingWithout(erroredPatterns.size(),
+			//Sampling patterns without replacement from erroredPatterns and random patterns.
+			Integer[] erroredPatternsIndex = GeneralFunctions.samplingWithout(numberOfErroredPatterns + randomPatterns.length,
 					numberOfHeuristic,
 					Random.getInstance().getGEN());
 			for(Integer pattern_i : erroredPatternsIndex) {
-				Pattern<?> pattern = erroredPatterns.get(pattern_i);
+				Pattern<?> pattern = pattern_i < numberOfErroredPatterns
+						? erroredPatterns.getPattern(pattern_i)
+						: train.getPattern(randomPatterns[pattern_i - numberOfErroredPatterns]);
 				michiganSolution michiganSolution = parent.getMichiganSolutionBuilder().createMichiganSolution(pattern);
 				generatedMichiganSolution.add(michiganSolution);
 			}
@@ -156,18 +169,22 @@ public class MichiganCrossover <pittsburghSolution extends PittsburghSolution<mi
 			MatingPoolSelection<michiganSolution> selection = new NaryTournamentMatingPoolSelection<michiganSolution>(
 					tournamentSize,
 					matingPoolSize,
-					new IntegerValueAttributeComparator<michiganSolution>(new NumberOfClassifierPatterns<michiganSolution>().getAttributeId(),
+					new IntegerValueAttributeComparator<michiganSolution>(attributeIdFitness,
 							AttributeComparator.Ordering.DESCENDING)
 					);
 			/* == GA START == */
 			/* Mating Selection */
-			List<michiganSolution> matingPopulation = selection.select((List<michiganSolution>) parent.getVariables());
+			List<michiganSolution> matingPopulation = selection.select(parentMichiganSolution);
 			/* Offspring Generation */
 			List<michiganSolution> generatedSolutionByGA = new ArrayList<>();
 			int numberOfParents = crossover.getNumberOfRequiredParents();
-			
-			outer:
-			for(int i = 0; i < matingPoolSize; i+= numberOfParents) {
+
+			/* Crossover and Mutation. 後件部の学習は全ての子個体について一括で行う */
+			List<List<michiganSolution>> parentsList = new ArrayList<>();
+			List<List<michiganSolution>> offspringList = new ArrayList<>();
+			List<michiganSolution> unlearnedOffspring = new ArrayList<>();
+			// 子個体がNumberOfGA個に達するまで生成する．親個体で置き換えられた組も同じ個数の解を占めるため，生成する組の数は子個体毎に学習する場合と変わらない
+			for(int i = 0; i < matingPoolSize && unlearnedOffspring.size() < NumberOfGA; i+= numberOfParents) {
 				List<michiganSolution> parents = new ArrayList<>();
 				for(int j = 0; j < numberOfParents; j++) {
 					parents.add((michiganSolution) matingPopulation.get(i + j).copy());
@@ -178,10 +195,19 @@ public class MichiganCrossover <pittsburghSolution extends PittsburghSolution<mi
 				/* Mutation */
 				for(michiganSolution s : offspring) {
 					mutation.execute(s);
-					s.learning();
 				}
+				parentsList.add(parents);
+				offspringList.add(offspring);
+				unlearnedOffspring.addAll(offspring);
+			}
+			/* Learning */
+			AbstractMichiganSolution.learning(unlearnedOffspring);
+
+			outer:
+			for(int k = 0; k < offspringList.size(); k++) {
+				List<michiganSolution> offspring = offspringList.get(k);
 				if(!GeneralFunctions.checkRule((List<MichiganSolution<?>>) offspring)) {
-					offspring = new ArrayList<michiganSolution>(parents);
+					offspring = new ArrayList<michiganSolution>(parentsList.get(k));
 				}
 
 				for(michiganSolution michiganSolution_tmp : offspring) {
@@ -199,13 +225,7 @@ public class MichiganCrossover <pittsburghSolution extends PittsburghSolution<mi
 
 		/* Replacement: Single objective maximization repelacement */
 		Replacement<michiganSolution> replacement = new RuleAdditionStyleReplacement<michiganSolution>();
-		List<michiganSolution> parentMichiganSolution = new ArrayList<>();
-		List<michiganSolution> childMichiganSolution = new ArrayList<>();
-		//Deep copy
-		for(int i = 0; i < parent.getNumberOfVariables(); i++) {
-			parentMichiganSolution.add((michiganSolution) parent.getVariable(i).copy());
-		}
-		childMichiganSolution = replacement.replace(parentMichiganSolution, generatedMichiganSolution);
+		List<michiganSolution> childMichiganSolution = replacement.replace(parentMichiganSolution, generatedMichiganSolution);
 
 		/* Pittsburgh solution */
 		pittsburghSolution child = (pittsburghSolution) parent.copy();
@@ -84,7 +84,9 @@ public class PittsburghMutation<pittsburghSolution extends PittsburghSolution<mi
 				/* Decide which demension is performed mutation. */
 				int mutatedDimension = Random.getInstance().getGEN().nextInt(dimension);
 
-				int variableBefore = solution.getVariable(rule_i).getVariable(mutatedDimension);
+				// 他の解と共有しているルールは変更する前に複製する
+				michiganSolution rule = solution.getMutableVariable(rule_i);
+				int variableBefore = rule.getVariable(mutatedDimension);
 
 				/* To judge which mutatedDimension is categorical or numerical  */
 				double variableOfRandomPattern = train
@@ -96,26 +98,26 @@ public class PittsburghMutation<pittsburghSolution extends PittsburghSolution<mi
 					if(numberOfCandidates <= 1) {break;}
 					//既に入力済みのファジィセットのインデックス以外の値をランダムに決定し入力する
 					int newFuzzySet = intRandomGenerator.getRandomValue(0, numberOfCandidates-2);
-					if(newFuzzySet < (int)solution.getVariable(rule_i).getVariable(mutatedDimension)) {
-						solution.getVariable(rule_i).setVariable(mutatedDimension, newFuzzySet);
+					if(newFuzzySet < (int)rule.getVariable(mutatedDimension)) {
+						rule.setVariable(mutatedDimension, newFuzzySet);
 					}else {
-						solution.getVariable(rule_i).setVariable(mutatedDimension, newFuzzySet+1);
+						rule.setVariable(mutatedDimension, newFuzzySet+1);
 					}
-					solution.getVariable(rule_i).learning();
+					rule.learning();
 
-					if(solution.getVariable(rule_i).getConsequent().isRejectedClassLabel()) {
-						solution.getVariable(rule_i).setVariable(mutatedDimension, variableBefore);
-						solution.getVariable(rule_i).learning();
+					if(rule.getConsequent().isRejectedClassLabel()) {
+						rule.setVariable(mutatedDimension, variableBefore);
+						rule.learning();
 					}
 				}
 				/* Attribute is categorical */
 				else {
-					solution.getVariable(rule_i).setVariable( mutatedDimension, (int)variableOfRandomPattern);
-					solution.getVariable(rule_i).learning();
+					rule.setVariable( mutatedDimension, (int)variableOfRandomPattern);
+					rule.learning();
 
-					if(solution.getVariable(rule_i).getConsequent().isRejectedClassLabel()) {
-						solution.getVariable(rule_i).setVariable(mutatedDimension, variableBefore);
-						solution.getVariable(rule_i).learning();
+					if(rule.getConsequent().isRejectedClassLabel()) {
+						rule.setVariable(mutatedDimension, variableBefore);
+						rule.learning();
 					}
 				}
 			}
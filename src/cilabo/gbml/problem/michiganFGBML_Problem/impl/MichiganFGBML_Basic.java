@@ -51,7 +51,7 @@ public class MichiganFGBML_Basic <RuleObject extends Rule<?, ?, ?, ?, ?, ?>>
 
 		/* The first objective */
 		for(int i=0; i<train.getDataSize(); i++) {
-			double fitnessValue = solution.getFitnessValue(train.getPattern(i).getAttributeVector());
+			double fitnessValue = solution.getFitnessValue(train.getPattern(i));
 			double maxFitnessValue = winnerSolutionForEachPattern.get(i).getMaxFitnessValue();
 			if(maxFitnessValue < fitnessValue) {
 				winnerSolutionForEachPattern.set(i, new WinnerSolution(fitnessValue, solution));
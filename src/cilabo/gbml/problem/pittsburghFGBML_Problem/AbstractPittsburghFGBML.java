@@ -8,8 +8,9 @@ import cilabo.fuzzy.classifier.Classifier;
 import cilabo.gbml.objectivefunction.pittsburgh.NumberOfRules;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution.MichiganSolutionBuilder;
+import cilabo.gbml.solution.pittsburghSolution.AbstractPittsburghSolution;
 import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
-import cilabo.gbml.solution.util.attribute.NumberOfWinner;
+import cilabo.gbml.solution.util.WinnerTable;
 import cilabo.main.ExperienceParameter.OBJECTIVES_FOR_PITTSBURGH;
 
 public abstract class AbstractPittsburghFGBML <pittsburghSolutionObject extends PittsburghSolution<michiganSolution>,
@@ -17,6 +18,9 @@ public abstract class AbstractPittsburghFGBML <pittsburghSolutionObject extends
 		extends AbstractGenericProblem <pittsburghSolutionObject> implements Problem<pittsburghSolutionObject>{
 
 	protected DataSet<?> train;
+	/** 個体評価に用いるデータセット．nullの場合は学習用データ全体で評価する
+	 * @see #setEvaluationData(DataSet) */
+	private volatile DataSet<?> evaluationData;
 	protected MichiganSolutionBuilder<michiganSolution> michiganSolutionBuilder;
 
 	/** 識別方式
@@ -42,11 +46,20 @@ public abstract class AbstractPittsburghFGBML <pittsburghSolutionObject extends
 
 	public void removeNoWinnerMichiganSolution(PittsburghSolution<michiganSolution> solution) {
 		if(solution.getNumberOfVariables() == 0) {throw new ArithmeticException("This PittsburghSolution has no michiganSolution");}
+		int numberOfVariables = solution.getNumberOfVariables();
 		for(int i=0; i<solution.getNumberOfVariables(); i++) {
-			if((int)solution.getVariable(i).getAttribute((new NumberOfWinner<PittsburghSolution<michiganSolution>>()).getAttributeId()) < 1) {
+			if(solution.getNumberOfWinner(i) < 1) {
 				solution.removeVariable(i); i--;
 			}
 		}
+		/* 勝利ルール表を削除後のルール集合に合わせる．未勝利ルールはどのパターンの勝利ルールでもないため再識別は不要 */
+		if(numberOfVariables != solution.getNumberOfVariables() && solution instanceof AbstractPittsburghSolution) {
+			AbstractPittsburghSolution<?> pittsburghSolution = (AbstractPittsburghSolution<?>) solution;
+			WinnerTable winnerTable = pittsburghSolution.getWinnerTable();
+			if(winnerTable != null) {
+				pittsburghSolution.setWinnerTable(winnerTable.retain(solution.getVariables()));
+			}
+		}
 		NumberOfRules<PittsburghSolution<michiganSolution>> function2 = new NumberOfRules<PittsburghSolution<michiganSolution>>();
 		double f2 = function2.function(solution);
 		solution.setObjective(OBJECTIVES_FOR_PITTSBURGH.NumberOfRule.toInt(), f2);
@@ -60,6 +73,25 @@ public abstract class AbstractPittsburghFGBML <pittsburghSolutionObject extends
 		return train;
 	}
 
+	/**
+	 * 個体評価に用いるデータセットを返します．設定されていない場合は学習用データを返す．
+	 * @return 個体評価に用いるデータセット
+	 */
+	public DataSet<?> getEvaluationData() {
+		DataSet<?> evaluationData = this.evaluationData;
+		return evaluationData == null ? train : evaluationData;
+	}
+
+	/**
+	 * 個体評価に用いるデータセットを設定します．学習用データの部分集合(ミニバッチ)で評価する場合に用いる．
+	 * 個体群の評価中に変更しないこと．<br>
+	 * Sets data set used by evaluate, e.g. a subsample of training data set.
+	 * @param evaluationData 個体評価に用いるデータセット．nullの場合は学習用データ全体で評価する
+	 */
+	public void setEvaluationData(DataSet<?> evaluationData) {
+		this.evaluationData = evaluationData;
+	}
+
 	public MichiganSolutionBuilder<michiganSolution> getMichiganSolutionBuilder() {
 		return michiganSolutionBuilder;
 	}
@@ -34,7 +34,7 @@ public class PittsburghFGBML_ObjectiveFunction2 <michiganSolution extends Michig
 	public void evaluate(PittsburghSolution_Basic<michiganSolution> solution) {
 		/* The first objective */
 		ErrorRate<PittsburghSolution_Basic<michiganSolution>> function1 = new ErrorRate<PittsburghSolution_Basic<michiganSolution>>();
-		double f1 = function1.function(solution, train);
+		double f1 = function1.function(solution, this.getEvaluationData());
 		/* The second objective */
 		RuleInterpretation<PittsburghSolution_Basic<michiganSolution>> function2 = new RuleInterpretation<PittsburghSolution_Basic<michiganSolution>>();
 		double f2 = function2.function(solution);
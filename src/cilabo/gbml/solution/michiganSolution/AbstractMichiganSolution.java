@@ -1,8 +1,11 @@
 package cilabo.gbml.solution.michiganSolution;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -12,12 +15,15 @@ import org.w3c.dom.Element;
 import cilabo.data.AttributeVector;
 import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.knowledge.Knowledge;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.rule.Rule;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
 import cilabo.fuzzy.rule.antecedent.Antecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.consequent.Consequent;
 import cilabo.fuzzy.rule.consequent.classLabel.ClassLabel;
 import cilabo.fuzzy.rule.consequent.ruleWeight.RuleWeight;
+import cilabo.gbml.solution.util.FitnessValueCache;
 
 public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?, ?, ?, ?>>
 	extends AbstractSolution<Integer> implements MichiganSolution<RuleObject>{
@@ -28,6 +34,18 @@ public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?,
 	protected RuleObject rule;
 	/** ルールジェネレーター */
 	protected RuleBuilder<RuleObject, ?, ?> ruleBuilder;
+	/** 遺伝子のint配列．遺伝子の実体であり，variablesはこの配列を参照するビューとなる．適合度計算時にそのまま渡される */
+	protected final int[] antecedentIndex;
+	/** 遺伝子の疎な表現．遺伝子の変更時に破棄され，次回参照時に再生成される */
+	protected volatile SparseAntecedentIndex sparseAntecedentIndex;
+	/** MembershipTableに格納された学習用パターン毎の適合度ベクトル．生成後は変更されず，コピー間で共有される．
+	 * 後件部は遺伝子と学習用データから一意に決まるため，遺伝子の変更時にのみ破棄される
+	 * @see FitnessValueCache */
+	protected volatile double[] fitnessValues;
+	/** このインスタンスで適合度ベクトルの利用を記録済みかどうか */
+	private boolean fitnessValuesRecorded = false;
+	/** 複数のPittsburghSolutionに共有されているかどうか．falseからtrueにのみ変化する */
+	private volatile boolean shared = false;
 
 	/** コンストラクタ
 	 * @param bounds 各遺伝子が取りうる値の上限値と下限値の配列
@@ -38,9 +56,11 @@ public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?,
 			int numberOfObjectives,
 			int numberOfConstraints,
 			RuleBuilder<RuleObject, ?, ?> ruleBuilder) {
-		super(bounds.size(), numberOfObjectives, numberOfConstraints);
+		super(0, numberOfObjectives, numberOfConstraints);
 		this.bounds = bounds;
 		this.ruleBuilder = ruleBuilder;
+		this.antecedentIndex = new int[bounds.size()];
+		this.variables = new AntecedentIndexList();
 	}
 
 	/** コンストラクタ
@@ -76,14 +96,28 @@ public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?,
 
 	@Override
 	public void setVariables(int[] variables) {
-		for(int i=0; i<variables.length; i++) {
-			this.setVariable(i, variables[i]);
-		}
+		if(variables.length > this.antecedentIndex.length) {
+			throw new IndexOutOfBoundsException("argument [variables] is longer than number of variables @" + this.getClass().getSimpleName());}
+		System.arraycopy(variables, 0, this.antecedentIndex, 0, variables.length);
+		this.sparseAntecedentIndex = null;
+		this.clearFitnessValues();
+	}
+
+	@Override
+	public void setVariable(int index, Integer value) {
+		this.antecedentIndex[index] = value;
+		this.sparseAntecedentIndex = null;
+		this.clearFitnessValues();
 	}
 
 	@Override
 	public Integer getVariable(int index) {
-		return this.variables.get(index);
+		return this.antecedentIndex[index];
+	}
+
+	@Override
+	public int getNumberOfVariables() {
+		return this.antecedentIndex.length;
 	}
 
 	@Override
@@ -107,18 +141,96 @@ public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?,
 
 	@Override
 	public void learning() {
-		if(Objects.isNull(this.variables)) { throw new IllegalArgumentException("variables Array is null.");}
+		if(Objects.isNull(this.antecedentIndex)) { throw new IllegalArgumentException("variables Array is null.");}
 		this.rule = this.ruleBuilder.createConsequent(this.getVariablesArray());
 	}
 
+	/** 複数のMichiganSolutionの後件部の学習をまとめて行う．学習用データの走査は解の数によらず1回となる．<br>
+	 * 全ての解が同一のルール生成器を持つAbstractMichiganSolutionである場合のみ一括で学習し，それ以外の場合は個別にlearning()を呼び出す．
+	 * @param michiganSolutions 後件部を学習するMichiganSolutionのリスト */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static void learning(List<? extends MichiganSolution<?>> michiganSolutions) {
+		if(michiganSolutions.isEmpty()) { return; }
+		RuleBuilder<?, ?, ?> ruleBuilder = michiganSolutions.get(0).getRuleBuilder();
+		for(MichiganSolution<?> michiganSolution : michiganSolutions) {
+			if(!(michiganSolution instanceof AbstractMichiganSolution) || michiganSolution.getRuleBuilder() != ruleBuilder) {
+				michiganSolutions.forEach(MichiganSolution::learning);
+				return;
+			}
+		}
+
+		int[][] antecedentIndex = new int[michiganSolutions.size()][];
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			antecedentIndex[i] = michiganSolutions.get(i).getVariablesArray();
+		}
+		List<? extends Rule<?, ?, ?, ?, ?, ?>> rules = ruleBuilder.createConsequent(antecedentIndex);
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			((AbstractMichiganSolution) michiganSolutions.get(i)).rule = rules.get(i);
+		}
+	}
+
 	@Override
 	public double getFitnessValue(AttributeVector inputVector) {
-		return this.rule.getFitnessValue(this.getVariablesArray(), inputVector);
+		return this.rule.getFitnessValue(this.antecedentIndex, inputVector);
+	}
+
+	@Override
+	public double getFitnessValue(Pattern<?> pattern) {
+		if(FitnessValueCache.getInstance().isEnabled() && MembershipTable.getInstance().contains(pattern)) {
+			double[] fitnessValues = this.getFitnessValues();
+			if(!Objects.isNull(fitnessValues)) {
+				return fitnessValues[pattern.getID()];
+			}
+		}
+		return this.rule.getFitnessValue(this.getSparseAntecedentIndex(), pattern);
+	}
+
+	/** 学習用パターン毎の適合度ベクトルを返す．保持していない場合は予算内であれば計算して保持する．
+	 * @return 適合度ベクトル．予算を超える場合はnull */
+	private double[] getFitnessValues() {
+		double[] fitnessValues = this.fitnessValues;
+		if(this.fitnessValuesRecorded) {
+			return fitnessValues;
+		}
+		this.fitnessValuesRecorded = true;
+		if(!Objects.isNull(fitnessValues)) {
+			FitnessValueCache.getInstance().recordHit();
+			return fitnessValues;
+		}
+
+		FitnessValueCache.getInstance().recordMiss();
+		MembershipTable membershipTable = MembershipTable.getInstance();
+		fitnessValues = FitnessValueCache.getInstance().allocate(membershipTable.getDataSize());
+		if(Objects.isNull(fitnessValues)) {
+			return null;
+		}
+		SparseAntecedentIndex sparseAntecedentIndex = this.getSparseAntecedentIndex();
+		for(int i = 0; i < fitnessValues.length; i++) {
+			fitnessValues[i] = this.rule.getFitnessValue(sparseAntecedentIndex, membershipTable.getPattern(i));
+		}
+		this.fitnessValues = fitnessValues;
+		return fitnessValues;
+	}
+
+	/** 適合度ベクトルを破棄する */
+	protected void clearFitnessValues() {
+		this.fitnessValues = null;
+		this.fitnessValuesRecorded = false;
+	}
+
+	@Override
+	public void markShared() {
+		this.shared = true;
+	}
+
+	@Override
+	public boolean isShared() {
+		return this.shared;
 	}
 
 	@Override
 	public int getRuleLength() {
-		return this.rule.getRuleLength(this.getVariablesArray());
+		return this.rule.getRuleLength(this.antecedentIndex);
 	}
 
 	@Override
@@ -132,11 +244,17 @@ public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?,
 
 	@Override
 	public int[] getVariablesArray() {
-		int[] buf = new int[this.getNumberOfVariables()];
-		for(int i=0; i<this.getNumberOfVariables(); i++) {
-			buf[i] = this.getVariable(i);
+		return Arrays.copyOf(this.antecedentIndex, this.antecedentIndex.length);
+	}
+
+	@Override
+	public SparseAntecedentIndex getSparseAntecedentIndex() {
+		SparseAntecedentIndex sparseAntecedentIndex = this.sparseAntecedentIndex;
+		if(Objects.isNull(sparseAntecedentIndex)) {
+			sparseAntecedentIndex = SparseAntecedentIndex.of(this.antecedentIndex);
+			this.sparseAntecedentIndex = sparseAntecedentIndex;
 		}
-		return buf;
+		return sparseAntecedentIndex;
 	}
 
 	@Override
@@ -161,12 +279,38 @@ public abstract class AbstractMichiganSolution<RuleObject extends Rule<?, ?, ?,
 
 	@Override
 	public double[] getCompatibleGrade(AttributeVector attributeVector) {
-		return this.rule.getCompatibleGrade(this.getVariablesArray(), attributeVector);
+		return this.rule.getCompatibleGrade(this.antecedentIndex, attributeVector);
 	}
 
 	@Override
 	public double getCompatibleGradeValue(AttributeVector attributeVector) {
-		return this.rule.getCompatibleGradeValue(this.getVariablesArray(), attributeVector);
+		return this.rule.getCompatibleGradeValue(this.antecedentIndex, attributeVector);
+	}
+
+	@Override
+	public double getCompatibleGradeValue(Pattern<?> pattern) {
+		return this.rule.getCompatibleGradeValue(this.getSparseAntecedentIndex(), pattern);
+	}
+
+	/** 遺伝子のint配列を参照するList．jMetalのIntegerSolutionとしてのgetVariables()に用いる */
+	private final class AntecedentIndexList extends AbstractList<Integer> implements RandomAccess {
+
+		@Override
+		public Integer get(int index) {
+			return antecedentIndex[index];
+		}
+
+		@Override
+		public Integer set(int index, Integer element) {
+			int before = antecedentIndex[index];
+			setVariable(index, element);
+			return before;
+		}
+
+		@Override
+		public int size() {
+			return antecedentIndex.length;
+		}
 	}
 
 	public static abstract class MichiganSolutionBuilderCore<michiganObject extends MichiganSolution<RuleObject>,
@@ -10,6 +10,7 @@ import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.rule.Rule;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
 import cilabo.fuzzy.rule.antecedent.Antecedent;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
 import cilabo.fuzzy.rule.consequent.Consequent;
 import cilabo.fuzzy.rule.consequent.classLabel.ClassLabel;
 import cilabo.fuzzy.rule.consequent.ruleWeight.RuleWeight;
@@ -39,6 +40,11 @@ public interface MichiganSolution<RuleObject extends Rule<?, ?, ?, ?, ?, ?>> ext
 	 */
 	public int[] getVariablesArray();
 
+	/** 前件部のファジィセットのインデックス配列の疎な表現を返す．遺伝子の変更に追従する．
+	 * @return 前件部のファジィセットのインデックス配列の疎な表現
+	 */
+	public SparseAntecedentIndex getSparseAntecedentIndex();
+
 	/** RuleBuilderによって前件部を生成．遺伝子としてMichiganSolutionにセット．その後後件部学習を行う．*/
 	public void createRule();
 
@@ -53,12 +59,27 @@ public interface MichiganSolution<RuleObject extends Rule<?, ?, ?, ?, ?, ?>> ext
 	/** このインスタンスが持つ前件部を基に後件部の学習を行う */
 	public void learning();
 
+	/** 複数のPittsburghSolutionに共有されたことを記録する．共有されたインスタンスは変更せず，変更する場合は複製する．
+	 * 一度共有されたインスタンスは共有されていない状態に戻らない．複製は共有されていない状態となる．<br>
+	 * 複数のスレッドから同時に呼び出してよい．
+	 * @see cilabo.gbml.solution.pittsburghSolution.PittsburghSolution#getMutableVariable(int) */
+	public void markShared();
+
+	/** 複数のPittsburghSolutionに共有されているかを返す．
+	 * @return 共有されている場合true */
+	public boolean isShared();
+
 	/** 前件部のファジィセットのインデックス配列と属性値クラスを受け取り，入力パターンの属性値に対するルールの適合度を返す
 	 * @param antecedentIndex 識別に用いる遺伝子情報．前件部のファジィセットのインデックス配列
 	 * @param attributeVector 識別対象となるパターンの属性値クラス
 	 * @return ルールの適合度 */
 	public double getFitnessValue(AttributeVector attributeVector);
 
+	/** パターンを受け取り，入力パターンに対するルールの適合度を返す
+	 * @param pattern 識別対象となるパターン
+	 * @return ルールの適合度 */
+	public double getFitnessValue(Pattern<?> pattern);
+
 	/** 前件部のファジィセットのインデックス配列と属性値クラスを受け取り，入力パターンの属性値に対応するメンバシップ値の配列を返す
 	 * @param antecedentIndex 識別に用いる遺伝子情報．前件部のファジィセットのインデックス配列
 	 * @param attributeVector 識別対象となるパターンの属性値クラス
@@ -71,6 +92,11 @@ public interface MichiganSolution<RuleObject extends Rule<?, ?, ?, ?, ?, ?>> ext
 	 * @return メンバシップ値 */
 	public double getCompatibleGradeValue(AttributeVector attributeVector);
 
+	/** パターンを受け取り，入力パターンの属性値に対するメンバシップ値の最終演算結果を返す
+	 * @param pattern 識別対象となるパターン
+	 * @return メンバシップ値 */
+	public double getCompatibleGradeValue(Pattern<?> pattern);
+
 	/** 遺伝子情報を受け取り，ルール長を返す
 	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
 	 * @return 算出されたルール長 */
@@ -106,15 +106,34 @@ public final class MichiganSolution_Basic<RuleObject extends Rule<?, ?, ?, ?, ?,
 		}
 	}
 
+	/** 学習済みのルールを持つインスタンスを生成するコンストラクタ．後件部の一括学習に用いる
+	 * @param bounds 各遺伝子が取りうる値の上限値と下限値の配列
+	 * @param numberOfObjectives 目的関数の個数
+	 * @param numberOfConstraints 制約の個数
+	 * @param ruleBuilder ルール生成器．
+	 * @param antecedentIndex 前件部のファジィセットのインデックス配列
+	 * @param rule antecedentIndexを基に学習済みのルール
+	 */
+	private MichiganSolution_Basic(List<Pair<Integer, Integer>> bounds,
+			int numberOfObjectives,
+			int numberOfConstraints,
+			RuleBuilder<RuleObject, ?, ?> ruleBuilder,
+			int[] antecedentIndex,
+			RuleObject rule) {
+		super(bounds, numberOfObjectives, numberOfConstraints, ruleBuilder);
+		this.setVariables(antecedentIndex);
+		this.rule = rule;
+	}
+
 	/** コピーコンストラクタ
 	 * @param solution コピー元となるインスタンス */
 	public MichiganSolution_Basic(MichiganSolution_Basic<RuleObject> solution) {
 	    super(solution.bounds, solution.getNumberOfObjectives(), solution.getNumberOfConstraints(),
 	    		solution.ruleBuilder);
 
-	    for (int i = 0; i < solution.getNumberOfVariables(); i++) {
-	      setVariable(i, solution.getVariable(i));
-	    }
+	    System.arraycopy(solution.antecedentIndex, 0, this.antecedentIndex, 0, solution.antecedentIndex.length);
+	    this.sparseAntecedentIndex = solution.sparseAntecedentIndex;
+	    this.fitnessValues = solution.fitnessValues;
 
 	    for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
 	      setObjective(i, solution.getObjective(i));
@@ -200,11 +219,38 @@ public final class MichiganSolution_Basic<RuleObject extends Rule<?, ?, ?, ?, ?,
 			return solution;
 		}
 
+		/** 遺伝子情報を含むルールを自動生成し，生成されたルールからMichiganSolutionを指定された個数生成する．<br>
+		 * 前件部を先に全て生成し，後件部の学習を一括で行う．生成不可ルールとなった前件部は個別に再生成する．
+		 * @param numberOfGenerateRule 生成したいMichiganSolutionの個数
+		 * @return 生成されたMichiganSolutionの配列 */
 		@Override
 		public List<MichiganSolution_Basic<RuleObject>> createMichiganSolutions(int numberOfGenerateRule) {
+			List<Pair<Integer, Integer>> bounds = this.bounds;
+			if(Objects.isNull(bounds)) {
+				bounds = AbstractMichiganSolution.makeBounds();
+			}
+			int[][] antecedentIndex = this.ruleBuilder.createAntecedentIndex(numberOfGenerateRule);
+			List<RuleObject> rules = this.ruleBuilder.createConsequent(antecedentIndex);
+
 			List<MichiganSolution_Basic<RuleObject>> returnObject = new ArrayList<MichiganSolution_Basic<RuleObject>>(numberOfGenerateRule);
 			for(int i=0; i<numberOfGenerateRule; i++) {
-				returnObject.add(this.createMichiganSolution());
+				//生成不可ルールの場合は再生成
+				if(rules.get(i).isRejectedClassLabel()) {
+					returnObject.add(this.createMichiganSolution());
+					continue;
+				}
+				MichiganSolution_Basic<RuleObject> solution = new MichiganSolution_Basic<RuleObject>(
+						bounds,
+						this.numberOfObjectives,
+						this.numberOfConstraints,
+						this.ruleBuilder,
+						antecedentIndex[i],
+						rules.get(i));
+				String attributeId = new NumberOfWinner<MichiganSolution_Basic<RuleObject>>().getAttributeId();
+				String attributeIdFitness = new NumberOfClassifierPatterns<MichiganSolution_Basic<RuleObject>>().getAttributeId();
+				solution.setAttribute(attributeId, 0);
+				solution.setAttribute(attributeIdFitness, 0);
+				returnObject.add(solution);
 			}
 			return returnObject;
 		}
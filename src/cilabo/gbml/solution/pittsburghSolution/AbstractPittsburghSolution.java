@@ -1,11 +1,17 @@
 package cilabo.gbml.solution.pittsburghSolution;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
 import org.uma.jmetal.solution.AbstractSolution;
 import org.w3c.dom.Element;
 
 import cilabo.fuzzy.classifier.Classifier;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution.MichiganSolutionBuilder;
+import cilabo.gbml.solution.util.WinnerTable;
 import xml.XML_TagName;
 
 public abstract class AbstractPittsburghSolution <michiganSolution extends MichiganSolution<?>>
@@ -15,6 +21,14 @@ public abstract class AbstractPittsburghSolution <michiganSolution extends Michi
 	/** 識別器 */
 	protected Classifier<michiganSolution> classifier;
 	public MichiganSolutionBuilder<michiganSolution> michiganSolutionBuilder;
+	/** このインスタンスの評価時に作成した勝利ルール表 */
+	private WinnerTable winnerTable;
+	/** コピー元の勝利ルール表．コピーが表を保持し続けないよう弱参照とする */
+	private WeakReference<WinnerTable> inheritedWinnerTable;
+	/** 評価時にMichiganSolution毎に勝利ルールとなったパターン数．複製間で共有するため要素を変更せず，配列ごと置き換える */
+	private int[] numberOfWinner;
+	/** 評価時にMichiganSolution毎に正しく識別したパターン数．複製間で共有するため要素を変更せず，配列ごと置き換える */
+	private int[] numberOfClassifierPatterns;
 
 	/** Constructor */
 	protected AbstractPittsburghSolution(int numberOfVariables,
@@ -25,6 +39,7 @@ public abstract class AbstractPittsburghSolution <michiganSolution extends Michi
 		super(numberOfVariables, numberOfObjectives, numberOfConstraints);
 		this.michiganSolutionBuilder = michiganSolutionBuilder;
 		this.classifier = classifier;
+		this.clearRuleStatistics();
 	}
 
 	public AbstractPittsburghSolution(int numberOfObjectives,
@@ -36,6 +51,115 @@ public abstract class AbstractPittsburghSolution <michiganSolution extends Michi
 				numberOfObjectives, numberOfConstraints);
 		this.michiganSolutionBuilder = michiganSolutionBuilder;
 		this.classifier = classifier;
+		this.clearRuleStatistics();
+	}
+
+	/**
+	 * このインスタンスが持つ識別器を返します。<br>
+	 * Returns classifier that this instance has.
+	 * @return 識別器
+	 */
+	public Classifier<michiganSolution> getClassifier() {
+		return this.classifier;
+	}
+
+	/**
+	 * 差分計算に用いる勝利ルール表を返します。<br>
+	 * 評価済みの場合は評価時に作成した表を，未評価のコピーの場合はコピー元の表を返す．
+	 * ルール集合が表の作成後に変更されている場合もあるが，WinnerTableはルールの差分を照合するため問題ない．
+	 * @return 勝利ルール表．保持していない場合はnull
+	 * @see WinnerTable
+	 */
+	public WinnerTable getWinnerTable() {
+		if(!Objects.isNull(this.winnerTable)) { return this.winnerTable; }
+		return Objects.isNull(this.inheritedWinnerTable) ? null : this.inheritedWinnerTable.get();
+	}
+
+	/**
+	 * 評価時に作成した勝利ルール表を設定します。<br>
+	 * @param winnerTable 勝利ルール表
+	 */
+	public void setWinnerTable(WinnerTable winnerTable) {
+		this.winnerTable = winnerTable;
+	}
+
+	/**
+	 * コピー元の勝利ルール表を引き継ぎます．コピーは表を弱参照で保持し，コピー元が破棄された場合は引き継がない．<br>
+	 * @param solution コピー元
+	 */
+	protected void inheritWinnerTable(AbstractPittsburghSolution<?> solution) {
+		WinnerTable winnerTable = solution.getWinnerTable();
+		this.inheritedWinnerTable = Objects.isNull(winnerTable) ? null : new WeakReference<>(winnerTable);
+	}
+
+	/**
+	 * コピー元のMichiganSolutionとルール毎の評価結果を複製せずに共有します．共有したMichiganSolutionは共有済みとして記録され，
+	 * コピー元とこの解の双方でgetMutableVariableにより変更される際に複製される．<br>
+	 * 共有の記録はMichiganSolution自身が保持し，コピー元の状態は変更しない．そのため同じ解を複数のスレッドから同時にコピーしてよいが，
+	 * コピー元の変更と同時にコピーしてはならない．<br>
+	 * Shares michiganSolutions of given solution without copying them (copy-on-write).
+	 * @param solution コピー元
+	 * @see MichiganSolution#markShared()
+	 */
+	protected void shareVariables(AbstractPittsburghSolution<michiganSolution> solution) {
+		this.variables = new ArrayList<>(solution.variables);
+		for(michiganSolution variable : this.variables) {
+			variable.markShared();
+		}
+		this.numberOfWinner = solution.numberOfWinner;
+		this.numberOfClassifierPatterns = solution.numberOfClassifierPatterns;
+	}
+
+	/**
+	 * 共有済みのMichiganSolutionは複製してから返す．共有済みの記録は解除されないため，
+	 * 共有していた他の解が先に複製した場合でも，この解は変更する際に改めて複製する．
+	 */
+	@Override
+	public michiganSolution getMutableVariable(int index) {
+		michiganSolution variable = this.variables.get(index);
+		if(variable.isShared()) {
+			@SuppressWarnings("unchecked")
+			michiganSolution copy = (michiganSolution) variable.copy();
+			this.variables.set(index, copy);
+			return copy;
+		}
+		return variable;
+	}
+
+	@Override
+	public int getNumberOfWinner(int index) {
+		return this.numberOfWinner[index];
+	}
+
+	@Override
+	public int getNumberOfClassifierPatterns(int index) {
+		return this.numberOfClassifierPatterns[index];
+	}
+
+	@Override
+	public void setRuleStatistics(int[] numberOfWinner, int[] numberOfClassifierPatterns) {
+		if(numberOfWinner.length != this.getNumberOfVariables() || numberOfClassifierPatterns.length != this.getNumberOfVariables()) {
+			throw new IllegalArgumentException("length of rule statistics must be equal to number of variables @" + this.getClass().getSimpleName());
+		}
+		this.numberOfWinner = numberOfWinner;
+		this.numberOfClassifierPatterns = numberOfClassifierPatterns;
+	}
+
+	/** ルール毎の評価結果を全て0にする */
+	private void clearRuleStatistics() {
+		this.numberOfWinner = new int[this.getNumberOfVariables()];
+		this.numberOfClassifierPatterns = new int[this.getNumberOfVariables()];
+	}
+
+	@Override
+	public void setVariable(int index, michiganSolution value) {
+		super.setVariable(index, value);
+		if(this.numberOfWinner[index] != 0 || this.numberOfClassifierPatterns[index] != 0) {
+			this.numberOfWinner = Arrays.copyOf(this.numberOfWinner, this.numberOfWinner.length);
+			this.numberOfClassifierPatterns = Arrays.copyOf(this.numberOfClassifierPatterns, this.numberOfClassifierPatterns.length);
+			this.numberOfWinner[index] = 0;
+			this.numberOfClassifierPatterns[index] = 0;
+		}
 	}
 
 	@Override
@@ -46,16 +170,29 @@ public abstract class AbstractPittsburghSolution <michiganSolution extends Michi
 	@Override
 	public void removeVariable(int index) {
 		this.variables.remove(index);
+		this.numberOfWinner = removeElement(this.numberOfWinner, index);
+		this.numberOfClassifierPatterns = removeElement(this.numberOfClassifierPatterns, index);
+	}
+
+	/** 指定したインデックスの要素を除いた配列を新たに作成する */
+	private static int[] removeElement(int[] array, int index) {
+		int[] result = new int[array.length - 1];
+		System.arraycopy(array, 0, result, 0, index);
+		System.arraycopy(array, index + 1, result, index, result.length - index);
+		return result;
 	}
 
 	@Override
 	public void addVariable(michiganSolution value) {
 		this.variables.add(value);
+		this.numberOfWinner = Arrays.copyOf(this.numberOfWinner, this.getNumberOfVariables());
+		this.numberOfClassifierPatterns = Arrays.copyOf(this.numberOfClassifierPatterns, this.getNumberOfVariables());
 	}
 
 	@Override
 	public void clearVariables() {
 		this.variables.clear();
+		this.clearRuleStatistics();
 	}
 
 	@Override
@@ -63,10 +200,17 @@ public abstract class AbstractPittsburghSolution <michiganSolution extends Michi
 		this.attributes.clear();
 	}
 
+	/**
+	 * 共有済みのMichiganSolutionは学習済みであり，変更される際には複製されるため学習しない．
+	 * 複製も共有もされていない，この解で新たに生成または変更されたMichiganSolutionのみ学習する．
+	 */
 	@Override
 	public void learning() {
 		for(int i=0; i<this.getNumberOfVariables(); i++) {
-			this.variables.get(i).learning();
+			michiganSolution variable = this.getVariable(i);
+			if(!variable.isShared()) {
+				variable.learning();
+			}
 		}
 	}
 }
@@ -26,6 +26,35 @@ public interface PittsburghSolution <michiganSolution extends MichiganSolution<?
 	@Override
 	public List<michiganSolution> getVariables();
 
+	/** 指定したインデックスのMichiganSolutionを変更するために返す．
+	 * copyにより他の解と共有したMichiganSolutionは複製してから返すため，変更は他の解に影響しない．
+	 * getVariable, getVariablesで取得したMichiganSolutionは変更してはならない．<br>
+	 * この解のcopyと同時に呼び出してはならない．
+	 * @param index 変更したいMichiganSolutionのインデックス
+	 * @return この解のみが保持するMichiganSolution
+	 * @see MichiganSolution#isShared()
+	 */
+	public michiganSolution getMutableVariable(int index);
+
+	/** 評価時に指定したインデックスのMichiganSolutionが勝利ルールとなったパターン数を返す
+	 * @param index MichiganSolutionのインデックス
+	 * @return 勝利ルールとなったパターン数．未評価の場合は0
+	 */
+	public int getNumberOfWinner(int index);
+
+	/** 評価時に指定したインデックスのMichiganSolutionが勝利ルールとして正しく識別したパターン数を返す
+	 * @param index MichiganSolutionのインデックス
+	 * @return 正しく識別したパターン数．未評価の場合は0
+	 */
+	public int getNumberOfClassifierPatterns(int index);
+
+	/** 評価結果としてMichiganSolution毎の勝利パターン数と正識別パターン数を設定する．
+	 * 各配列の要素はMichiganSolutionのインデックスに対応する．配列は複製間で共有されるため，設定後に変更しないこと．
+	 * @param numberOfWinner 勝利ルールとなったパターン数の配列
+	 * @param numberOfClassifierPatterns 正しく識別したパターン数の配列
+	 */
+	public void setRuleStatistics(int[] numberOfWinner, int[] numberOfClassifierPatterns);
+
 	/** 指定したインデックスのMichiganSolutionを削除する
 	 * @param index 削除したいMichiganSolutionのインデックス
 	 */
@@ -60,6 +89,10 @@ public interface PittsburghSolution <michiganSolution extends MichiganSolution<?
 
 	public Element toElement();
 
+	/** 解を複製する．MichiganSolutionは複製せずに共有する．<br>
+	 * 同じ解のcopyは複数のスレッドから同時に呼び出してよいが，この解の変更と同時に呼び出してはならない．
+	 * @return 複製した解
+	 */
 	@Override
 	public PittsburghSolution<michiganSolution> copy();
 }
@@ -10,11 +10,13 @@ import org.w3c.dom.NodeList;
 import cilabo.data.DataSetManager;
 import cilabo.data.pattern.Pattern;
 import cilabo.fuzzy.classifier.Classifier;
-import cilabo.gbml.objectivefunction.pittsburgh.ErrorRate;
+import cilabo.gbml.objectivefunction.pittsburgh.ErrorRateNoSideEffect;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution.MichiganSolutionBuilder;
 import cilabo.gbml.solution.pittsburghSolution.AbstractPittsburghSolution;
 import cilabo.gbml.solution.util.attribute.ErroredPatternsAttribute;
+import cilabo.gbml.solution.util.attribute.NumberOfClassifierPatterns;
+import cilabo.gbml.solution.util.attribute.NumberOfWinner;
 import cilabo.main.ExperienceParameter.OBJECTIVES_FOR_PITTSBURGH;
 import xml.XML_TagName;
 import xml.XML_manager;
@@ -53,9 +55,8 @@ public final class PittsburghSolution_Basic <michiganSolution extends MichiganSo
 	    super(solution.getNumberOfVariables(), solution.getNumberOfObjectives(), solution.getNumberOfConstraints(),
 	    		solution.michiganSolutionBuilder, solution.classifier.copy());
 
-	    for (int i = 0; i < solution.getNumberOfVariables(); i++) {
-	      setVariable(i, (michiganSolution) solution.getVariable(i).copy());
-	    }
+	    // MichiganSolutionは変更される際に複製する
+	    this.shareVariables(solution);
 
 	    for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
 	      setObjective(i, solution.getObjective(i));
@@ -66,6 +67,7 @@ public final class PittsburghSolution_Basic <michiganSolution extends MichiganSo
 	    }
 
 	    this.attributes = new HashMap<>(solution.attributes);
+	    this.inheritWinnerTable(solution);
 	}
 
 	@Override
@@ -115,8 +117,14 @@ public final class PittsburghSolution_Basic <michiganSolution extends MichiganSo
 	@Override
 	public Element toElement() {
 		Element pittsburghSolution = XML_manager.getInstance().createElement(XML_TagName.pittsburghSolution);
+		String attributeId = new NumberOfWinner<michiganSolution>().getAttributeId();
+		String attributeIdFitness = new NumberOfClassifierPatterns<michiganSolution>().getAttributeId();
 		for(int i=0; i<this.getNumberOfVariables(); i++) {
-			Element michiganSolution = this.getVariable(i).toElement();
+			// ルール毎の評価結果は解が保持するため，共有しているルールを変更しないよう複製に設定して出力する
+			MichiganSolution<?> rule = this.getVariable(i).copy();
+			rule.setAttribute(attributeId, this.getNumberOfWinner(i));
+			rule.setAttribute(attributeIdFitness, this.getNumberOfClassifierPatterns(i));
+			Element michiganSolution = rule.toElement();
 			XML_manager.getInstance().addElement(pittsburghSolution, michiganSolution,
 					XML_TagName.id, String.valueOf(i));
 		}
@@ -135,7 +143,8 @@ public final class PittsburghSolution_Basic <michiganSolution extends MichiganSo
 			f2_.setAttribute(XML_TagName.objectiveName.toString(), OBJECTIVES_FOR_PITTSBURGH.NumberOfRule.toString());
 			XML_manager.getInstance().addElement(objectives, f2_);
 
-			ErrorRate<PittsburghSolution_Basic<michiganSolution>> errorRate = new ErrorRate<>();
+			// 評価用データでの識別は個体とルールの属性・勝利ルール表を変更しない
+			ErrorRateNoSideEffect<PittsburghSolution_Basic<michiganSolution>> errorRate = new ErrorRateNoSideEffect<>();
 			double f3 = errorRate.function(this, DataSetManager.getInstance().getTests().get(0));
 			Element f3_ = XML_manager.getInstance().createElement(XML_TagName.objective, String.valueOf(f3));
 			f3_.setAttribute(XML_TagName.id.toString(), String.valueOf(OBJECTIVES_FOR_PITTSBURGH.ErrorRateDtst.toInt()));
@@ -0,0 +1,164 @@
+package cilabo.gbml.solution.util;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import cilabo.data.DataSet;
+import cilabo.data.pattern.Pattern;
+import cilabo.gbml.solution.michiganSolution.MichiganSolution;
+import cilabo.gbml.solution.pittsburghSolution.PittsburghSolution;
+
+/**
+ * ミニバッチ毎の評価で得たルール毎の勝利パターン数・正識別パターン数を，同じルール集合について累積した変更不可能な集計．<br>
+ * ルール集合が変わらなければ各パターンの勝利ルールは変わらないため，評価したミニバッチが学習用データ全体を覆った時点で
+ * 勝利パターン数が0のルールは，学習用データ全体で評価した場合にも勝利ルールとならない．
+ * 同じパターンを複数回評価した場合は重複して数える．<br>
+ * ルール集合はMichiganSolutionの同一性で照合し，異なる場合は累積をやり直す．
+ * 評価済みの解のルールは他の解と共有されており，変更される際には複製されるため，同一性が変わらなければ内容も変わらない．<br>
+ * Immutable winner counts per rule accumulated over mini-batches evaluated with the same rule set.
+ * @author Takigawa Hiroki
+ */
+public final class BatchWinnerCounts {
+
+	/** 集計したルール集合 */
+	private final MichiganSolution<?>[] rules;
+	/** ルール毎の勝利パターン数 */
+	private final int[] numberOfWinner;
+	/** ルール毎の正識別パターン数 */
+	private final int[] numberOfClassifierPatterns;
+	/** 評価したパターンのIDの集合 */
+	private final BitSet coveredPatterns;
+	/** 学習用データのパターン数 */
+	private final int dataSize;
+
+	private BatchWinnerCounts(MichiganSolution<?>[] rules, int[] numberOfWinner, int[] numberOfClassifierPatterns,
+			BitSet coveredPatterns, int dataSize) {
+		this.rules = rules;
+		this.numberOfWinner = numberOfWinner;
+		this.numberOfClassifierPatterns = numberOfClassifierPatterns;
+		this.coveredPatterns = coveredPatterns;
+		this.dataSize = dataSize;
+	}
+
+	/**
+	 * ミニバッチで評価した直後の解のルール毎の評価結果を，これまでの集計に加えた集計を作成します．
+	 * これまでの集計とルール集合が異なる場合は，このミニバッチの評価結果のみから作成する．<br>
+	 * Accumulates rule statistics of given solution evaluated on given batch.
+	 * @param previous これまでの集計．無い場合はnull
+	 * @param solution ミニバッチで評価した直後の解
+	 * @param batch 評価に用いたミニバッチ．パターンのIDは学習用データ内の位置であること
+	 * @param dataSize 学習用データのパターン数
+	 * @return 作成された集計
+	 */
+	public static BatchWinnerCounts accumulate(BatchWinnerCounts previous, PittsburghSolution<?> solution,
+			DataSet<?> batch, int dataSize) {
+		if(Objects.isNull(solution) || Objects.isNull(batch)) {
+			throw new IllegalArgumentException("arguments must not be null @" + BatchWinnerCounts.class.getSimpleName());}
+
+		int numberOfRules = solution.getNumberOfVariables();
+		MichiganSolution<?>[] rules = new MichiganSolution<?>[numberOfRules];
+		int[] numberOfWinner = new int[numberOfRules];
+		int[] numberOfClassifierPatterns = new int[numberOfRules];
+		for(int i = 0; i < numberOfRules; i++) {
+			rules[i] = solution.getVariable(i);
+			numberOfWinner[i] = solution.getNumberOfWinner(i);
+			numberOfClassifierPatterns[i] = solution.getNumberOfClassifierPatterns(i);
+		}
+
+		BitSet coveredPatterns;
+		if(!Objects.isNull(previous) && previous.dataSize == dataSize && previous.isSameRuleSet(rules)) {
+			for(int i = 0; i < numberOfRules; i++) {
+				numberOfWinner[i] += previous.numberOfWinner[i];
+				numberOfClassifierPatterns[i] += previous.numberOfClassifierPatterns[i];
+			}
+			coveredPatterns = (BitSet) previous.coveredPatterns.clone();
+		}
+		else {
+			coveredPatterns = new BitSet(dataSize);
+		}
+		for(Pattern<?> pattern : batch.getPatterns()) {
+			coveredPatterns.set(pattern.getID());
+		}
+		return new BatchWinnerCounts(rules, numberOfWinner, numberOfClassifierPatterns, coveredPatterns, dataSize);
+	}
+
+	/**
+	 * 入力されたルール集合に含まれるルールの集計のみを残した集計を作成します．未勝利ルールの削除後に用いる．<br>
+	 * Creates counts restricted to given rules.
+	 * @param michiganSolutionList 残すルールの集合
+	 * @return 作成された集計
+	 */
+	public BatchWinnerCounts retain(List<? extends MichiganSolution<?>> michiganSolutionList) {
+		Map<MichiganSolution<?>, Integer> index = new IdentityHashMap<>();
+		for(int i = 0; i < this.rules.length; i++) {
+			index.putIfAbsent(this.rules[i], i);
+		}
+		int size = michiganSolutionList.size();
+		MichiganSolution<?>[] rules = new MichiganSolution<?>[size];
+		int[] numberOfWinner = new int[size];
+		int[] numberOfClassifierPatterns = new int[size];
+		for(int i = 0; i < size; i++) {
+			Integer j = index.get(michiganSolutionList.get(i));
+			if(Objects.isNull(j)) {
+				throw new IllegalArgumentException("rule is not counted @" + this.getClass().getSimpleName());}
+			rules[i] = this.rules[j];
+			numberOfWinner[i] = this.numberOfWinner[j];
+			numberOfClassifierPatterns[i] = this.numberOfClassifierPatterns[j];
+		}
+		return new BatchWinnerCounts(rules, numberOfWinner, numberOfClassifierPatterns, this.coveredPatterns, this.dataSize);
+	}
+
+	/** 集計したルール集合と同一のルール集合かを返す */
+	private boolean isSameRuleSet(MichiganSolution<?>[] rules) {
+		if(rules.length != this.rules.length) { return false; }
+		for(int i = 0; i < rules.length; i++) {
+			if(rules[i] != this.rules[i]) { return false; }
+		}
+		return true;
+	}
+
+	/**
+	 * ルール毎の累積した勝利パターン数を返します．返された配列は変更しないこと．
+	 * @return 勝利パターン数の配列
+	 */
+	public int[] getNumberOfWinner() {
+		return this.numberOfWinner;
+	}
+
+	/**
+	 * ルール毎の累積した正識別パターン数を返します．返された配列は変更しないこと．
+	 * @return 正識別パターン数の配列
+	 */
+	public int[] getNumberOfClassifierPatterns() {
+		return this.numberOfClassifierPatterns;
+	}
+
+	/**
+	 * 累積した勝利パターン数が1以上のルールの数を返します．
+	 * @return 勝利ルールとなったルールの数
+	 */
+	public int getNumberOfWinnerRules() {
+		int count = 0;
+		for(int winner : this.numberOfWinner) {
+			if(winner > 0) { count++; }
+		}
+		return count;
+	}
+
+	/**
+	 * 評価したミニバッチが学習用データの全てのパターンを覆ったかを返します．
+	 * @return 全てのパターンを評価した場合true
+	 */
+	public boolean coversAll() {
+		return this.coveredPatterns.cardinality() >= this.dataSize;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchWinnerCounts [numberOfRules=" + this.rules.length + ", numberOfWinnerRules=" + this.getNumberOfWinnerRules()
+				+ ", coveredPatterns=" + this.coveredPatterns.cardinality() + ", dataSize=" + this.dataSize + "]";
+	}
+}
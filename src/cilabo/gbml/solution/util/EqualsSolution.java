@@ -27,7 +27,8 @@ public class EqualsSolution {
 		boolean flag = true;
 		if(!solution1.getVariables().equals(solution2.getVariables())){ flag = false; }
 		if(!solution1.getClassLabel().equalsClassLabel(solution2.getClassLabel())){ flag = false; }
-		if(!solution1.getRuleWeight().equals(solution2.getRuleWeight())){ flag = false; }
+		// ルール重みは値で比較する．ルールを共有しているかどうかに結果が依存しないように
+		if(!Objects.deepEquals(solution1.getRuleWeight().getRuleWeightValue(), solution2.getRuleWeight().getRuleWeightValue())){ flag = false; }
 		return flag;
 	}
 }
@@ -0,0 +1,170 @@
+package cilabo.gbml.solution.util;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import cilabo.main.Consts;
+
+/**
+ * MichiganSolutionが保持する学習用パターン毎の適合度(membership×CF)ベクトルのメモリ予算と統計を管理するクラス．<br>
+ * ベクトルは生成後に変更されない配列であり，コピーされたMichiganSolution間で共有される．
+ * 使用中のベクトルの総バイト数がConsts.FITNESS_VALUE_CACHE_MBを超える場合は新たなベクトルを確保しない．
+ * 確保したベクトルはガベージコレクションにより回収された時点で予算に戻される．<br>
+ * singletonデザインパターンを採用．FitnessValueCache.getInstance()でインスタンスを呼出し使用．
+ * @author Takigawa Hiroki
+ */
+public class FitnessValueCache {
+
+	/** 自分自身のインスタンス */
+	private static FitnessValueCache instance = new FitnessValueCache();
+
+	/** 使用中のベクトルの総バイト数 */
+	private final AtomicLong usedBytes = new AtomicLong();
+	/** キャッシュされたベクトルを用いたMichiganSolutionの数 */
+	private final LongAdder hits = new LongAdder();
+	/** ベクトルを計算したMichiganSolutionの数 */
+	private final LongAdder misses = new LongAdder();
+	/** 予算超過によりベクトルを確保しなかった回数 */
+	private final LongAdder rejections = new LongAdder();
+
+	/** 回収されたベクトルの通知キュー */
+	private final ReferenceQueue<double[]> queue = new ReferenceQueue<>();
+	/** 回収前のベクトルの参照．参照自体が回収されないよう保持する */
+	private final Set<VectorReference> references = ConcurrentHashMap.newKeySet();
+
+	private FitnessValueCache() {}
+
+	/**
+	 * FitnessValueCache のインスタンスを取得
+	 * @return FitnessValueCache
+	 */
+	public static FitnessValueCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * キャッシュが有効かを返します．
+	 * @return Consts.FITNESS_VALUE_CACHE_MBが正の場合true
+	 */
+	public boolean isEnabled() {
+		return Consts.FITNESS_VALUE_CACHE_MB > 0;
+	}
+
+	/**
+	 * 予算内であれば適合度ベクトルを確保します．<br>
+	 * Allocates fitness value vector if it fits in the memory budget.
+	 * @param length ベクトルの長さ．学習用パターン数
+	 * @return 確保されたベクトル．予算を超える場合はnull
+	 */
+	public double[] allocate(int length) {
+		this.reclaim();
+		long bytes = 8L * length;
+		long budget = Consts.FITNESS_VALUE_CACHE_MB * 1024L * 1024L;
+		long used;
+		do {
+			used = this.usedBytes.get();
+			if(used + bytes > budget) {
+				this.rejections.increment();
+				return null;
+			}
+		}while(!this.usedBytes.compareAndSet(used, used + bytes));
+
+		double[] vector = new double[length];
+		this.references.add(new VectorReference(vector, bytes, this.queue));
+		return vector;
+	}
+
+	/** 回収されたベクトルの分を予算に戻す */
+	private void reclaim() {
+		Reference<? extends double[]> reference;
+		while((reference = this.queue.poll()) != null) {
+			VectorReference vectorReference = (VectorReference) reference;
+			if(this.references.remove(vectorReference)) {
+				this.usedBytes.addAndGet(-vectorReference.bytes);
+			}
+		}
+	}
+
+	/** キャッシュされたベクトルを用いたことを記録する */
+	public void recordHit() {
+		this.hits.increment();
+	}
+
+	/** ベクトルを計算したことを記録する */
+	public void recordMiss() {
+		this.misses.increment();
+	}
+
+	/**
+	 * キャッシュされたベクトルを用いたMichiganSolutionの数を返します．
+	 * @return ヒット数
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * ベクトルを計算したMichiganSolutionの数を返します．
+	 * @return ミス数
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * 予算超過によりベクトルを確保しなかった回数を返します．
+	 * @return 確保しなかった回数
+	 */
+	public long getRejections() {
+		return this.rejections.sum();
+	}
+
+	/**
+	 * ヒット率を返します．
+	 * @return ヒット率．一度も参照されていない場合は0
+	 */
+	public double getHitRate() {
+		long hits = this.getHits();
+		long total = hits + this.getMisses();
+		return total == 0 ? 0 : hits / (double)total;
+	}
+
+	/**
+	 * 使用中のベクトルの総バイト数を返します．回収済みで未通知のベクトルを含む場合がある．
+	 * @return 使用中のバイト数
+	 */
+	public long getUsedBytes() {
+		this.reclaim();
+		return this.usedBytes.get();
+	}
+
+	/** 統計を初期化します */
+	public void clear() {
+		this.hits.reset();
+		this.misses.reset();
+		this.rejections.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("FitnessValueCache [budget=%dMB, used=%.1fMB, hits=%d, misses=%d, rejections=%d, hitRate=%.4f]",
+				Consts.FITNESS_VALUE_CACHE_MB, this.getUsedBytes() / (1024.0 * 1024.0),
+				this.getHits(), this.getMisses(), this.getRejections(), this.getHitRate());
+	}
+
+	/** 確保したベクトルのバイト数を保持する参照 */
+	private static final class VectorReference extends PhantomReference<double[]> {
+		/** ベクトルのバイト数 */
+		private final long bytes;
+
+		private VectorReference(double[] vector, long bytes, ReferenceQueue<double[]> queue) {
+			super(vector, queue);
+			this.bytes = bytes;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package cilabo.gbml.solution.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import cilabo.data.DataSet;
+import cilabo.data.pattern.Pattern;
+
+/**
+ * データセット内のパターンの位置の集合を保持する変更不可能な集合．誤識別パターンの保持に用いる．<br>
+ * 要素数に応じて，昇順のint配列(要素あたり32bit)とビットマップ(パターンあたり1bit)のうちメモリ使用量の小さい表現を選ぶ．
+ * 要素は位置の昇順に並び，k番目の要素を取得できる．作成後に変更されないため，解の複製間で共有してよい．<br>
+ * Immutable set of pattern positions in a dataset, stored as sorted int array or bitmap chosen by density.
+ * @author Takigawa Hiroki
+ */
+public final class PatternIndexSet {
+
+	/** ビットマップの1ワードのビット数 */
+	private static final int WORD_SIZE = 64;
+
+	/** 要素の位置を参照するデータセット */
+	private final DataSet<?> dataSet;
+	/** 要素数 */
+	private final int size;
+	/** 昇順の要素の配列．ビットマップで表現する場合はnull */
+	private final int[] indices;
+	/** ビットマップ．int配列で表現する場合はnull */
+	private final long[] bits;
+	/** ワード毎の，そのワードより前にある要素数．ビットマップで表現する場合のみ保持する */
+	private final int[] rank;
+
+	private PatternIndexSet(DataSet<?> dataSet, int size, int[] indices, long[] bits, int[] rank) {
+		this.dataSet = dataSet;
+		this.size = size;
+		this.indices = indices;
+		this.bits = bits;
+		this.rank = rank;
+	}
+
+	/**
+	 * 昇順に並んだパターンの位置から集合を作成します．入力された配列は変更されず，保持もされない．<br>
+	 * Creates set from ascending pattern positions.
+	 * @param dataSet 位置を参照するデータセット
+	 * @param sortedIndices データセット内のパターンの位置の昇順の配列
+	 * @param size sortedIndicesの先頭から用いる要素数
+	 * @return 作成された集合
+	 */
+	public static PatternIndexSet of(DataSet<?> dataSet, int[] sortedIndices, int size) {
+		if(Objects.isNull(dataSet) || Objects.isNull(sortedIndices)) {
+			throw new IllegalArgumentException("arguments must not be null @" + PatternIndexSet.class.getSimpleName());}
+		if(size < 0 || size > sortedIndices.length) {
+			throw new IllegalArgumentException("size " + size + " is out of range @" + PatternIndexSet.class.getSimpleName());}
+		int dataSize = dataSet.getDataSize();
+		for(int k = 0; k < size; k++) {
+			if(sortedIndices[k] < 0 || sortedIndices[k] >= dataSize || (k > 0 && sortedIndices[k] <= sortedIndices[k - 1])) {
+				throw new IllegalArgumentException("indices must be ascending positions in dataset @" + PatternIndexSet.class.getSimpleName());}
+		}
+
+		int numberOfWords = (dataSize + WORD_SIZE - 1) / WORD_SIZE;
+		// ビットマップはワードあたりlong(64bit)とrank(32bit)を要する
+		if((long)size * Integer.SIZE <= (long)numberOfWords * (Long.SIZE + Integer.SIZE)) {
+			return new PatternIndexSet(dataSet, size, Arrays.copyOf(sortedIndices, size), null, null);
+		}
+
+		long[] bits = new long[numberOfWords];
+		for(int k = 0; k < size; k++) {
+			bits[sortedIndices[k] / WORD_SIZE] |= 1L << (sortedIndices[k] % WORD_SIZE);
+		}
+		int[] rank = new int[numberOfWords];
+		int count = 0;
+		for(int w = 0; w < numberOfWords; w++) {
+			rank[w] = count;
+			count += Long.bitCount(bits[w]);
+		}
+		return new PatternIndexSet(dataSet, size, null, bits, rank);
+	}
+
+	/**
+	 * 要素数を返します．
+	 * @return 要素数
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * 集合が空かどうかを返します．
+	 * @return 空の場合true
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * 昇順でk番目の要素のデータセット内の位置を返します．
+	 * @param k 0以上size()未満の順位
+	 * @return パターンの位置
+	 */
+	public int getIndex(int k) {
+		if(k < 0 || k >= this.size) {
+			throw new IndexOutOfBoundsException("k " + k + " is out of range [0, " + this.size + ")");
+		}
+		if(!Objects.isNull(this.indices)) {
+			return this.indices[k];
+		}
+		// k番目の要素を含むワードをrankの二分探索で求め，ワード内でk - rank[w]番目の立っているビットを探す
+		int low = 0;
+		int high = this.rank.length - 1;
+		while(low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if(this.rank[mid] <= k) { low = mid; }
+			else { high = mid - 1; }
+		}
+		long word = this.bits[low];
+		for(int skip = k - this.rank[low]; skip > 0; skip--) {
+			word &= word - 1;
+		}
+		return low * WORD_SIZE + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * 昇順でk番目の要素のパターンを返します．
+	 * @param k 0以上size()未満の順位
+	 * @return パターン
+	 */
+	public Pattern<?> getPattern(int k) {
+		return this.dataSet.getPattern(this.getIndex(k));
+	}
+
+	/**
+	 * データセット内の位置が集合に含まれるかどうかを返します．
+	 * @param index パターンの位置
+	 * @return 含まれる場合true
+	 */
+	public boolean contains(int index) {
+		if(index < 0 || index >= this.dataSet.getDataSize()) { return false; }
+		if(!Objects.isNull(this.indices)) {
+			return Arrays.binarySearch(this.indices, index) >= 0;
+		}
+		return (this.bits[index / WORD_SIZE] & (1L << (index % WORD_SIZE))) != 0;
+	}
+
+	/**
+	 * 要素の位置を昇順の配列で返します．
+	 * @return 昇順の位置の配列
+	 */
+	public int[] toArray() {
+		if(!Objects.isNull(this.indices)) {
+			return this.indices.clone();
+		}
+		int[] array = new int[this.size];
+		int k = 0;
+		for(int w = 0; w < this.bits.length; w++) {
+			for(long word = this.bits[w]; word != 0; word &= word - 1) {
+				array[k++] = w * WORD_SIZE + Long.numberOfTrailingZeros(word);
+			}
+		}
+		return array;
+	}
+
+	/**
+	 * 位置を参照するデータセットを返します．
+	 * @return データセット
+	 */
+	public DataSet<?> getDataSet() {
+		return this.dataSet;
+	}
+
+	/**
+	 * ビットマップで表現されているかどうかを返します．
+	 * @return ビットマップの場合true
+	 */
+	public boolean isBitmap() {
+		return !Objects.isNull(this.bits);
+	}
+
+	@Override
+	public String toString() {
+		return "PatternIndexSet [size=" + this.size + ", dataSize=" + this.dataSet.getDataSize()
+				+ ", representation=" + (this.isBitmap() ? "bitmap" : "array") + "]";
+	}
+}
@@ -0,0 +1,293 @@
+package cilabo.gbml.solution.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import cilabo.data.DataSet;
+import cilabo.data.pattern.Pattern;
+import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
+import cilabo.gbml.solution.michiganSolution.MichiganSolution;
+
+/**
+ * PittsburghSolutionのルール集合でデータセットの各パターンを単一勝利ルールにより識別した結果の表．<br>
+ * パターン毎に勝利ルールのインデックス，勝利ルールの適合度(最大値)，勝利ルール以外のルールの適合度の最大値(次点)を保持する．
+ * 次点が最大値よりMARGIN以上小さいパターンは，勝利ルール以外のルールの追加・削除・並べ替えにより識別結果が変化しないため，
+ * 親個体の表から子個体の表を作成する際は，追加されたルールの適合度のみを参照すればよい．
+ * 勝利ルールが削除されたパターン，追加されたルールの適合度が最大値に近いパターン，同値のルールを持つパターン，
+ * 識別不能のパターンは全てのルールで再識別する．<br>
+ * ルールの同一性は前件部，結論部クラス，ルール重みの一致で判定する．表は作成後に変更されない．
+ * @author Takigawa Hiroki
+ */
+public final class WinnerTable {
+
+	/** 次点と最大値の差の下限．SingleWinnerRuleSelectionの同値判定幅(1e-16)より十分大きい */
+	private static final double MARGIN = 1e-12;
+
+	/** 差分計算により識別結果を再利用したパターン数 */
+	private static final LongAdder reused = new LongAdder();
+	/** 全てのルールで再識別したパターン数 */
+	private static final LongAdder reclassified = new LongAdder();
+
+	/** 表の作成に用いたデータセット */
+	private final DataSet<?> dataSet;
+	/** 表の作成に用いたルールの識別子．ルール集合内の順序で並ぶ */
+	private final RuleKey[] rules;
+	/** パターン毎の勝利ルールのインデックス．識別不能の場合は-1 */
+	private final int[] winner;
+	/** パターン毎の勝利ルールの適合度 */
+	private final double[] best;
+	/** パターン毎の勝利ルール以外のルールの適合度の最大値．再識別時の値以上であることのみ保証される */
+	private final double[] runnerUp;
+	/** パターン毎の識別結果を差分計算に用いてよいか */
+	private final boolean[] safe;
+
+	private WinnerTable(DataSet<?> dataSet, RuleKey[] rules, int[] winner, double[] best, double[] runnerUp, boolean[] safe) {
+		this.dataSet = dataSet;
+		this.rules = rules;
+		this.winner = winner;
+		this.best = best;
+		this.runnerUp = runnerUp;
+		this.safe = safe;
+	}
+
+	/**
+	 * ルール集合でデータセットの全パターンを識別した表を作成します．<br>
+	 * previousが同一データセットに対する表である場合，previousとのルールの差分から識別結果が変化し得るパターンのみ再識別する．
+	 * 結果はpreviousを用いない場合と一致する．<br>
+	 * Creates winner table, reclassifying only patterns affected by added or removed rules.
+	 * @param michiganSolutionList 識別に用いるルール集合
+	 * @param dataSet 識別するデータセット
+	 * @param classification 単一勝利ルールによる識別方式
+	 * @param previous 差分計算の基とする表．nullの場合は全パターンを識別する
+	 * @return 作成された表
+	 */
+	public static WinnerTable create(List<? extends MichiganSolution<?>> michiganSolutionList, DataSet<?> dataSet,
+			SingleWinnerRuleSelection<?> classification, WinnerTable previous) {
+		if(Objects.isNull(michiganSolutionList) || Objects.isNull(dataSet) || Objects.isNull(classification)) {
+			throw new IllegalArgumentException("arguments must not be null @" + WinnerTable.class.getSimpleName());}
+
+		RuleKey[] rules = RuleKey.of(michiganSolutionList);
+		int size = dataSet.getDataSize();
+		int[] winner = new int[size];
+		double[] best = new double[size];
+		double[] runnerUp = new double[size];
+		boolean[] safe = new boolean[size];
+
+		Match match = null;
+		if(!Objects.isNull(previous) && previous.dataSet == dataSet) {
+			match = previous.match(rules);
+			// 追加されたルールがルール数以上の場合は全て再識別した方が安い
+			if(match.added.length >= rules.length) { match = null; }
+		}
+
+		double[] score = new double[2];
+		long reusedCount = 0;
+		for(int p = 0; p < size; p++) {
+			Pattern<?> pattern = dataSet.getPattern(p);
+			if(!Objects.isNull(match) && previous.safe[p]) {
+				int newWinner = match.oldToNew[previous.winner[p]];
+				if(newWinner >= 0) {
+					double max = previous.best[p];
+					double threshold = max - margin(max);
+					double second = previous.runnerUp[p];
+					boolean unchanged = true;
+					for(int added : match.added) {
+						double value = michiganSolutionList.get(added).getFitnessValue(pattern);
+						if(value >= threshold) { unchanged = false; break; }
+						if(value > second) { second = value; }
+					}
+					if(unchanged) {
+						winner[p] = newWinner;
+						best[p] = max;
+						runnerUp[p] = second;
+						safe[p] = true;
+						reusedCount++;
+						continue;
+					}
+				}
+			}
+
+			int q = classification.classifyIndex(michiganSolutionList, pattern, score);
+			winner[p] = q;
+			if(q >= 0) {
+				best[p] = score[0];
+				runnerUp[p] = score[1];
+				safe[p] = score[1] < score[0] - margin(score[0]);
+			}
+		}
+		reused.add(reusedCount);
+		reclassified.add(size - reusedCount);
+
+		return new WinnerTable(dataSet, rules, winner, best, runnerUp, safe);
+	}
+
+	/**
+	 * ルール集合から勝利ルール以外のルールを削除した後の表を返します．パターンの再識別は行わない．<br>
+	 * 勝利ルールが削除されたパターンは以降の差分計算に用いない．ルールが追加されている場合は全パターンを差分計算に用いない．<br>
+	 * Returns table for rule set from which some rules were removed, without reclassification.
+	 * @param michiganSolutionList 削除後のルール集合
+	 * @return 削除後の表
+	 */
+	public WinnerTable retain(List<? extends MichiganSolution<?>> michiganSolutionList) {
+		RuleKey[] rules = RuleKey.of(michiganSolutionList);
+		Match match = this.match(rules);
+		int size = this.winner.length;
+		int[] winner = new int[size];
+		boolean[] safe = new boolean[size];
+		for(int p = 0; p < size; p++) {
+			winner[p] = this.winner[p] < 0 ? -1 : match.oldToNew[this.winner[p]];
+			safe[p] = this.safe[p] && winner[p] >= 0 && match.added.length == 0;
+		}
+		return new WinnerTable(this.dataSet, rules, winner, this.best, this.runnerUp, safe);
+	}
+
+	/** 表のルールと入力されたルールを対応付ける
+	 * @param current 対応付けるルールの識別子
+	 * @return 対応付けの結果 */
+	private Match match(RuleKey[] current) {
+		Map<RuleKey, ArrayDeque<Integer>> index = new HashMap<>();
+		for(int i = 0; i < this.rules.length; i++) {
+			index.computeIfAbsent(this.rules[i], k -> new ArrayDeque<>()).add(i);
+		}
+		int[] oldToNew = new int[this.rules.length];
+		Arrays.fill(oldToNew, -1);
+		List<Integer> added = new ArrayList<>();
+		for(int i = 0; i < current.length; i++) {
+			ArrayDeque<Integer> candidates = index.get(current[i]);
+			if(Objects.isNull(candidates) || candidates.isEmpty()) {
+				added.add(i);
+			}
+			else {
+				oldToNew[candidates.poll()] = i;
+			}
+		}
+		return new Match(oldToNew, added.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	/** 最大値に応じた次点との差の下限を返す */
+	private static double margin(double max) {
+		return MARGIN * Math.max(1, Math.abs(max));
+	}
+
+	/**
+	 * 指定されたパターンの勝利ルールのインデックスを返します．
+	 * @param patternIndex データセット内のパターンの位置
+	 * @return 勝利ルールのインデックス．識別不能の場合は-1
+	 */
+	public int getWinner(int patternIndex) {
+		return this.winner[patternIndex];
+	}
+
+	/**
+	 * 表の作成に用いたデータセットを返します．
+	 * @return データセット
+	 */
+	public DataSet<?> getDataSet() {
+		return this.dataSet;
+	}
+
+	/**
+	 * 差分計算により識別結果を再利用したパターン数を返します．
+	 * @return 再利用したパターン数
+	 */
+	public static long getReused() {
+		return reused.sum();
+	}
+
+	/**
+	 * 全てのルールで再識別したパターン数を返します．
+	 * @return 再識別したパターン数
+	 */
+	public static long getReclassified() {
+		return reclassified.sum();
+	}
+
+	/** 統計を初期化します */
+	public static void clearStatistics() {
+		reused.reset();
+		reclassified.reset();
+	}
+
+	/**
+	 * 統計を文字列で返します．
+	 * @return 統計
+	 */
+	public static String statisticsToString() {
+		long reused = getReused();
+		long total = reused + getReclassified();
+		return String.format("WinnerTable [reused=%d, reclassified=%d, reuseRate=%.4f]",
+				reused, getReclassified(), total == 0 ? 0 : reused / (double)total);
+	}
+
+	@Override
+	public String toString() {
+		int count = 0;
+		for(boolean s : this.safe) {
+			if(s) { count++; }
+		}
+		return "WinnerTable [numberOfRules=" + this.rules.length + ", dataSize=" + this.winner.length + ", safe=" + count + "]";
+	}
+
+	/** ルールの対応付けの結果 */
+	private static final class Match {
+		/** 表のルールのインデックスに対応する入力ルールのインデックス．対応するルールが無い場合は-1 */
+		private final int[] oldToNew;
+		/** 表のルールに対応しない入力ルールのインデックス */
+		private final int[] added;
+
+		private Match(int[] oldToNew, int[] added) {
+			this.oldToNew = oldToNew;
+			this.added = added;
+		}
+	}
+
+	/** 前件部，結論部クラス，ルール重みからなるルールの識別子．識別子が等しいルールは全てのパターンで同じ適合度となる */
+	private static final class RuleKey {
+		/** 前件部のファジィセットのインデックス配列 */
+		private final int[] antecedentIndex;
+		/** 結論部クラス */
+		private final Object classLabel;
+		/** ルール重み */
+		private final Object ruleWeight;
+		/** ハッシュ値 */
+		private final int hash;
+
+		private RuleKey(MichiganSolution<?> michiganSolution) {
+			this.antecedentIndex = michiganSolution.getVariablesArray();
+			this.classLabel = michiganSolution.getClassLabel().getClassLabelValue();
+			this.ruleWeight = michiganSolution.getRuleWeight().getRuleWeightValue();
+			this.hash = 31 * Arrays.hashCode(this.antecedentIndex) + Arrays.deepHashCode(new Object[] {this.classLabel, this.ruleWeight});
+		}
+
+		/** ルール集合の識別子の配列を返す */
+		private static RuleKey[] of(List<? extends MichiganSolution<?>> michiganSolutionList) {
+			RuleKey[] rules = new RuleKey[michiganSolutionList.size()];
+			for(int i = 0; i < rules.length; i++) {
+				rules[i] = new RuleKey(michiganSolutionList.get(i));
+			}
+			return rules;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) { return true; }
+			if(!(obj instanceof RuleKey)) { return false; }
+			RuleKey other = (RuleKey) obj;
+			return this.hash == other.hash
+					&& Arrays.equals(this.antecedentIndex, other.antecedentIndex)
+					&& Objects.deepEquals(this.classLabel, other.classLabel)
+					&& Objects.deepEquals(this.ruleWeight, other.ruleWeight);
+		}
+	}
+}
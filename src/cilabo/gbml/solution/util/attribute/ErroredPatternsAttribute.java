@@ -6,7 +6,7 @@ import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.solution.util.attribute.Attribute;
 
 /**
- * {@literal List<Integer>}として，誤識別パターンのIDのリストを保持するAttribute.
+ * {@link cilabo.gbml.solution.util.PatternIndexSet}として，誤識別パターンの位置の集合を保持するAttribute.
  *
  */
 public class ErroredPatternsAttribute<S extends Solution<?>> implements Attribute<S> {
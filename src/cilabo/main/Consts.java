@@ -33,9 +33,20 @@ public class Consts {
 	public static int TERMINATE_GENERATION = 5000;
 	public static int TERMINATE_EVALUATION = 300000;
 	public static int OUTPUT_FREQUENCY = 6000;
+	/** アーカイブに保持する非劣解の数の上限．0以下の場合は上限なし */
+	public static int ARCHIVE_SIZE = 0;
+	/** 個体評価に用いる学習用データの部分集合(ミニバッチ)のパターン数．0以下または学習用データのパターン数以上の場合は全パターンで評価する */
+	public static int MINI_BATCH_SIZE = 0;
+	/** ミニバッチを更新する世代間隔 */
+	public static int MINI_BATCH_INTERVAL = 1;
+	/** ミニバッチの更新毎にパターン数に乗じる倍率 */
+	public static double MINI_BATCH_GROWTH_RATE = 1.0;
 
 	//Random Number ***************************************
 	public static int RAND_SEED = 2020;
+	/** 子個体生成の乱数を世代・子個体毎に乱数シードから導出した独立なストリームから生成するかどうか．
+	 * 有効にすると子個体を学習用ForkJoinPool上で並列に生成し，スレッド数によらず同じ結果が得られる */
+	public static boolean RANDOM_STREAM = false;
 
 	//OS ************************************
 	public static int WINDOWS = 0;	//Windows
@@ -66,6 +77,20 @@ public class Consts {
 	public static double PITTSBURGH_CROSS_RT = 0.9;	//元RULESET_CROSS_RT
 	/** ファジィ度*/
 	public static double FUZZY_GRADE = 1f;
+	/** 学習用データのメンバシップ値を事前計算したテーブルを用いるかどうか */
+	public static boolean USE_MEMBERSHIP_TABLE = true;
+	/** メンバシップ値テーブルの属性値の量子化ビット数(8～16)．0の場合は量子化せずメンバシップ値をそのまま格納する */
+	public static int MEMBERSHIP_TABLE_BITS = 0;
+	/** 適合度計算の結果を従来の配列を用いた計算と照合するかどうか(デバッグ用) */
+	public static boolean CHECK_COMPATIBLE_GRADE = false;
+	/** ルール毎の学習用パターンに対する適合度ベクトルのキャッシュに用いるメモリ予算[MB]．0以下の場合はキャッシュしない */
+	public static int FITNESS_VALUE_CACHE_MB = 256;
+	/** 前件部をキーとする学習済み後件部のキャッシュの保持数の上限．0以下の場合はキャッシュしない */
+	public static int CONSEQUENT_CACHE_SIZE = 100000;
+	/** 誤識別率を親個体のパターン毎の勝利ルールの情報から差分計算するかどうか */
+	public static boolean INCREMENTAL_ERROR_RATE = true;
+	/** 実行終了時にキャッシュ・メンバシップ値テーブル・勝利ルール表・アーカイブの統計を標準出力に出力するかどうか */
+	public static boolean PRINT_STATISTICS = false;
 
 	//Folders' Name ************************************
 	public static String ROOTFOLDER = "results";
@@ -82,6 +107,12 @@ public class Consts {
 	/******************************************/
 
 	//dataset info *****************************
+	/** 単一クラスラベルのデータセットを列指向(ColumnarDataSet)で保持するかどうか */
+	public static boolean COLUMNAR_DATASET = false;
+	/** 単一クラスラベル・マルチラベルのデータセットの属性値をfloatで保持するかどうか．メンバシップ関数はfloatで評価されるため，メンバシップ値は変わらない */
+	public static boolean FLOAT_DATASET = false;
+
+
 	public static int DATA_SIZE = 0;
 
 	public static int ATTRIBUTE_NUMBER = 0;
@@ -104,8 +135,13 @@ public class Consts {
 		if(bundle.containsKey("TERMINATE_GENERATION")) { TERMINATE_GENERATION = Integer.parseInt(bundle.getString("TERMINATE_GENERATION")); }
 		if(bundle.containsKey("TERMINATE_EVALUATION")) { TERMINATE_EVALUATION = Integer.parseInt(bundle.getString("TERMINATE_EVALUATION")); }
 		if(bundle.containsKey("OUTPUT_FREQUENCY")) { OUTPUT_FREQUENCY = Integer.parseInt(bundle.getString("OUTPUT_FREQUENCY")); }
+		if(bundle.containsKey("ARCHIVE_SIZE")) { ARCHIVE_SIZE = Integer.parseInt(bundle.getString("ARCHIVE_SIZE")); }
+		if(bundle.containsKey("MINI_BATCH_SIZE")) { MINI_BATCH_SIZE = Integer.parseInt(bundle.getString("MINI_BATCH_SIZE")); }
+		if(bundle.containsKey("MINI_BATCH_INTERVAL")) { MINI_BATCH_INTERVAL = Integer.parseInt(bundle.getString("MINI_BATCH_INTERVAL")); }
+		if(bundle.containsKey("MINI_BATCH_GROWTH_RATE")) { MINI_BATCH_GROWTH_RATE = Double.parseDouble(bundle.getString("MINI_BATCH_GROWTH_RATE")); }
 
 		if(bundle.containsKey("RAND_SEED")) { RAND_SEED = Integer.parseInt(bundle.getString("RAND_SEED")); }
+		if(bundle.containsKey("RANDOM_STREAM")) { RANDOM_STREAM = Boolean.parseBoolean(bundle.getString("RANDOM_STREAM")); }
 		if(bundle.containsKey("WINDOWS")) { WINDOWS = Integer.parseInt(bundle.getString("WINDOWS")); }
 		if(bundle.containsKey("UNIX")) { UNIX = Integer.parseInt(bundle.getString("UNIX")); }
 		if(bundle.containsKey("IS_PROBABILITY_DONT_CARE")) { IS_PROBABILITY_DONT_CARE = Boolean.parseBoolean(bundle.getString("IS_PROBABILITY_DONT_CARE")); }
@@ -119,10 +155,19 @@ public class Consts {
 		if(bundle.containsKey("MICHIGAN_CROSS_RT")) { MICHIGAN_CROSS_RT = Double.parseDouble(bundle.getString("MICHIGAN_CROSS_RT")); }
 		if(bundle.containsKey("PITTSBURGH_CROSS_RT")) { PITTSBURGH_CROSS_RT = Double.parseDouble(bundle.getString("PITTSBURGH_CROSS_RT")); }
 		if(bundle.containsKey("FUZZY_GRADE")) { FUZZY_GRADE = Double.parseDouble(bundle.getString("FUZZY_GRADE")); }
+		if(bundle.containsKey("USE_MEMBERSHIP_TABLE")) { USE_MEMBERSHIP_TABLE = Boolean.parseBoolean(bundle.getString("USE_MEMBERSHIP_TABLE")); }
+		if(bundle.containsKey("MEMBERSHIP_TABLE_BITS")) { MEMBERSHIP_TABLE_BITS = Integer.parseInt(bundle.getString("MEMBERSHIP_TABLE_BITS")); }
+		if(bundle.containsKey("CHECK_COMPATIBLE_GRADE")) { CHECK_COMPATIBLE_GRADE = Boolean.parseBoolean(bundle.getString("CHECK_COMPATIBLE_GRADE")); }
+		if(bundle.containsKey("FITNESS_VALUE_CACHE_MB")) { FITNESS_VALUE_CACHE_MB = Integer.parseInt(bundle.getString("FITNESS_VALUE_CACHE_MB")); }
+		if(bundle.containsKey("CONSEQUENT_CACHE_SIZE")) { CONSEQUENT_CACHE_SIZE = Integer.parseInt(bundle.getString("CONSEQUENT_CACHE_SIZE")); }
+		if(bundle.containsKey("INCREMENTAL_ERROR_RATE")) { INCREMENTAL_ERROR_RATE = Boolean.parseBoolean(bundle.getString("INCREMENTAL_ERROR_RATE")); }
+		if(bundle.containsKey("PRINT_STATISTICS")) { PRINT_STATISTICS = Boolean.parseBoolean(bundle.getString("PRINT_STATISTICS")); }
 		if(bundle.containsKey("TRAIN")) { TRAIN = Integer.parseInt(bundle.getString("TRAIN")); }
 		if(bundle.containsKey("TEST")) { TEST = Integer.parseInt(bundle.getString("TEST")); }
 		if(bundle.containsKey("ROOTFOLDER")) { ROOTFOLDER = bundle.getString("ROOTFOLDER"); }
 		if(bundle.containsKey("ALGORITHM_ID_DIR")) { ALGORITHM_ID_DIR = bundle.getString("ALGORITHM_ID_DIR"); }
+		if(bundle.containsKey("COLUMNAR_DATASET")) { COLUMNAR_DATASET = Boolean.parseBoolean(bundle.getString("COLUMNAR_DATASET")); }
+		if(bundle.containsKey("FLOAT_DATASET")) { FLOAT_DATASET = Boolean.parseBoolean(bundle.getString("FLOAT_DATASET")); }
 		if(bundle.containsKey("DATA_SIZE")) { DATA_SIZE = Integer.parseInt(bundle.getString("DATA_SIZE")); }
 		if(bundle.containsKey("ATTRIBUTE_NUMBER")) { ATTRIBUTE_NUMBER = Integer.parseInt(bundle.getString("ATTRIBUTE_NUMBER")); }
 		if(bundle.containsKey("CLASS_LABEL_NUMBER")) { CLASS_LABEL_NUMBER = Integer.parseInt(bundle.getString("CLASS_LABEL_NUMBER")); }
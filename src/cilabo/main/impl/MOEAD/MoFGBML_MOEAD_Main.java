@@ -29,6 +29,7 @@ import cilabo.fuzzy.classifier.Classifier;
 import cilabo.fuzzy.classifier.classification.Classification;
 import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
 import cilabo.fuzzy.classifier.impl.Classifier_basic;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.knowledge.factory.HomoTriangleKnowledgeFactory;
 import cilabo.fuzzy.knowledge.membershipParams.Parameters;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
@@ -145,6 +146,7 @@ public class MoFGBML_MOEAD_Main {
 		Parameters parameters = new Parameters(train);
 		HomoTriangleKnowledgeFactory KnowledgeFactory = new HomoTriangleKnowledgeFactory(parameters);
 		KnowledgeFactory.create2_3_4_5();
+		if(Consts.USE_MEMBERSHIP_TABLE) { MembershipTable.getInstance().build(train, Consts.MEMBERSHIP_TABLE_BITS); }
 
 		List<Pair<Integer, Integer>> bounds_Michigan = AbstractMichiganSolution.makeBounds();
 		int numberOfObjectives_Michigan = 2;
@@ -6,8 +6,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.xml.transform.TransformerException;
 
@@ -18,7 +16,6 @@ import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.util.JMetalException;
-import org.uma.jmetal.util.SolutionListUtils;
 import org.uma.jmetal.util.fileoutput.impl.DefaultFileOutputContext;
 import org.uma.jmetal.util.observer.impl.EvaluationObserver;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
@@ -31,6 +28,7 @@ import cilabo.fuzzy.classifier.Classifier;
 import cilabo.fuzzy.classifier.classification.Classification;
 import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
 import cilabo.fuzzy.classifier.impl.Classifier_basic;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.knowledge.factory.HomoTriangleKnowledgeFactory;
 import cilabo.fuzzy.knowledge.membershipParams.Parameters;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
@@ -49,6 +47,8 @@ import cilabo.gbml.solution.michiganSolution.AbstractMichiganSolution;
 import cilabo.gbml.solution.michiganSolution.MichiganSolution.MichiganSolutionBuilder;
 import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
 import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
+import cilabo.gbml.solution.util.FitnessValueCache;
+import cilabo.gbml.solution.util.WinnerTable;
 import cilabo.main.Consts;
 import cilabo.util.fileoutput.PittsburghSolutionListOutputX;
 import cilabo.utility.Output;
@@ -92,6 +92,7 @@ public class MoFGBML_Basic_Main {
 
 		// Initialize ForkJoinPool
 		Parallel.getInstance().initLearningForkJoinPool(MoFGBML_Basic_CommandLineArgs.parallelCores);
+		Parallel.getInstance().initEvaluationForkJoinPool(MoFGBML_Basic_CommandLineArgs.parallelCores);
 
 		System.out.println("Processors: " + Runtime.getRuntime().availableProcessors() + " ");
 		System.out.print("args: ");
@@ -125,6 +126,10 @@ public class MoFGBML_Basic_Main {
 		/* Run MoFGBML algorithm =============== */
 		HybridStyleMoFGBML(train, test);
 		/* ===================================== */
+		if(Consts.PRINT_STATISTICS) {
+			System.out.println(FitnessValueCache.getInstance());
+			System.out.println(MembershipTable.getInstance());
+		}
 
 		try {
 			XML_manager.getInstance().output(Consts.EXPERIMENT_ID_DIR);
@@ -149,6 +154,7 @@ public class MoFGBML_Basic_Main {
 		Parameters parameters = new Parameters(train);
 		HomoTriangleKnowledgeFactory KnowledgeFactory = new HomoTriangleKnowledgeFactory(parameters);
 		KnowledgeFactory.create2_3_4_5();
+		if(Consts.USE_MEMBERSHIP_TABLE) { MembershipTable.getInstance().build(train, Consts.MEMBERSHIP_TABLE_BITS); }
 
 		List<Pair<Integer, Integer>> bounds_Michigan = AbstractMichiganSolution.makeBounds();
 		int numberOfObjectives_Michigan = 1;
@@ -158,9 +164,10 @@ public class MoFGBML_Basic_Main {
 		int numberOfObjectives_Pittsburgh = 2;
 		int numberOfConstraints_Pittsburgh = 0;
 
+		MoFGBML_Learning consequentFactory = new MoFGBML_Learning(train);
 		RuleBuilder<Rule_Basic, ?, ?> ruleBuilder = new Rule_Basic.RuleBuilder_Basic(
 				new HeuristicRuleGenerationMethod(train),
-				new MoFGBML_Learning(train));
+				consequentFactory);
 
 		MichiganSolutionBuilder<MichiganSolution_Basic<Rule_Basic>> michiganSolutionBuilder
 			= new MichiganSolution_Basic.MichiganSolutionBuilder_Basic<Rule_Basic>(
@@ -222,45 +229,17 @@ public class MoFGBML_Basic_Main {
 		/* === GA RUN === */
 		algorithm.run();
 		/* ============== */
+		if(Consts.PRINT_STATISTICS) {
+			System.out.println(consequentFactory.getConsequentCache());
+			System.out.println(WinnerTable.statisticsToString());
+			System.out.println(algorithm.getArchive());
+		}
 
 		/* Non-dominated solutions in final generation */
 		List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> nonDominatedSolutions = algorithm.getResult();
 
-		/* archive population */
-		Set<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> ARC = algorithm.getArchivePopulation();
-
-		List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> ARCList = new ArrayList<>(ARC);
-
-		/*アーカイブから非劣解を抽出（分割なしversion）*/
-		//List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> nonDominatedSolutionsARC = SolutionListUtils.getNonDominatedSolutions(ARCList);
-
-		/*アーカイブから非劣解を抽出（分割ありversion）*/
-		//サブリスト数（暫定で100に設定）
-		int numberOfSublists = 100;
-
-		//サブリストを格納するリスト
-		List<List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>>> partitionedList = new ArrayList<>();
-
-		//分割に用いるパラメータの算出
-		int totalSize = ARCList.size();
-        int chunkSize = totalSize / numberOfSublists;
-        int remainder = totalSize % numberOfSublists;
-        int start = 0;
-
-        // 元のリストの要素をサブリストに分割
-        for (int i = 0; i < numberOfSublists; i++) {
-            int end = start + chunkSize + (i < remainder ? 1 : 0);
-            partitionedList.add(new ArrayList<>(ARCList.subList(start, end)));
-            start = end;
-        }
-
-        // partitionedList内の各サブリストにgetNonDominatedSolutionsを適用し，結果を統合
-        List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> mergedList = partitionedList.stream()
-                .flatMap(list -> SolutionListUtils.getNonDominatedSolutions(list).stream())
-                .collect(Collectors.toList());
-
-        //統合後のリストから非劣解を抽出し，最終的な個体群とする
-        List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> nonDominatedSolutionsARC = SolutionListUtils.getNonDominatedSolutions(mergedList);
+		/* Non-dominated solutions in archive (maintained incrementally during the run) */
+		List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> nonDominatedSolutionsARC = algorithm.getArchivePopulation();
 
 		String outputRootDir = Consts.EXPERIMENT_ID_DIR;
 		new PittsburghSolutionListOutputX(nonDominatedSolutionsARC)
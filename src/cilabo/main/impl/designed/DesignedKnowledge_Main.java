@@ -31,6 +31,7 @@ import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
 import cilabo.fuzzy.classifier.impl.Classifier_basic;
 import cilabo.fuzzy.knowledge.FuzzyTermTypeForMixed;
 import cilabo.fuzzy.knowledge.Knowledge;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.knowledge.factory.KnowledgeFactoryFromXML;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
 import cilabo.fuzzy.rule.antecedent.factory.impl.HeuristicRuleGenerationMethod;
@@ -89,6 +90,7 @@ public class DesignedKnowledge_Main {
 
 		// Initialize ForkJoinPool
 		Parallel.getInstance().initLearningForkJoinPool(DesignedKnowledge_CommandLineArgs.parallelCores);
+		Parallel.getInstance().initEvaluationForkJoinPool(DesignedKnowledge_CommandLineArgs.parallelCores);
 
 		System.out.println("Processors: " + Runtime.getRuntime().availableProcessors() + " ");
 		System.out.print("args: ");
@@ -156,6 +158,8 @@ public class DesignedKnowledge_Main {
 
 		FuzzyTermTypeForMixed[][] buf = FuzzyTermUsedRanking.getUsedFuzzyStyle(XML_reader.getPopulation(DesignedKnowledge_Consts.LEARNING_EVALUATION), dimension);
 		Knowledge.getInstance().setFuzzySets(buf);
+		// テーブルは使用するファジィセットを設定した後に構築する
+		if(Consts.USE_MEMBERSHIP_TABLE) { MembershipTable.getInstance().build(train, Consts.MEMBERSHIP_TABLE_BITS); }
 
 		List<Pair<Integer, Integer>> bounds_Michigan = AbstractMichiganSolution.makeBounds();
 		int numberOfObjectives_Michigan = 2;
@@ -30,6 +30,7 @@ import cilabo.fuzzy.classifier.classification.Classification;
 import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
 import cilabo.fuzzy.classifier.impl.Classifier_basic;
 import cilabo.fuzzy.knowledge.FuzzyTermBluePrintManager;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.knowledge.factory.MixedKnowledgeFactory;
 import cilabo.fuzzy.knowledge.membershipParams.Parameters;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
@@ -89,6 +90,7 @@ public class MixedKnowledge_Main {
 
 		// Initialize ForkJoinPool
 		Parallel.getInstance().initLearningForkJoinPool(MixedKnowledge_CommandLineArgs.parallelCores);
+		Parallel.getInstance().initEvaluationForkJoinPool(MixedKnowledge_CommandLineArgs.parallelCores);
 
 		System.out.println("Processors: " + Runtime.getRuntime().availableProcessors() + " ");
 		System.out.print("args: ");
@@ -163,6 +165,7 @@ public class MixedKnowledge_Main {
 			FuzzyTermBMP.addFuzyyTermsBluePrint(DIVISION_TYPE.entropyDivision, dim_i, K, FuzzyTermType.TYPE_gaussianShape);
 		}
 		knowledgeFactory.create(FuzzyTermBMP);
+		if(Consts.USE_MEMBERSHIP_TABLE) { MembershipTable.getInstance().build(train, Consts.MEMBERSHIP_TABLE_BITS); }
 
 		/////////////////////////////////
 //		XML_reader XML_reader = null;
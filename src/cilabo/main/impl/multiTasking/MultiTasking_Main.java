@@ -30,6 +30,7 @@ import cilabo.fuzzy.classifier.classification.Classification;
 import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
 import cilabo.fuzzy.classifier.impl.Classifier_basic;
 import cilabo.fuzzy.knowledge.Knowledge;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.knowledge.factory.HomoTriangleKnowledgeFactory;
 import cilabo.fuzzy.knowledge.membershipParams.Parameters;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
@@ -84,6 +85,7 @@ public class MultiTasking_Main {
 
 		// Initialize ForkJoinPool
 		Parallel.getInstance().initLearningForkJoinPool(MultiTasking_CommandLineArgs.parallelCores);
+		Parallel.getInstance().initEvaluationForkJoinPool(MultiTasking_CommandLineArgs.parallelCores);
 
 		System.out.println("Processors: " + Runtime.getRuntime().availableProcessors() + " ");
 		System.out.print("args: ");
@@ -145,6 +147,7 @@ public class MultiTasking_Main {
 		Parameters parameters = new Parameters(train);
 		HomoTriangleKnowledgeFactory KnowledgeFactory = new HomoTriangleKnowledgeFactory(parameters);
 		KnowledgeFactory.create2_3_4_5();
+		if(Consts.USE_MEMBERSHIP_TABLE) { MembershipTable.getInstance().build(train, Consts.MEMBERSHIP_TABLE_BITS); }
 
 		List<Pair<Integer, Integer>> bounds_Michigan = AbstractMichiganSolution.makeBounds();
 		int numberOfObjectives_Michigan = 2;
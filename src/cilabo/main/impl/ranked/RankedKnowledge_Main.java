@@ -31,6 +31,7 @@ import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
 import cilabo.fuzzy.classifier.impl.Classifier_basic;
 import cilabo.fuzzy.knowledge.FuzzyTermTypeForMixed;
 import cilabo.fuzzy.knowledge.Knowledge;
+import cilabo.fuzzy.knowledge.MembershipTable;
 import cilabo.fuzzy.knowledge.factory.KnowledgeFactoryFromXML;
 import cilabo.fuzzy.rule.Rule.RuleBuilder;
 import cilabo.fuzzy.rule.antecedent.factory.impl.HeuristicRuleGenerationMethod;
@@ -89,6 +90,7 @@ public class RankedKnowledge_Main {
 
 		// Initialize ForkJoinPool
 		Parallel.getInstance().initLearningForkJoinPool(RankedKnowledge_CommandLineArgs.parallelCores);
+		Parallel.getInstance().initEvaluationForkJoinPool(RankedKnowledge_CommandLineArgs.parallelCores);
 
 		System.out.println("Processors: " + Runtime.getRuntime().availableProcessors() + " ");
 		System.out.print("args: ");
@@ -158,6 +160,8 @@ public class RankedKnowledge_Main {
 		int[] tmp = new int[dimension]; for(int i=0; i<dimension; i++) {tmp[i] = RankedKnowledge_Consts.FUZZY_TERMS_NUM;}
 		FuzzyTermTypeForMixed[][] buf = FuzzyTermUsedRanking.getUsedFuzzySetID(XML_reader.getPopulation(RankedKnowledge_Consts.LEARNING_EVALUATION), dimension, tmp);
 		Knowledge.getInstance().setFuzzySets(buf);
+		// テーブルは使用するファジィセットを設定した後に構築する
+		if(Consts.USE_MEMBERSHIP_TABLE) { MembershipTable.getInstance().build(train, Consts.MEMBERSHIP_TABLE_BITS); }
 
 		List<Pair<Integer, Integer>> bounds_Michigan = AbstractMichiganSolution.makeBounds();
 		int numberOfObjectives_Michigan = 2;
@@ -112,6 +112,30 @@ public class GeneralFunctions {
 		return distance;
 	}
 
+	/**
+	 * <h1>Stable sort of indices by key</h1>
+	 * インデックスの配列をkeyの値の昇順に並べ替える．値が等しいインデックスの順序は保たれる(安定ソート)．
+	 * 値の比較はDouble.compareによる．<br>
+	 * @param index : int[] : 並べ替えるkeyのインデックスの配列
+	 * @param key : double[] : 並べ替えに用いる値
+	 */
+	public static void stableSortIndices(int[] index, double[] key) {
+		int[] buffer = new int[index.length];
+		for(int width = 1; width < index.length; width *= 2) {
+			for(int low = 0; low < index.length - width; low += 2 * width) {
+				int middle = low + width;
+				int high = Math.min(low + 2 * width, index.length);
+				int i = low, j = middle, k = low;
+				while(i < middle && j < high) {
+					buffer[k++] = Double.compare(key[index[j]], key[index[i]]) < 0 ? index[j++] : index[i++];
+				}
+				while(i < middle) { buffer[k++] = index[i++]; }
+				while(j < high) { buffer[k++] = index[j++]; }
+				System.arraycopy(buffer, low, index, low, high - low);
+			}
+		}
+	}
+
 	/**
 	 * 非復元抽出<br>
 	 * Sampling without replacement<br>
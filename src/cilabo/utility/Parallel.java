@@ -9,6 +9,8 @@ public class Parallel {
 
 	private ForkJoinPool learningForkJoinPool = new ForkJoinPool(1);
 
+	private ForkJoinPool evaluationForkJoinPool = new ForkJoinPool(1);
+
 	// ************************************************************
 	// Constructor
 
@@ -30,4 +32,12 @@ public class Parallel {
 		return instance.learningForkJoinPool;
 	}
 
+	public void initEvaluationForkJoinPool(int core) {
+		instance.evaluationForkJoinPool = new ForkJoinPool(core);
+	}
+
+	public ForkJoinPool getEvaluationForkJoinPool() {
+		return instance.evaluationForkJoinPool;
+	}
+
 }
@@ -1,14 +1,25 @@
 package cilabo.utility;
 
+import java.util.Objects;
+
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+
 import random.MersenneTwisterFast;
 
 public class Random {
 	// ************************************************************
 	private static Random instance = new Random();
 
+	/** SplitMix64の増分 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
 	private int RAND_SEED = 2020;
 	private MersenneTwisterFast GEN = new MersenneTwisterFast(0);
 
+	/** スレッド毎に割り当てられた乱数ストリーム．割り当てられていない場合はnull */
+	private final ThreadLocal<MersenneTwisterFast> stream = new ThreadLocal<>();
+
 	// ************************************************************
 
 	// ************************************************************
@@ -22,10 +33,125 @@ public class Random {
 	public void initRandom(int seed) {
 		this.RAND_SEED = seed;
 		this.GEN = new MersenneTwisterFast(this.RAND_SEED);
+		// jMetalの演算子・選択が用いる乱数もスレッドに割り当てられたストリームから生成する
+		JMetalRandom jMetalRandom = JMetalRandom.getInstance();
+		if(!(jMetalRandom.getRandomGenerator() instanceof StreamAwareGenerator)) {
+			jMetalRandom.setRandomGenerator(new StreamAwareGenerator(jMetalRandom.getRandomGenerator()));
+		}
 	}
 
+	/**
+	 * 乱数生成器を返します．実行中のスレッドに乱数ストリームが割り当てられている場合はそのストリームを返す．<br>
+	 * 共通の乱数生成器はスレッドセーフではないため，並列に実行されるタスクはrunWithStreamでストリームを割り当てること．<br>
+	 * Returns random stream bound to the current thread, or the global generator.
+	 * @return 乱数生成器
+	 */
 	public MersenneTwisterFast getGEN() {
-		return this.GEN;
+		MersenneTwisterFast stream = this.stream.get();
+		return Objects.isNull(stream) ? this.GEN : stream;
+	}
+
+	/**
+	 * 乱数シードとキーの列から決定的に導出される独立な乱数ストリームを生成します．<br>
+	 * 同じシードとキーの列からは常に同じ系列が得られ，共通の乱数生成器の状態には依存しない．
+	 * 世代番号・子個体番号などをキーとすることで，タスクを実行するスレッドや順序によらず同じ乱数を用いることができる．<br>
+	 * Creates independent random stream derived from seed and keys (e.g. generation, offspring slot).
+	 * @param keys ストリームを識別するキーの列
+	 * @return 乱数ストリーム
+	 */
+	public MersenneTwisterFast createStream(long... keys) {
+		long hash = mix64(this.RAND_SEED);
+		for(long key : keys) {
+			hash = mix64(hash ^ mix64(key + GOLDEN_GAMMA));
+		}
+		long hash2 = mix64(hash + GOLDEN_GAMMA);
+		return new MersenneTwisterFast(new int[] {
+				(int)(hash >>> 32), (int)hash, (int)(hash2 >>> 32), (int)hash2, keys.length});
+	}
+
+	/**
+	 * 実行中のスレッドに乱数ストリームを割り当ててタスクを実行します．タスク内のgetGENおよびJMetalRandomはストリームから乱数を生成する．
+	 * 終了後は元の割り当てに戻す．<br>
+	 * Runs task with random stream bound to the current thread.
+	 * @param stream 割り当てる乱数ストリーム
+	 * @param task 実行するタスク
+	 */
+	public void runWithStream(MersenneTwisterFast stream, Runnable task) {
+		if(Objects.isNull(stream) || Objects.isNull(task)) {
+			throw new IllegalArgumentException("arguments must not be null @" + this.getClass().getSimpleName());}
+		MersenneTwisterFast previous = this.stream.get();
+		this.stream.set(stream);
+		try {
+			task.run();
+		}
+		finally {
+			if(Objects.isNull(previous)) { this.stream.remove(); }
+			else { this.stream.set(previous); }
+		}
+	}
+
+	/** SplitMix64の混合関数 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * 実行中のスレッドに乱数ストリームが割り当てられている場合はストリームから，
+	 * 割り当てられていない場合は元の生成器から乱数を生成するJMetalRandom用の生成器．
+	 * ストリームが割り当てられていない場合の系列は元の生成器と一致する．
+	 */
+	@SuppressWarnings("serial")
+	private static final class StreamAwareGenerator implements PseudoRandomGenerator {
+		/** ストリームが割り当てられていない場合に用いる生成器 */
+		private final PseudoRandomGenerator delegate;
+
+		private StreamAwareGenerator(PseudoRandomGenerator delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public int nextInt(int lowerBound, int upperBound) {
+			MersenneTwisterFast stream = Random.getInstance().stream.get();
+			if(Objects.isNull(stream)) {
+				return this.delegate.nextInt(lowerBound, upperBound);
+			}
+			return lowerBound + stream.nextInt(upperBound - lowerBound + 1);
+		}
+
+		@Override
+		public double nextDouble(double lowerBound, double upperBound) {
+			MersenneTwisterFast stream = Random.getInstance().stream.get();
+			if(Objects.isNull(stream)) {
+				return this.delegate.nextDouble(lowerBound, upperBound);
+			}
+			return lowerBound + stream.nextDouble() * (upperBound - lowerBound);
+		}
+
+		@Override
+		public double nextDouble() {
+			MersenneTwisterFast stream = Random.getInstance().stream.get();
+			if(Objects.isNull(stream)) {
+				return this.delegate.nextDouble();
+			}
+			return stream.nextDouble();
+		}
+
+		@Override
+		public void setSeed(long seed) {
+			this.delegate.setSeed(seed);
+		}
+
+		@Override
+		public long getSeed() {
+			return this.delegate.getSeed();
+		}
+
+		@Override
+		public String getName() {
+			return this.delegate.getName();
+		}
 	}
 
 }
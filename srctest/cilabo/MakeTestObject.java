@@ -154,6 +154,14 @@ public class MakeTestObject {
 		return this.getProblem().createSolution();
 	}
 
+	/** 目的関数値(誤識別率・ルール数)を設定した個体を返す．ルール数は個体が持つルールの数と一致しない */
+	public PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> makePittsburghSolution(double errorRate, double numberOfRules) {
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = this.makePittsburghSolution();
+		solution.setObjective(0, errorRate);
+		solution.setObjective(1, numberOfRules);
+		return solution;
+	}
+
 	public MichiganSolution_Basic<Rule_Basic> makeMichiganSolution(){
 		if(Objects.isNull(michiganSolutionBuilder)) {
 			this.getMichiganSolutionBuilder();
@@ -0,0 +1,57 @@
+package cilabo.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+
+class ColumnarDataSetTest {
+
+	@Test
+	void testPatternView() {
+		ColumnarDataSet data = new ColumnarDataSet(2, 3, 2);
+		data.addPattern(new double[] {0.1, 0.2, -1}, 0);
+		data.addPattern(new Pattern_Basic(5, new AttributeVector(new double[] {0.4, 0.5, -2}), new ClassLabel_Basic(1)));
+
+		assertEquals(2, data.getPatterns().size());
+		Pattern_Basic pattern = data.getPattern(1);
+		assertEquals(1, pattern.getID());
+		assertEquals(1, pattern.getTargetClass().getClassLabelValue());
+		assertEquals(3, pattern.getAttributeVector().getNumberOfDimension());
+		assertEquals(0.5, pattern.getAttributeValue(1));
+		assertArrayEquals(new double[] {0.4, 0.5, -2}, pattern.getAttributeArray());
+
+		assertArrayEquals(new double[] {0.1, 0.4}, data.getColumn(0));
+		assertArrayEquals(new double[] {-1, -2}, data.getColumn(2));
+		assertArrayEquals(new int[] {0, 1}, data.getClassLabels());
+	}
+
+	@Test
+	void testSinglePrecision() {
+		ColumnarDataSet data = new ColumnarDataSet(2, 2, 2, true);
+		data.addPattern(new double[] {0.1, -1}, 0);
+		data.addPattern(new double[] {0.3, 0.7}, 1);
+
+		assertTrue(data.isSinglePrecision());
+		assertArrayEquals(new float[] {0.1f, 0.3f}, data.getFloatColumn(0));
+		assertArrayEquals(new double[] {0.1f, 0.3f}, data.getColumn(0));
+		AttributeVector vector = data.getPattern(1).getAttributeVector();
+		assertEquals(0.7f, vector.getAttributeValueAsFloat(1));
+		assertEquals((double)0.7f, vector.getAttributeValue(1));
+		assertEquals(-1, data.getPattern(0).getAttributeValue(1));
+
+		// doubleで保持した場合もfloatの値はfloatで保持した場合と同じ
+		AttributeVector doubleVector = new AttributeVector(new double[] {0.1, 0.7});
+		assertEquals(new FloatAttributeVector(new double[] {0.1, 0.7}).getAttributeValueAsFloat(1), doubleVector.getAttributeValueAsFloat(1));
+	}
+
+	@Test
+	void testCapacity() {
+		ColumnarDataSet data = new ColumnarDataSet(1, 2, 2);
+		data.addPattern(new double[] {0.1, 0.2}, 0);
+		assertThrows(IllegalArgumentException.class, () -> data.addPattern(new double[] {0.3, 0.4}, 1));
+		assertThrows(IllegalArgumentException.class, () -> new ColumnarDataSet(2, 2, 2).addPattern(new double[] {0.3}, 1));
+	}
+}
@@ -0,0 +1,98 @@
+package cilabo.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.data.pattern.impl.Pattern_MultiClass;
+
+class CsvDataSetReaderTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void testParseDouble() {
+		String[] numbers = {"0", "-0", "1", "+2.5", "0.1", "0.123456789", "-1.0E-5", "3e10", ".5", "1.", " 0.25\r",
+				"0.30000000000000004", "12345678901234567890", "1e-300", "1e23", "4.9e-324", "NaN", "-Infinity"};
+		for(String number : numbers) {
+			byte[] bytes = number.getBytes(StandardCharsets.UTF_8);
+			assertEquals(Double.doubleToRawLongBits(Double.parseDouble(number)),
+					Double.doubleToRawLongBits(CsvDataSetReader.parseDouble(bytes, 0, bytes.length)), number);
+		}
+
+		java.util.Random random = new java.util.Random(2022);
+		for(int trial = 0; trial < 100000; trial++) {
+			String number = String.format("%." + random.nextInt(17) + "f", random.nextDouble() * Math.pow(10, random.nextInt(8) - 4));
+			byte[] bytes = number.getBytes(StandardCharsets.UTF_8);
+			assertEquals(Double.parseDouble(number), CsvDataSetReader.parseDouble(bytes, 0, bytes.length), number);
+		}
+		byte[] empty = new byte[0];
+		assertThrows(NumberFormatException.class, () -> CsvDataSetReader.parseDouble(empty, 0, 0));
+	}
+
+	@Test
+	void testChunks() throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("200,3,2");
+		java.util.Random random = new java.util.Random(2022);
+		for(int n = 0; n < 200; n++) {
+			lines.add(random.nextDouble() + "," + random.nextDouble() + ",-" + random.nextInt(3) + "," + (n % 2));
+		}
+		Path csv = this.directory.resolve("data.dat");
+		Files.write(csv, lines, StandardCharsets.UTF_8);
+
+		// チャンクに分割しても分割しない場合と同じ行が同じ行番号で渡されること
+		double[][] expected = this.readAll(csv, Integer.MAX_VALUE);
+		double[][] chunked = this.readAll(csv, 64);
+		assertArrayEquals(expected, chunked);
+		for(int n = 0; n < 200; n++) {
+			String[] line = lines.get(n + 1).split(",");
+			for(int i = 0; i < line.length; i++) {
+				assertEquals(Double.parseDouble(line[i]), expected[n][i]);
+			}
+		}
+	}
+
+	@Test
+	void testInput() throws IOException {
+		Path csv = this.directory.resolve("data.dat");
+		Files.write(csv, "3,2,2\r\n0.1,0.2,0\r\n0.3,-1,1\r\n0.5,0.6,1".getBytes(StandardCharsets.UTF_8));
+		DataSet<Pattern_Basic> data = Input.inputDataSet_Basic(csv.toString());
+		assertEquals(3, data.getDataSize());
+		assertEquals(2, data.getPattern(2).getID());
+		assertArrayEquals(new double[] {0.3, -1}, data.getPattern(1).getAttributeArray());
+		assertEquals(1, data.getPattern(1).getTargetClass().getClassLabelValue());
+
+		ColumnarDataSet columnar = Input.inputColumnarDataSet(csv.toString());
+		assertArrayEquals(new double[] {0.2, -1, 0.6}, columnar.getColumn(1));
+		assertArrayEquals(new int[] {0, 1, 1}, columnar.getClassLabels());
+		assertEquals(3, columnar.getPatterns().size());
+
+		Path multi = this.directory.resolve("multi.dat");
+		Files.write(multi, "2,2,3\n0.1,0.2,0,1,1\n0.3,0.4,1,0,0\n".getBytes(StandardCharsets.UTF_8));
+		DataSet<Pattern_MultiClass> multiData = Input.inputDataSet_MultiLabel(multi.toString());
+		assertArrayEquals(new double[] {0.3, 0.4}, multiData.getPattern(1).getAttributeArray());
+		assertArrayEquals(new Integer[] {0, 1, 1}, multiData.getPattern(0).getTargetClass().getClassLabelValue());
+
+		Path shortFile = this.directory.resolve("short.dat");
+		Files.write(shortFile, "3,2,2\n0.1,0.2,0\n0.3,0.4\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> Input.inputDataSet_Basic(shortFile.toString()));
+	}
+
+	private double[][] readAll(Path csv, int chunkBytes) throws IOException {
+		try(CsvDataSetReader reader = new CsvDataSetReader(csv, chunkBytes)) {
+			double[][] rows = new double[reader.getDataSize()][];
+			reader.forEachRow(reader.getNdim() + 1, (n, values) -> rows[n] = values.clone());
+			return rows;
+		}
+	}
+}
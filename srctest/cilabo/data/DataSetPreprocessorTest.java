@@ -0,0 +1,112 @@
+package cilabo.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cilabo.data.pattern.impl.Pattern_Basic;
+
+class DataSetPreprocessorTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void testFolds() throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("@relation test");
+		lines.add("@data");
+		lines.add("width,color,class");
+		java.util.Random random = new java.util.Random(2022);
+		String[] colors = {"red", "green", "blue"};
+		String[] classes = {"neg", "pos", "pos", "pos"};
+		for(int n = 0; n < 103; n++) {
+			lines.add((10 + random.nextInt(91)) + "," + colors[random.nextInt(3)] + "," + classes[random.nextInt(4)]);
+		}
+		Path raw = this.directory.resolve("raw.csv");
+		Files.write(raw, lines, StandardCharsets.UTF_8);
+		DataSetPreprocessor.preprocess(raw, this.directory, "test", 5, 2, 2022, true);
+
+		Map<String, Integer> total = this.countRows(lines.subList(3, lines.size()));
+		for(int rep = 0; rep < 2; rep++) {
+			Map<String, Integer> tstTotal = new HashMap<>();
+			for(int cv = 0; cv < 5; cv++) {
+				DataSet<Pattern_Basic> tra = Input.inputDataSet_Basic(this.directory.resolve(DataSetPreprocessor.makeFileName("test", rep, cv, 5, true)).toString());
+				DataSet<Pattern_Basic> tst = Input.inputDataSet_Basic(this.directory.resolve(DataSetPreprocessor.makeFileName("test", rep, cv, 5, false)).toString());
+				assertEquals(103, tra.getDataSize() + tst.getDataSize());
+				assertEquals(2, tst.getNdim());
+				assertEquals(2, tst.getCnum());
+
+				int[] classCount = new int[2];
+				for(Pattern_Basic pattern : tst.getPatterns()) {
+					classCount[pattern.getTargetClass().getClassLabelValue()]++;
+					// 数値属性は[0,1]，カテゴリ属性は-1から-3
+					assertTrue(0 <= pattern.getAttributeValue(0) && pattern.getAttributeValue(0) <= 1);
+					assertTrue(-3 <= pattern.getAttributeValue(1) && pattern.getAttributeValue(1) <= -1);
+					assertEquals((double) Math.round(pattern.getAttributeValue(1)), pattern.getAttributeValue(1));
+				}
+				// 層化: クラス毎のパターン数が全体の1/5と1未満の差であること
+				assertTrue(Math.abs(classCount[0] - total.get("neg") / 5.0) < 1);
+				assertTrue(Math.abs(classCount[1] - total.get("pos") / 5.0) < 1);
+
+				List<String> tstLines = Files.readAllLines(this.directory.resolve(DataSetPreprocessor.makeFileName("test", rep, cv, 5, false)));
+				for(String line : tstLines.subList(1, tstLines.size())) {
+					tstTotal.merge(line, 1, Integer::sum);
+				}
+			}
+			// 各パターンはいずれか1つの評価用データに含まれること
+			assertEquals(103, tstTotal.values().stream().mapToInt(Integer::intValue).sum());
+		}
+	}
+
+	@Test
+	void testEncoding() throws IOException {
+		Path raw = this.directory.resolve("raw.csv");
+		Files.write(raw, "2.0,b,B\n4.0,a,A\n3.0,b,A\n2.0,c,B\n".getBytes(StandardCharsets.UTF_8));
+		DataSetPreprocessor.preprocess(raw, this.directory, "enc", 2, 1, 1, false);
+
+		List<String> rows = new ArrayList<>();
+		for(int cv = 0; cv < 2; cv++) {
+			List<String> tst = Files.readAllLines(this.directory.resolve(DataSetPreprocessor.makeFileName("enc", 0, cv, 2, false)));
+			rows.addAll(tst.subList(1, tst.size()));
+		}
+		rows.sort(null);
+		// 最小値2.0，最大値4.0で正規化し，カテゴリ値a,b,cを-1,-2,-3，クラスA,Bを0,1とする
+		assertEquals(4, rows.size());
+		assertTrue(rows.contains("0.0,-2,1"));
+		assertTrue(rows.contains("1.0,-1,0"));
+		assertTrue(rows.contains("0.5,-2,0"));
+		assertTrue(rows.contains("0.0,-3,1"));
+	}
+
+	@Test
+	void testIllegalFile() throws IOException {
+		Path raw = this.directory.resolve("raw.csv");
+		Files.write(raw, "0.1,0.2,0\n0.3,1\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> DataSetPreprocessor.preprocess(raw, this.directory, "bad", 2, 1, 1, false));
+		Files.write(raw, "0.1,0.2,0\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> DataSetPreprocessor.preprocess(raw, this.directory, "bad", 2, 1, 1, false));
+		// 欠損値を含む数値属性はカテゴリ属性とせず例外とする
+		Files.write(raw, "0.1,0.2,0\n?,0.4,1\n0.5,0.6,0\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> DataSetPreprocessor.preprocess(raw, this.directory, "bad", 2, 1, 1, false));
+		Files.write(raw, "0.1,0.2,0\n0.3,,1\n0.5,0.6,0\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> DataSetPreprocessor.preprocess(raw, this.directory, "bad", 2, 1, 1, false));
+	}
+
+	private Map<String, Integer> countRows(List<String> lines) {
+		Map<String, Integer> count = new HashMap<>();
+		for(String line : lines) {
+			count.merge(line.substring(line.lastIndexOf(',') + 1), 1, Integer::sum);
+		}
+		return count;
+	}
+}
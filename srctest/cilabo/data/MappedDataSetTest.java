@@ -0,0 +1,81 @@
+package cilabo.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+
+class MappedDataSetTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void testSameAsCsv() throws IOException {
+		Path csv = this.writeCsv("3,3,2", "0.1,0.2,-1,0", "0.4,0.123456789,-2,1", "1.0,0.0,0.5,1");
+		Path binary = this.directory.resolve("data.bin");
+		BinaryDataSetConverter.convert(csv, binary, false);
+		assertTrue(MappedDataSet.isMappedDataSetFile(binary));
+		assertFalse(MappedDataSet.isMappedDataSetFile(csv));
+
+		DataSet<Pattern_Basic> expected = Input.inputDataSet_Basic(csv.toString());
+		MappedDataSet data = Input.inputMappedDataSet(binary.toString());
+		assertFalse(data.isSinglePrecision());
+		assertEquals(expected.getDataSize(), data.getDataSize());
+		assertEquals(expected.getNdim(), data.getNdim());
+		assertEquals(expected.getCnum(), data.getCnum());
+		for(int n = 0; n < expected.getDataSize(); n++) {
+			Pattern_Basic pattern = data.getPattern(n);
+			assertEquals(n, pattern.getID());
+			assertEquals(expected.getPattern(n).getTargetClass().getClassLabelValue(), pattern.getTargetClass().getClassLabelValue());
+			assertArrayEquals(expected.getPattern(n).getAttributeArray(), pattern.getAttributeArray());
+			assertEquals(expected.getPattern(n).getAttributeValue(1), pattern.getAttributeValue(1));
+		}
+		assertThrows(UnsupportedOperationException.class,
+				() -> data.addPattern(new Pattern_Basic(0, new AttributeVector(new double[] {0, 0, 0}), new ClassLabel_Basic(0))));
+	}
+
+	@Test
+	void testSinglePrecision() throws IOException {
+		Path csv = this.writeCsv("2,2,2", "0.1,-1,0", "0.123456789,0.5,1");
+		Path binary = this.directory.resolve("data.bin");
+		BinaryDataSetConverter.convert(csv, binary, true);
+
+		MappedDataSet data = MappedDataSet.map(binary);
+		assertTrue(data.isSinglePrecision());
+		assertEquals((float) 0.123456789, data.getPattern(1).getAttributeValue(0));
+		// 負値で表すカテゴリ属性は丸められない
+		assertEquals(-1, data.getPattern(0).getAttributeValue(1));
+		assertEquals(Files.size(binary), MappedDataSet.HEADER_BYTES + 2 * 2 * Float.BYTES + 2 * Integer.BYTES);
+	}
+
+	@Test
+	void testIllegalFile() throws IOException {
+		Path csv = this.writeCsv("3,2,2", "0.1,0.2,0", "0.3,0.4,1");
+		Path binary = this.directory.resolve("data.bin");
+		assertThrows(IllegalArgumentException.class, () -> BinaryDataSetConverter.convert(csv, binary, false));
+		assertThrows(IllegalArgumentException.class, () -> MappedDataSet.map(csv));
+
+		Path complete = this.writeCsv("2,2,2", "0.1,0.2,0", "0.3,0.4,1");
+		BinaryDataSetConverter.convert(complete, binary, false);
+		try(RandomAccessFile file = new RandomAccessFile(binary.toFile(), "rw")) {
+			file.setLength(file.length() - 1);
+		}
+		assertThrows(IllegalArgumentException.class, () -> MappedDataSet.map(binary));
+	}
+
+	private Path writeCsv(String... lines) throws IOException {
+		Path csv = Files.createTempFile(this.directory, "data", ".dat");
+		Files.write(csv, Arrays.asList(lines), StandardCharsets.UTF_8);
+		return csv;
+	}
+}
@@ -0,0 +1,81 @@
+package cilabo.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import random.MersenneTwisterFast;
+
+class StratifiedMiniBatchTest {
+	static DataSet<Pattern_Basic> train;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		train = new MakeTestObject("iris", 0, 0).getTrain();
+	}
+
+	@Test
+	void testStratification() {
+		StratifiedMiniBatch<Pattern_Basic> miniBatch = new StratifiedMiniBatch<>(train, 30, 1.0, new MersenneTwisterFast(2022));
+		DataSet<Pattern_Basic> batch = miniBatch.next();
+		assertEquals(30, batch.getDataSize());
+		assertEquals(train.getNdim(), batch.getNdim());
+		assertEquals(train.getCnum(), batch.getCnum());
+
+		// クラス毎のパターン数が学習用データの比率と1以内で一致すること
+		Map<String, Integer> trainCount = this.countClass(train);
+		Map<String, Integer> batchCount = this.countClass(batch);
+		for(String classLabel : trainCount.keySet()) {
+			double expected = 30.0 * trainCount.get(classLabel) / train.getDataSize();
+			assertTrue(Math.abs(batchCount.getOrDefault(classLabel, 0) - expected) < 1);
+		}
+	}
+
+	@Test
+	void testRotation() {
+		StratifiedMiniBatch<Pattern_Basic> miniBatch = new StratifiedMiniBatch<>(train, 15, 1.0, new MersenneTwisterFast(2022));
+		Map<Pattern_Basic, Integer> used = new IdentityHashMap<>();
+		// クラス毎に一巡するまで取り出す
+		for(int i = 0; i < train.getDataSize(); i++) {
+			for(Pattern_Basic pattern : miniBatch.next().getPatterns()) {
+				used.merge(pattern, 1, Integer::sum);
+			}
+		}
+		// 部分集合のパターンは学習用データのパターンそのものであり，巡回で全てのパターンが用いられること
+		assertEquals(train.getDataSize(), used.size());
+		for(Pattern_Basic pattern : used.keySet()) {
+			assertSame(train.getPatternWithID(pattern.getID()), pattern);
+		}
+	}
+
+	@Test
+	void testGrowth() {
+		StratifiedMiniBatch<Pattern_Basic> miniBatch = new StratifiedMiniBatch<>(train, 20, 2.0, new MersenneTwisterFast(2022));
+		for(int size = 20; size < train.getDataSize(); size *= 2) {
+			assertEquals(size, miniBatch.next().getDataSize());
+		}
+		assertSame(train, miniBatch.next());
+		assertEquals(train.getDataSize(), miniBatch.getBatchSize());
+	}
+
+	@Test
+	void testIllegalArgument() {
+		assertThrows(IllegalArgumentException.class, () -> new StratifiedMiniBatch<>(train, 0, 1.0, new MersenneTwisterFast(2022)));
+		assertThrows(IllegalArgumentException.class, () -> new StratifiedMiniBatch<>(train, 10, 0.5, new MersenneTwisterFast(2022)));
+	}
+
+	private Map<String, Integer> countClass(DataSet<Pattern_Basic> dataSet) {
+		Map<String, Integer> count = new HashMap<>();
+		for(Pattern_Basic pattern : dataSet.getPatterns()) {
+			count.merge(pattern.getTargetClass().toString(), 1, Integer::sum);
+		}
+		return count;
+	}
+}
@@ -0,0 +1,61 @@
+package cilabo.fuzzy.knowledge;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import jfml.term.FuzzyTerm;
+import jfml.term.FuzzyTermType;
+
+class MembershipEngineTest {
+
+	@Test
+	void testSameAsJfml() {
+		FuzzyTermType complemented = new FuzzyTermType("complemented", FuzzyTerm.TYPE_triangularShape, new float[] {0.1f, 0.4f, 0.7f});
+		complemented.setComplement("True");
+		FuzzyTermType[][] fuzzySets = {
+			{
+				new FuzzyTermType("dontCare", FuzzyTerm.TYPE_rectangularShape, new float[] {0f, 1f}),
+				new FuzzyTermType("triangle", FuzzyTerm.TYPE_triangularShape, new float[] {0f, 1/3f, 2/3f}),
+				new FuzzyTermType("leftEdge", FuzzyTerm.TYPE_triangularShape, new float[] {0f, 0f, 0.5f}),
+				new FuzzyTermType("trapezoid", FuzzyTerm.TYPE_trapezoidShape, new float[] {0.1f, 0.3f, 0.6f, 0.9f}),
+			},
+			{
+				new FuzzyTermType("gaussian", FuzzyTerm.TYPE_gaussianShape, new float[] {0.5f, 0.15f}),
+				new FuzzyTermType("rectangle", FuzzyTerm.TYPE_rectangularShape, new float[] {0.25f, 0.75f}),
+				new FuzzyTermType("sShape", FuzzyTerm.TYPE_sShape, new float[] {0.2f, 0.8f}),
+				complemented,
+			}
+		};
+
+		MembershipEngine engine = new MembershipEngine(fuzzySets);
+		assertEquals(7, engine.getNumberOfCompiledFuzzySets());
+		for(int dim = 0; dim < fuzzySets.length; dim++) {
+			for(int id = 0; id < fuzzySets[dim].length; id++) {
+				float[] param = fuzzySets[dim][id].getParam();
+				for(int i = -10; i <= 1010; i++) {
+					this.assertSame(fuzzySets[dim][id], engine, dim, id, i / 1000f);
+				}
+				for(float p : param) {
+					this.assertSame(fuzzySets[dim][id], engine, dim, id, p);
+					this.assertSame(fuzzySets[dim][id], engine, dim, id, Math.nextUp(p));
+					this.assertSame(fuzzySets[dim][id], engine, dim, id, Math.nextDown(p));
+				}
+			}
+		}
+	}
+
+	private void assertSame(FuzzyTermType fuzzySet, MembershipEngine engine, int dim, int id, float x) {
+		assertEquals(Float.floatToIntBits(fuzzySet.getMembershipValue(x)),
+				Float.floatToIntBits(engine.getMembershipValue(dim, id, x)), fuzzySet.getName() + " at " + x);
+	}
+
+	@Test
+	void testOutOfRange() {
+		MembershipEngine engine = new MembershipEngine(new FuzzyTermType[][] {
+			{new FuzzyTermType("dontCare", FuzzyTerm.TYPE_rectangularShape, new float[] {0f, 1f})},
+			{new FuzzyTermType("dontCare", FuzzyTerm.TYPE_rectangularShape, new float[] {0f, 1f})}
+		});
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> engine.getMembershipValue(0, 1, 0.5f));
+	}
+}
@@ -0,0 +1,132 @@
+package cilabo.fuzzy.knowledge;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.AttributeVector;
+import cilabo.data.DataSet;
+import cilabo.data.DataSetManager;
+import cilabo.data.pattern.Pattern;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.knowledge.factory.HomoTriangleKnowledgeFactory;
+import cilabo.fuzzy.knowledge.membershipParams.Parameters;
+import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+
+class MembershipTableTest {
+	public static DataSet<Pattern_Basic> train;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		MakeTestObject MTO = new MakeTestObject("iris", 0, 0);
+		train = MTO.getTrain();
+		new HomoTriangleKnowledgeFactory(new Parameters(train)).create2_3_4_5();
+		MembershipTable.getInstance().build(train);
+	}
+
+	@Test
+	void testSameAsKnowledge() {
+		Knowledge knowledge = Knowledge.getInstance();
+		for(Pattern<?> pattern : train.getPatterns()) {
+			assertTrue(MembershipTable.getInstance().contains(pattern));
+			for(int dim_i=0; dim_i<train.getNdim(); dim_i++) {
+				for(int id=0; id<knowledge.getFuzzySetNum(dim_i); id++) {
+					double expected = knowledge.getMembershipValue(pattern.getAttributeValue(dim_i), dim_i, id);
+					assertEquals(expected, MembershipTable.getInstance().getMembershipValue(pattern, dim_i, id));
+					assertEquals(expected, knowledge.getMembershipValue(pattern, dim_i, id));
+				}
+			}
+		}
+	}
+
+	@Test
+	void testNotContainsOtherPattern() {
+		Pattern_Basic pattern = train.getPattern(0);
+		Pattern_Basic other = new Pattern_Basic(pattern.getID(),
+				new AttributeVector(pattern.getAttributeArray()), new ClassLabel_Basic(0));
+		assertFalse(MembershipTable.getInstance().contains(other));
+	}
+
+	@Test
+	void testQuantized() {
+		Knowledge knowledge = Knowledge.getInstance();
+		MembershipTable table = MembershipTable.getInstance();
+		try {
+			for(int bits : new int[] {8, 12, 16}) {
+				table.build(train, bits);
+				assertEquals(bits, table.getQuantizationBits());
+				// 三角型の傾きの最大値(5分割で4)と段階の幅の半分の積が誤差の上限
+				double bound = 4.0 / (2 * ((1 << bits) - 2)) + 1e-6;
+				assertTrue(table.getMaxDeviation() <= bound);
+				double maxDeviation = 0;
+				for(Pattern<?> pattern : train.getPatterns()) {
+					assertTrue(table.contains(pattern));
+					for(int dim_i=0; dim_i<train.getNdim(); dim_i++) {
+						for(int id=0; id<knowledge.getFuzzySetNum(dim_i); id++) {
+							double exact = knowledge.getMembershipValue(pattern.getAttributeValue(dim_i), dim_i, id);
+							maxDeviation = Math.max(maxDeviation, Math.abs(exact - table.getMembershipValue(pattern, dim_i, id)));
+						}
+					}
+				}
+				assertEquals(maxDeviation, table.getMaxDeviation());
+			}
+			assertThrows(IllegalArgumentException.class, () -> table.build(train, 7));
+			assertThrows(IllegalArgumentException.class, () -> table.build(train, 17));
+		} finally {
+			table.build(train);
+		}
+		assertEquals(0, table.getQuantizationBits());
+		assertEquals(0, table.getMaxDeviation());
+	}
+
+	@Test
+	void testClearedWhenFuzzySetsReplaced() {
+		Knowledge knowledge = Knowledge.getInstance();
+		MembershipTable table = MembershipTable.getInstance();
+		HomoTriangleKnowledgeFactory factory = new HomoTriangleKnowledgeFactory(new Parameters(train));
+		try {
+			// 次元毎のファジィ集合数が異なる分割に置き換える
+			int[][] K = new int[train.getNdim()][];
+			for(int dim_i=0; dim_i<train.getNdim(); dim_i++) { K[dim_i] = new int[] {3, 6, 7}; }
+			factory.create(K);
+			assertFalse(table.isBuilt());
+			assertFalse(table.contains(train.getPattern(0)));
+
+			table.build(train);
+			MembershipEngine engine = knowledge.getMembershipEngine();
+			for(Pattern<?> pattern : train.getPatterns()) {
+				for(int dim_i=0; dim_i<train.getNdim(); dim_i++) {
+					for(int id=0; id<knowledge.getFuzzySetNum(dim_i); id++) {
+						double expected = engine.getMembershipValue(dim_i, id, pattern.getAttributeVector().getAttributeValueAsFloat(dim_i));
+						assertEquals(expected, table.getMembershipValue(pattern, dim_i, id));
+					}
+				}
+			}
+		} finally {
+			factory.create2_3_4_5();
+			table.build(train);
+		}
+	}
+
+	@Test
+	void testQuantize() {
+		int maxCode = (1 << 8) - 2;
+		assertEquals(0, MembershipTable.quantize(0f, maxCode));
+		assertEquals(maxCode, MembershipTable.quantize(1f, maxCode));
+		assertEquals(maxCode, MembershipTable.quantize(1.5f, maxCode));
+		assertEquals(127, MembershipTable.quantize(0.5f, maxCode));
+		for(int code = 0; code <= maxCode; code++) {
+			assertEquals(code, MembershipTable.quantize(MembershipTable.dequantize(code, maxCode), maxCode));
+		}
+	}
+
+	@AfterAll
+	static void afterClass() throws Exception {
+		DataSetManager.getInstance().clear();
+		Knowledge.getInstance().clear();
+		MembershipTable.getInstance().clear();
+	}
+}
@@ -0,0 +1,31 @@
+package cilabo.fuzzy.rule.antecedent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SparseAntecedentIndexTest {
+
+	@Test
+	void test() {
+		int[] antecedentIndex = new int[] {0, 3, 0, 0, -2, 14, 0};
+		SparseAntecedentIndex sparseAntecedentIndex = SparseAntecedentIndex.of(antecedentIndex);
+
+		assertEquals(3, sparseAntecedentIndex.size());
+		assertEquals(7, sparseAntecedentIndex.getNumberOfDimension());
+		assertEquals(1, sparseAntecedentIndex.getDimension(0));
+		assertEquals(4, sparseAntecedentIndex.getDimension(1));
+		assertEquals(5, sparseAntecedentIndex.getDimension(2));
+		assertEquals(3, sparseAntecedentIndex.getFuzzySetID(0));
+		assertEquals(-2, sparseAntecedentIndex.getFuzzySetID(1));
+		assertEquals(14, sparseAntecedentIndex.getFuzzySetID(2));
+		assertArrayEquals(antecedentIndex, sparseAntecedentIndex.toArray());
+	}
+
+	@Test
+	void testAllDontCare() {
+		SparseAntecedentIndex sparseAntecedentIndex = SparseAntecedentIndex.of(new int[4]);
+		assertEquals(0, sparseAntecedentIndex.size());
+		assertArrayEquals(new int[4], sparseAntecedentIndex.toArray());
+	}
+}
@@ -0,0 +1,51 @@
+package cilabo.fuzzy.rule.antecedent.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.DataSet;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.knowledge.Knowledge;
+import cilabo.fuzzy.knowledge.MembershipTable;
+import cilabo.fuzzy.rule.antecedent.SparseAntecedentIndex;
+import cilabo.main.Consts;
+
+class Antecedent_BasicTest {
+	static DataSet<Pattern_Basic> train;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		train = new MakeTestObject("iris", 0, 0).getTrain();
+	}
+
+	@Test
+	void testCheckCompatibleGrade() {
+		Antecedent_Basic antecedent = new Antecedent_Basic();
+		Knowledge knowledge = Knowledge.getInstance();
+		java.util.Random random = new java.util.Random(0);
+		boolean check = Consts.CHECK_COMPATIBLE_GRADE;
+		try {
+			Consts.CHECK_COMPATIBLE_GRADE = true;
+			MembershipTable.getInstance().build(train);
+			for(int trial = 0; trial < 100; trial++) {
+				int[] antecedentIndex = new int[train.getNdim()];
+				for(int dim_i = 0; dim_i < antecedentIndex.length; dim_i++) {
+					antecedentIndex[dim_i] = random.nextInt(knowledge.getFuzzySetNum(dim_i));
+				}
+				SparseAntecedentIndex sparseAntecedentIndex = SparseAntecedentIndex.of(antecedentIndex);
+				// MembershipEngineとテーブルによる計算がjfmlのFuzzyTermによる計算と一致すること
+				for(Pattern_Basic pattern : train.getPatterns()) {
+					double grade = antecedent.getCompatibleGradeValue(antecedentIndex, pattern.getAttributeVector());
+					assertEquals(grade, antecedent.getCompatibleGradeValue(sparseAntecedentIndex, pattern));
+				}
+			}
+		}
+		finally {
+			Consts.CHECK_COMPATIBLE_GRADE = check;
+			MembershipTable.getInstance().clear();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package cilabo.fuzzy.rule.consequent.factory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import cilabo.fuzzy.rule.consequent.classLabel.impl.ClassLabel_Basic;
+import cilabo.fuzzy.rule.consequent.impl.Consequent_Basic;
+import cilabo.fuzzy.rule.consequent.ruleWeight.impl.RuleWeight_Basic;
+import cilabo.main.Consts;
+
+class ConsequentCacheTest {
+
+	@Test
+	void testGet() {
+		ConsequentCache<Consequent_Basic> cache = new ConsequentCache<>();
+		AtomicInteger count = new AtomicInteger();
+		int[] antecedentIndex = {0, 3, 1};
+
+		Consequent_Basic first = cache.get(antecedentIndex, 0, () -> {
+			count.incrementAndGet();
+			return new Consequent_Basic(new ClassLabel_Basic(2), new RuleWeight_Basic(0.5));
+		});
+		// キーは配列のコピーであり，呼出し後の変更は影響しない
+		antecedentIndex[1] = 4;
+		first.getClassLabel().setRejectedClassLabel();
+
+		Consequent_Basic second = cache.get(new int[] {0, 3, 1}, 0, () -> {
+			count.incrementAndGet();
+			return null;
+		});
+		assertEquals(1, count.get());
+		assertEquals(2, second.getClassLabelValue());
+		assertEquals(0.5, second.getRuleWeightValue());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0.5, cache.getHitRate());
+
+		// 信頼度の下限が異なる場合は別のキー
+		cache.get(new int[] {0, 3, 1}, 0.1, () -> new Consequent_Basic(new ClassLabel_Basic(0), new RuleWeight_Basic(0.0)));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void testCapacity() {
+		int capacity = Consts.CONSEQUENT_CACHE_SIZE;
+		Consts.CONSEQUENT_CACHE_SIZE = 2;
+		try {
+			ConsequentCache<Consequent_Basic> cache = new ConsequentCache<>();
+			for(int i = 0; i < 3; i++) {
+				cache.get(new int[] {i}, 0, () -> new Consequent_Basic(new ClassLabel_Basic(0), new RuleWeight_Basic(0.1)));
+			}
+			assertEquals(2, cache.size());
+		}
+		finally {
+			Consts.CONSEQUENT_CACHE_SIZE = capacity;
+		}
+	}
+}
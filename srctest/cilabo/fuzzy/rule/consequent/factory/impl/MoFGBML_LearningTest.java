@@ -0,0 +1,48 @@
+package cilabo.fuzzy.rule.consequent.factory.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.DataSet;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.knowledge.factory.HomoTriangleKnowledgeFactory;
+import cilabo.fuzzy.knowledge.membershipParams.Parameters;
+import cilabo.fuzzy.rule.antecedent.factory.impl.HeuristicRuleGenerationMethod;
+import cilabo.fuzzy.rule.antecedent.impl.Antecedent_Basic;
+import cilabo.fuzzy.rule.consequent.impl.Consequent_Basic;
+import cilabo.utility.Random;
+
+class MoFGBML_LearningTest {
+	public static DataSet<Pattern_Basic> train;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		MakeTestObject MTO = new MakeTestObject("iris", 0, 0);
+		train = MTO.getTrain();
+		new HomoTriangleKnowledgeFactory(new Parameters(train)).create2_3_4_5();
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testBatchLearning() {
+		HeuristicRuleGenerationMethod antecedentFactory = new HeuristicRuleGenerationMethod(train);
+		int[][] antecedentIndex = new int[20][];
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			antecedentIndex[i] = antecedentFactory.create();
+		}
+
+		List<Consequent_Basic> batch = new MoFGBML_Learning(train).learning(new Antecedent_Basic(), antecedentIndex);
+		MoFGBML_Learning learning = new MoFGBML_Learning(train);
+		assertEquals(antecedentIndex.length, batch.size());
+		for(int i = 0; i < antecedentIndex.length; i++) {
+			Consequent_Basic single = learning.learning(new Antecedent_Basic(), antecedentIndex[i]);
+			assertEquals(single.getClassLabelValue(), batch.get(i).getClassLabelValue());
+			assertEquals(single.getRuleWeightValue(), batch.get(i).getRuleWeightValue());
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package cilabo.gbml.algorithm;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.uma.jmetal.component.termination.impl.TerminationByEvaluations;
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+
+import cilabo.MakeTestObject;
+import cilabo.data.DataSet;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.operator.crossover.HybridGBMLcrossover;
+import cilabo.gbml.operator.crossover.MichiganCrossover;
+import cilabo.gbml.operator.crossover.PittsburghCrossover;
+import cilabo.gbml.operator.mutation.PittsburghMutation;
+import cilabo.gbml.problem.pittsburghFGBML_Problem.impl.PittsburghFGBML_Basic;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
+import cilabo.main.Consts;
+import cilabo.utility.Random;
+
+class HybridMoFGBMLwithNSGAIITest {
+	static MakeTestObject testObject;
+	static DataSet<Pattern_Basic> train;
+
+	static final int POPULATION_SIZE = 10;
+	static final int TERMINATE_EVALUATION = 210;
+
+	@TempDir
+	Path outputDir;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		train = testObject.getTrain();
+	}
+
+	/** 学習用データ全体で評価した回数を数える問題 */
+	static class CountingProblem extends PittsburghFGBML_Basic<MichiganSolution_Basic<Rule_Basic>> {
+		final AtomicInteger trainScans = new AtomicInteger();
+
+		CountingProblem() {
+			super(Consts.INITIATION_RULE_NUM, 2, 0, testObject.getTrain(), testObject.getMichiganSolutionBuilder(), testObject.getClassifier());
+		}
+
+		@Override
+		public void evaluate(PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution) {
+			if(this.getEvaluationData() == this.getTrain()) { trainScans.incrementAndGet(); }
+			super.evaluate(solution);
+		}
+	}
+
+	@Test
+	void testMiniBatchScansTrainLess() {
+		int miniBatchSize = Consts.MINI_BATCH_SIZE;
+		int miniBatchInterval = Consts.MINI_BATCH_INTERVAL;
+		try {
+			Consts.MINI_BATCH_SIZE = 0;
+			CountingProblem full = this.run();
+
+			Consts.MINI_BATCH_SIZE = 30;
+			Consts.MINI_BATCH_INTERVAL = 5;
+			CountingProblem miniBatch = this.run();
+
+			assertEquals(TERMINATE_EVALUATION, full.trainScans.get());
+			assertTrue(miniBatch.trainScans.get() < full.trainScans.get(),
+					"mini-batch: " + miniBatch.trainScans.get() + ", full: " + full.trainScans.get());
+		}
+		finally {
+			Consts.MINI_BATCH_SIZE = miniBatchSize;
+			Consts.MINI_BATCH_INTERVAL = miniBatchInterval;
+		}
+	}
+
+	@Test
+	void testMiniBatchResultEvaluatedOnTrain() {
+		int miniBatchSize = Consts.MINI_BATCH_SIZE;
+		try {
+			Consts.MINI_BATCH_SIZE = 30;
+			CountingProblem problem = new CountingProblem();
+			HybridMoFGBMLwithNSGAII<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> algorithm = this.createAlgorithm(problem);
+			Random.getInstance().initRandom(2022);
+			algorithm.run();
+
+			// 最終個体群とアーカイブの解は学習用データ全体で評価され，未勝利ルールを持たないこと
+			for(PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution : algorithm.getResult()) {
+				this.assertEvaluatedOnTrain(problem, solution);
+			}
+			for(PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution : algorithm.getArchivePopulation()) {
+				this.assertEvaluatedOnTrain(problem, solution);
+			}
+		}
+		finally {
+			Consts.MINI_BATCH_SIZE = miniBatchSize;
+		}
+	}
+
+	private void assertEvaluatedOnTrain(CountingProblem problem, PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution) {
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> copy = solution.copy();
+		problem.evaluate(copy);
+		assertArrayEquals(copy.getObjectives(), solution.getObjectives());
+		for(int i = 0; i < solution.getNumberOfVariables(); i++) {
+			assertTrue(solution.getNumberOfWinner(i) > 0);
+		}
+	}
+
+	private CountingProblem run() {
+		CountingProblem problem = new CountingProblem();
+		Random.getInstance().initRandom(2022);
+		this.createAlgorithm(problem).run();
+		return problem;
+	}
+
+	private HybridMoFGBMLwithNSGAII<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> createAlgorithm(CountingProblem problem) {
+		CrossoverOperator<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> michiganX
+				= new MichiganCrossover<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>, MichiganSolution_Basic<Rule_Basic>>(Consts.MICHIGAN_CROSS_RT, train);
+		CrossoverOperator<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> pittsburghX
+				= new PittsburghCrossover<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>, MichiganSolution_Basic<Rule_Basic>>(Consts.PITTSBURGH_CROSS_RT);
+		CrossoverOperator<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> crossover
+				= new HybridGBMLcrossover<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>, MichiganSolution_Basic<Rule_Basic>>(1.0, Consts.MICHIGAN_OPE_RT, michiganX, pittsburghX);
+		MutationOperator<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> mutation
+				= new PittsburghMutation<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>, MichiganSolution_Basic<Rule_Basic>>(train);
+
+		return new HybridMoFGBMLwithNSGAII<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>>(problem,
+				POPULATION_SIZE,
+				POPULATION_SIZE,
+				TERMINATE_EVALUATION,
+				outputDir.toString(),
+				crossover,
+				mutation,
+				new TerminationByEvaluations(TERMINATE_EVALUATION));
+	}
+}
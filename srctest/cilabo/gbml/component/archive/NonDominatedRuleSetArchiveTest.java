@@ -0,0 +1,70 @@
+package cilabo.gbml.component.archive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
+import cilabo.utility.Random;
+
+class NonDominatedRuleSetArchiveTest {
+	static MakeTestObject testObject;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testDominance() {
+		NonDominatedRuleSetArchive<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> archive = new NonDominatedRuleSetArchive<>();
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.3, 3)));
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.1, 5)));
+		assertFalse(archive.add(testObject.makePittsburghSolution(0.4, 4)));
+		assertEquals(2, archive.size());
+
+		// 両方に優越する解は両方を取り除く
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.1, 3)));
+		assertEquals(1, archive.size());
+		assertEquals(0.1, archive.get(0).getObjective(0));
+		assertEquals(3, archive.get(0).getObjective(1));
+	}
+
+	@Test
+	void testDuplicateRuleSet() {
+		NonDominatedRuleSetArchive<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> archive = new NonDominatedRuleSetArchive<>();
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution(0.2, 4);
+		assertTrue(archive.add(solution));
+		assertNotSame(solution, archive.get(0));
+		assertFalse(archive.add(solution.copy()));
+
+		// ルールの並び順が異なっても重複とみなす
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> reordered = solution.copy();
+		MichiganSolution_Basic<Rule_Basic> first = reordered.getVariable(0);
+		reordered.removeVariable(0);
+		reordered.addVariable(first);
+		assertFalse(archive.add(reordered));
+
+		// 目的関数値が等しくルール集合が異なる解は保持する
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.2, 4)));
+		assertEquals(2, archive.size());
+	}
+
+	@Test
+	void testMaxSize() {
+		NonDominatedRuleSetArchive<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> archive = new NonDominatedRuleSetArchive<>(3);
+		for(int i = 0; i < 10; i++) {
+			archive.add(testObject.makePittsburghSolution(0.1 * i, 10 - i));
+			assertTrue(archive.size() <= 3);
+		}
+		// 端の解は混雑距離が無限大のため残る
+		assertEquals(3, archive.size());
+		assertTrue(archive.getSolutionList().stream().anyMatch(s -> s.getObjective(1) == 10));
+		assertTrue(archive.getSolutionList().stream().anyMatch(s -> s.getObjective(1) == 1));
+	}
+}
@@ -0,0 +1,78 @@
+package cilabo.gbml.component.archive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.util.SolutionListUtils;
+
+import cilabo.MakeTestObject;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
+import cilabo.utility.Random;
+
+class RuleNumberBucketedArchiveTest {
+	static MakeTestObject testObject;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testDominance() {
+		RuleNumberBucketedArchive<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> archive = new RuleNumberBucketedArchive<>(10);
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.3, 3)));
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.1, 5)));
+		assertFalse(archive.add(testObject.makePittsburghSolution(0.4, 3)));
+		// ルール数の少ない解に優越される解は取り出されない
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.3, 4)));
+		assertEquals(2, archive.size());
+
+		// 同じルール数でより良い解は置き換える
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.1, 3)));
+		assertEquals(1, archive.size());
+		assertEquals(0.1, archive.get(0).getObjective(0));
+		assertEquals(3, archive.get(0).getObjective(1));
+
+		// 最大ルール数を超える解も保持する
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.05, 12)));
+		assertEquals(2, archive.size());
+		assertEquals(12, archive.get(1).getObjective(1));
+	}
+
+	@Test
+	void testDuplicateRuleSet() {
+		RuleNumberBucketedArchive<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> archive = new RuleNumberBucketedArchive<>(10);
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution(0.2, 4);
+		assertTrue(archive.add(solution));
+		assertNotSame(solution, archive.get(0));
+		assertFalse(archive.add(solution.copy()));
+
+		// 目的関数値が等しくルール集合が異なる解は保持する
+		assertTrue(archive.add(testObject.makePittsburghSolution(0.2, 4)));
+		assertEquals(2, archive.size());
+	}
+
+	@Test
+	void testGetNonDominatedSolutions() {
+		java.util.Random random = new java.util.Random(2022);
+		List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> solutionList = new ArrayList<>();
+		for(int i = 0; i < 50; i++) {
+			solutionList.add(testObject.makePittsburghSolution(random.nextInt(5) / 10.0, 1 + random.nextInt(8)));
+		}
+		assertEquals(SolutionListUtils.getNonDominatedSolutions(solutionList),
+				RuleNumberBucketedArchive.getNonDominatedSolutions(solutionList));
+	}
+
+	@Test
+	void testNumberOfRules() {
+		RuleNumberBucketedArchive<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> archive = new RuleNumberBucketedArchive<>(10);
+		assertThrows(IllegalArgumentException.class, () -> archive.add(testObject.makePittsburghSolution(0.1, 2.5)));
+	}
+}
@@ -0,0 +1,49 @@
+package cilabo.gbml.component.evaluation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.component.evaluation.impl.SequentialEvaluation;
+
+import cilabo.MakeTestObject;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
+import cilabo.utility.Random;
+
+class ParallelEvaluationTest {
+	static MakeTestObject testObject;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testSameAsSequential() {
+		List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> sequential = new ArrayList<>();
+		List<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> parallel = new ArrayList<>();
+		for(int i = 0; i < 20; i++) {
+			PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution();
+			sequential.add(solution);
+			parallel.add(solution.copy());
+		}
+
+		new SequentialEvaluation<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>>()
+			.evaluate(sequential, testObject.getProblem());
+		ParallelEvaluation<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>> evaluation
+			= new ParallelEvaluation<>(new ForkJoinPool(4));
+		evaluation.evaluate(parallel, testObject.getProblem());
+
+		assertEquals(parallel.size(), evaluation.getComputedEvaluations());
+		for(int i = 0; i < sequential.size(); i++) {
+			assertArrayEquals(sequential.get(i).getObjectives(), parallel.get(i).getObjectives());
+		}
+	}
+}
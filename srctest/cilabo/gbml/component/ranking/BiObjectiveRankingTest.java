@@ -0,0 +1,78 @@
+package cilabo.gbml.component.ranking;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.component.densityestimator.DensityEstimator;
+import org.uma.jmetal.component.densityestimator.impl.CrowdingDistanceDensityEstimator;
+import org.uma.jmetal.component.ranking.Ranking;
+import org.uma.jmetal.component.ranking.impl.FastNonDominatedSortRanking;
+import org.uma.jmetal.solution.integersolution.impl.DefaultIntegerSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import cilabo.gbml.component.densityestimator.FastCrowdingDistanceDensityEstimator;
+
+class BiObjectiveRankingTest {
+
+	@Test
+	void testSameAsFastNonDominatedSortRanking() {
+		java.util.Random random = new java.util.Random(2022);
+		for(int trial = 0; trial < 200; trial++) {
+			// 目的関数値が等しい解を多く含むよう値の種類を絞る
+			int size = 1 + random.nextInt(60);
+			int numberOfValues = 1 + random.nextInt(10);
+			List<DefaultIntegerSolution> solutionList = this.makeSolutionList(size, numberOfValues, random);
+			List<DefaultIntegerSolution> expectedList = new ArrayList<>();
+			for(DefaultIntegerSolution solution : solutionList) {
+				expectedList.add(solution.copy());
+			}
+
+			Ranking<DefaultIntegerSolution> ranking = new BiObjectiveRanking<DefaultIntegerSolution>().computeRanking(solutionList);
+			Ranking<DefaultIntegerSolution> expected = new FastNonDominatedSortRanking<DefaultIntegerSolution>().computeRanking(expectedList);
+			assertEquals(expected.getNumberOfSubFronts(), ranking.getNumberOfSubFronts());
+
+			DensityEstimator<DefaultIntegerSolution> densityEstimator = new FastCrowdingDistanceDensityEstimator<>();
+			DensityEstimator<DefaultIntegerSolution> expectedDensityEstimator = new CrowdingDistanceDensityEstimator<>();
+			for(int k = 0; k < ranking.getNumberOfSubFronts(); k++) {
+				List<DefaultIntegerSolution> front = ranking.getSubFront(k);
+				List<DefaultIntegerSolution> expectedFront = expected.getSubFront(k);
+				assertEquals(expectedFront.size(), front.size());
+
+				densityEstimator.computeDensityEstimator(front);
+				expectedDensityEstimator.computeDensityEstimator(expectedFront);
+				for(int i = 0; i < front.size(); i++) {
+					// 同じ位置の解が同じ解のコピーであること
+					assertEquals(expectedList.indexOf(expectedFront.get(i)), solutionList.indexOf(front.get(i)));
+					assertEquals(k, front.get(i).getAttribute(ranking.getAttributeId()));
+					assertEquals((double) expectedFront.get(i).getAttribute(expectedDensityEstimator.getAttributeId()),
+							(double) front.get(i).getAttribute(densityEstimator.getAttributeId()));
+				}
+			}
+		}
+	}
+
+	@Test
+	void testNumberOfObjectives() {
+		List<DefaultIntegerSolution> solutionList = new ArrayList<>();
+		solutionList.add(new DefaultIntegerSolution(new ArrayList<>(), 3));
+		assertThrows(IllegalArgumentException.class, () -> new BiObjectiveRanking<DefaultIntegerSolution>().computeRanking(solutionList));
+	}
+
+	private List<DefaultIntegerSolution> makeSolutionList(int size, int numberOfValues, java.util.Random random) {
+		JMetalRandom.getInstance().setSeed(2022);
+		List<DefaultIntegerSolution> solutionList = new ArrayList<>();
+		for(int i = 0; i < size; i++) {
+			// 変数で解を区別する
+			DefaultIntegerSolution solution = new DefaultIntegerSolution(Arrays.asList(Pair.of(i, i)), 2);
+			solution.setObjective(0, random.nextInt(numberOfValues));
+			solution.setObjective(1, random.nextInt(numberOfValues));
+			solutionList.add(solution);
+		}
+		return solutionList;
+	}
+}
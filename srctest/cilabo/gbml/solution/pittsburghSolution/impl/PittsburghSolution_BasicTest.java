@@ -0,0 +1,90 @@
+package cilabo.gbml.solution.pittsburghSolution.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.objectivefunction.pittsburgh.ErrorRate;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.utility.Random;
+
+class PittsburghSolution_BasicTest {
+	static MakeTestObject testObject;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testCopySharesRules() {
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution();
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> copy = solution.copy();
+
+		assertEquals(solution.getNumberOfVariables(), copy.getNumberOfVariables());
+		for(int i = 0; i < solution.getNumberOfVariables(); i++) {
+			assertSame(solution.getVariable(i), copy.getVariable(i));
+		}
+	}
+
+	@Test
+	void testCopyOnWrite() {
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution();
+		List<int[]> before = new ArrayList<>();
+		for(int i = 0; i < solution.getNumberOfVariables(); i++) {
+			before.add(solution.getVariable(i).getVariablesArray().clone());
+		}
+
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> copy = solution.copy();
+		MichiganSolution_Basic<Rule_Basic> shared = copy.getVariable(0);
+		MichiganSolution_Basic<Rule_Basic> rule = copy.getMutableVariable(0);
+		assertNotSame(shared, rule);
+		assertSame(rule, copy.getVariable(0));
+		// 複製後は再び複製しない
+		assertSame(rule, copy.getMutableVariable(0));
+
+		rule.setVariable(0, (rule.getVariable(0) + 1) % 2);
+		rule.setAttribute("test", 1);
+		assertSame(shared, solution.getVariable(0));
+		assertArrayEquals(before.get(0), solution.getVariable(0).getVariablesArray());
+		assertNull(solution.getVariable(0).getAttribute("test"));
+
+		// コピー元の変更もコピーに影響しない
+		solution.getMutableVariable(1).setAttribute("test", 2);
+		assertNull(copy.getVariable(1).getAttribute("test"));
+		assertArrayEquals(before.get(1), copy.getVariable(1).getVariablesArray());
+	}
+
+	@Test
+	void testEvaluationKeepsSharedRules() {
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution();
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> copy = solution.copy();
+		List<MichiganSolution_Basic<Rule_Basic>> rules = new ArrayList<>(copy.getVariables());
+
+		new ErrorRate<PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>>>().function(copy, testObject.getTrain());
+		copy.learning();
+
+		// 評価と学習で共有しているルールは複製されない
+		int numberOfWinner = 0;
+		for(int i = 0; i < copy.getNumberOfVariables(); i++) {
+			assertSame(rules.get(i), copy.getVariable(i));
+			assertTrue(copy.getNumberOfClassifierPatterns(i) <= copy.getNumberOfWinner(i));
+			numberOfWinner += copy.getNumberOfWinner(i);
+			// 評価結果はコピー元に影響しない
+			assertEquals(0, solution.getNumberOfWinner(i));
+		}
+		assertTrue(numberOfWinner <= testObject.getTrain().getDataSize());
+
+		// 削除したルールの評価結果は取り除かれる
+		int winnerOfSecondRule = copy.getNumberOfWinner(1);
+		copy.removeVariable(0);
+		assertEquals(winnerOfSecondRule, copy.getNumberOfWinner(0));
+	}
+}
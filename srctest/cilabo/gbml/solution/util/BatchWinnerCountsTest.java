@@ -0,0 +1,90 @@
+package cilabo.gbml.solution.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.DataSet;
+import cilabo.data.StratifiedMiniBatch;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.problem.pittsburghFGBML_Problem.impl.PittsburghFGBML_Basic;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.gbml.solution.pittsburghSolution.impl.PittsburghSolution_Basic;
+import cilabo.utility.Random;
+import random.MersenneTwisterFast;
+
+class BatchWinnerCountsTest {
+	static MakeTestObject testObject;
+	static DataSet<Pattern_Basic> train;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		train = testObject.getTrain();
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testSameWinnerRulesAsTrainAfterCovering() {
+		PittsburghFGBML_Basic<MichiganSolution_Basic<Rule_Basic>> problem = testObject.getProblem();
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution();
+		StratifiedMiniBatch<Pattern_Basic> miniBatch = new StratifiedMiniBatch<>(train, 15, 1.0, new MersenneTwisterFast(2022));
+
+		try {
+			BatchWinnerCounts counts = null;
+			while(counts == null || !counts.coversAll()) {
+				problem.setEvaluationData(miniBatch.next());
+				problem.evaluate(solution);
+				counts = BatchWinnerCounts.accumulate(counts, solution, problem.getEvaluationData(), train.getDataSize());
+			}
+
+			// 学習用データ全体で評価した場合と勝利ルールとなるルールが一致すること
+			PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> full = solution.copy();
+			problem.setEvaluationData(null);
+			problem.evaluate(full);
+			for(int i = 0; i < full.getNumberOfVariables(); i++) {
+				assertEquals(full.getNumberOfWinner(i) > 0, counts.getNumberOfWinner()[i] > 0);
+			}
+		}
+		finally {
+			problem.setEvaluationData(null);
+		}
+	}
+
+	@Test
+	void testResetWhenRuleSetChanged() {
+		PittsburghFGBML_Basic<MichiganSolution_Basic<Rule_Basic>> problem = testObject.getProblem();
+		PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> solution = testObject.makePittsburghSolution();
+		StratifiedMiniBatch<Pattern_Basic> miniBatch = new StratifiedMiniBatch<>(train, 15, 1.0, new MersenneTwisterFast(2022));
+
+		try {
+			problem.setEvaluationData(miniBatch.next());
+			problem.evaluate(solution);
+			BatchWinnerCounts counts = BatchWinnerCounts.accumulate(null, solution, problem.getEvaluationData(), train.getDataSize());
+
+			// ルール集合が異なる解の集計は累積しない
+			PittsburghSolution_Basic<MichiganSolution_Basic<Rule_Basic>> child = solution.copy();
+			child.removeVariable(0);
+			problem.setEvaluationData(miniBatch.next());
+			problem.evaluate(child);
+			BatchWinnerCounts childCounts = BatchWinnerCounts.accumulate(counts, child, problem.getEvaluationData(), train.getDataSize());
+			for(int i = 0; i < child.getNumberOfVariables(); i++) {
+				assertEquals(child.getNumberOfWinner(i), childCounts.getNumberOfWinner()[i]);
+			}
+
+			// 同じルール集合の解の集計は累積する
+			problem.setEvaluationData(miniBatch.next());
+			problem.evaluate(child);
+			BatchWinnerCounts accumulated = BatchWinnerCounts.accumulate(childCounts, child, problem.getEvaluationData(), train.getDataSize());
+			for(int i = 0; i < child.getNumberOfVariables(); i++) {
+				assertEquals(childCounts.getNumberOfWinner()[i] + child.getNumberOfWinner(i), accumulated.getNumberOfWinner()[i]);
+			}
+		}
+		finally {
+			problem.setEvaluationData(null);
+		}
+	}
+}
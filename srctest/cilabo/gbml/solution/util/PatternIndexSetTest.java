@@ -0,0 +1,54 @@
+package cilabo.gbml.solution.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.DataSet;
+import cilabo.data.pattern.impl.Pattern_Basic;
+
+class PatternIndexSetTest {
+	static DataSet<Pattern_Basic> train;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		train = new MakeTestObject("iris", 0, 0).getTrain();
+	}
+
+	@Test
+	void testSparseAndDense() {
+		java.util.Random random = new java.util.Random(0);
+		for(double density : new double[] {0, 0.01, 0.05, 0.5, 1}) {
+			List<Integer> expected = new ArrayList<>();
+			for(int i = 0; i < train.getDataSize(); i++) {
+				if(random.nextDouble() < density) { expected.add(i); }
+			}
+			int[] indices = expected.stream().mapToInt(Integer::intValue).toArray();
+			PatternIndexSet set = PatternIndexSet.of(train, indices, indices.length);
+
+			// 要素あたり32bitの配列がパターンあたり1.5bitのビットマップより小さい場合は配列で表現する
+			assertEquals(indices.length * 32 > (train.getDataSize() + 63) / 64 * 96, set.isBitmap(), "density " + density);
+			assertEquals(expected.size(), set.size());
+			assertArrayEquals(indices, set.toArray());
+			for(int k = 0; k < indices.length; k++) {
+				assertEquals(indices[k], set.getIndex(k));
+				assertSame(train.getPattern(indices[k]), set.getPattern(k));
+			}
+			for(int i = 0; i < train.getDataSize(); i++) {
+				assertEquals(expected.contains(i), set.contains(i));
+			}
+		}
+	}
+
+	@Test
+	void testIllegalArguments() {
+		assertThrows(IllegalArgumentException.class, () -> PatternIndexSet.of(train, new int[] {3, 1}, 2));
+		assertThrows(IllegalArgumentException.class, () -> PatternIndexSet.of(train, new int[] {train.getDataSize()}, 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> PatternIndexSet.of(train, new int[] {1, 2}, 1).getIndex(1));
+	}
+}
@@ -0,0 +1,94 @@
+package cilabo.gbml.solution.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import cilabo.MakeTestObject;
+import cilabo.data.DataSet;
+import cilabo.data.pattern.impl.Pattern_Basic;
+import cilabo.fuzzy.classifier.classification.impl.SingleWinnerRuleSelection;
+import cilabo.fuzzy.rule.impl.Rule_Basic;
+import cilabo.gbml.solution.michiganSolution.impl.MichiganSolution_Basic;
+import cilabo.utility.Random;
+
+class WinnerTableTest {
+	static MakeTestObject testObject;
+	static DataSet<Pattern_Basic> train;
+	static SingleWinnerRuleSelection<MichiganSolution_Basic<Rule_Basic>> classification = new SingleWinnerRuleSelection<>();
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		testObject = new MakeTestObject("iris", 0, 0);
+		train = testObject.getTrain();
+		Random.getInstance().initRandom(2022);
+	}
+
+	@Test
+	void testSameAsClassify() {
+		List<MichiganSolution_Basic<Rule_Basic>> rules = testObject.makeMichiganSolutionArray(30);
+		WinnerTable table = WinnerTable.create(rules, train, classification, null);
+		this.assertSameAsClassify(rules, table);
+
+		java.util.Random random = new java.util.Random(0);
+		for(int trial = 0; trial < 20; trial++) {
+			// ルールの削除・追加・並べ替えを行ったコピー
+			List<MichiganSolution_Basic<Rule_Basic>> child = new ArrayList<>();
+			for(MichiganSolution_Basic<Rule_Basic> rule : rules) {
+				if(random.nextInt(5) != 0) { child.add(rule.copy()); }
+			}
+			child.addAll(testObject.makeMichiganSolutionArray(1 + random.nextInt(6)));
+			if(random.nextBoolean()) { Collections.shuffle(child, random); }
+
+			WinnerTable childTable = WinnerTable.create(child, train, classification, table);
+			this.assertSameAsClassify(child, childTable);
+
+			rules = child;
+			table = childTable;
+		}
+	}
+
+	@Test
+	void testRetain() {
+		List<MichiganSolution_Basic<Rule_Basic>> rules = testObject.makeMichiganSolutionArray(30);
+		WinnerTable table = WinnerTable.create(rules, train, classification, null);
+
+		// どのパターンの勝利ルールでもないルールを削除する
+		boolean[] isWinner = new boolean[rules.size()];
+		for(int p = 0; p < train.getDataSize(); p++) {
+			if(table.getWinner(p) >= 0) { isWinner[table.getWinner(p)] = true; }
+		}
+		List<MichiganSolution_Basic<Rule_Basic>> retained = new ArrayList<>();
+		for(int i = 0; i < rules.size(); i++) {
+			if(isWinner[i]) { retained.add(rules.get(i)); }
+		}
+		WinnerTable retainedTable = table.retain(retained);
+		for(int p = 0; p < train.getDataSize(); p++) {
+			int winner = table.getWinner(p);
+			if(winner >= 0) {
+				assertSame(rules.get(winner), retained.get(retainedTable.getWinner(p)));
+			}
+		}
+
+		List<MichiganSolution_Basic<Rule_Basic>> child = new ArrayList<>(retained);
+		child.addAll(testObject.makeMichiganSolutionArray(3));
+		this.assertSameAsClassify(child, WinnerTable.create(child, train, classification, retainedTable));
+	}
+
+	private void assertSameAsClassify(List<MichiganSolution_Basic<Rule_Basic>> rules, WinnerTable table) {
+		for(int p = 0; p < train.getDataSize(); p++) {
+			MichiganSolution_Basic<Rule_Basic> expected = classification.classify(rules, train.getPattern(p));
+			int winner = table.getWinner(p);
+			if(expected == null) {
+				assertEquals(-1, winner);
+			}else {
+				assertSame(expected, rules.get(winner));
+			}
+		}
+	}
+}
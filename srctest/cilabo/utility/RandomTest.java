@@ -0,0 +1,45 @@
+package cilabo.utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import random.MersenneTwisterFast;
+
+class RandomTest {
+
+	@Test
+	void testCreateStream() {
+		Random.getInstance().initRandom(2022);
+		MersenneTwisterFast stream1 = Random.getInstance().createStream(3, 7);
+		// 共通の乱数生成器の状態に依存しない
+		Random.getInstance().getGEN().nextDouble();
+		MersenneTwisterFast stream2 = Random.getInstance().createStream(3, 7);
+		MersenneTwisterFast other = Random.getInstance().createStream(3, 8);
+		boolean different = false;
+		for(int i = 0; i < 100; i++) {
+			int value = stream1.nextInt();
+			assertEquals(value, stream2.nextInt());
+			different |= value != other.nextInt();
+		}
+		assertTrue(different);
+	}
+
+	@Test
+	void testRunWithStream() {
+		Random.getInstance().initRandom(2022);
+		MersenneTwisterFast expected = Random.getInstance().createStream(1, 2);
+		double[] expectedValues = {expected.nextDouble(), expected.nextDouble(), expected.nextDouble()};
+
+		double[] values = new double[3];
+		MersenneTwisterFast global = Random.getInstance().getGEN();
+		Random.getInstance().runWithStream(Random.getInstance().createStream(1, 2), () -> {
+			values[0] = Random.getInstance().getGEN().nextDouble();
+			values[1] = JMetalRandom.getInstance().nextDouble();
+			values[2] = JMetalRandom.getInstance().nextDouble(0, 1);
+		});
+		assertArrayEquals(expectedValues, values);
+		assertSame(global, Random.getInstance().getGEN());
+	}
+}